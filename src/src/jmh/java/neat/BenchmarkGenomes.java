@@ -0,0 +1,41 @@
+package neat;
+
+import neat.genomes.Genome;
+import neat.genomes.PackedGenome;
+
+/**
+ * Builds genomes of a given size for the benchmarks.
+ */
+final class BenchmarkGenomes {
+  static final long SEED = 42;
+  private static final double PROBABILITY_ADD_NODE = 0.3;
+
+  private BenchmarkGenomes() {
+  }
+
+  /**
+   * Mutate a genome until it has at least the given number of connections.
+   * Links are added most of the time, with the occasional node to deepen the network.
+   *
+   * @param genome      the genome
+   * @param connections the number of connections
+   * @return the genome
+   */
+  static Genome grow(Genome genome, int connections) {
+    Neat neat = genome.getNeat();
+    // give up eventually if no more links can be made
+    for (int i = 0; i < connections * 100 && genome.getConnections().size() < connections; i++) {
+      if (genome.getConnections().size() > 0
+          && neat.getRandom().nextDouble() < PROBABILITY_ADD_NODE) {
+        genome.mutateNode();
+      } else {
+        genome.mutateLink();
+      }
+    }
+    return genome;
+  }
+
+  static Genome copy(Genome genome) {
+    return new PackedGenome(genome).toGenome();
+  }
+}
@@ -0,0 +1,73 @@
+package neat;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import neat.calculations.Calculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks a single evaluation of a network, as made for every move in a game.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CalculatorBenchmark {
+  private static final int INPUT_SIZE = 9;
+  private static final int OUTPUT_SIZE = 4;
+  private static final int BATCH_SIZE = 16;
+
+  @Param({"10", "50", "200"})
+  private int genomeSize;
+
+  private Calculator calculator;
+  private double[] input;
+  private double[] output;
+  private double[] batchInput;
+  private double[] batchOutput;
+
+  /**
+   * Build a calculator for a genome of the given size, and random inputs.
+   */
+  @Setup
+  public void setUp() {
+    Neat neat = new Neat(INPUT_SIZE, OUTPUT_SIZE, 1, new SplittableRandom(BenchmarkGenomes.SEED));
+    calculator = new Calculator(BenchmarkGenomes.grow(neat.emptyGenome(), genomeSize));
+    SplittableRandom random = new SplittableRandom(BenchmarkGenomes.SEED);
+    input = random.doubles(INPUT_SIZE).toArray();
+    output = new double[OUTPUT_SIZE];
+    batchInput = random.doubles(INPUT_SIZE * BATCH_SIZE).toArray();
+    batchOutput = new double[OUTPUT_SIZE * BATCH_SIZE];
+  }
+
+  @Benchmark
+  public double[] calculate() {
+    return calculator.calculate(input);
+  }
+
+  @Benchmark
+  public double[] calculateIntoOutput() {
+    calculator.calculate(input, output);
+    return output;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public double[] calculateBatch() {
+    calculator.calculateBatch(batchInput, batchOutput);
+    return batchOutput;
+  }
+}
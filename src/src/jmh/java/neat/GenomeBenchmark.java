@@ -0,0 +1,96 @@
+package neat;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import neat.genomes.Genome;
+import neat.genomes.PackedGenome;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the genome operations made during speciation and breeding.
+ * The two genomes share an ancestor, so they have matching, disjoint and excess genes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class GenomeBenchmark {
+  private static final int INPUT_SIZE = 9;
+  private static final int OUTPUT_SIZE = 4;
+
+  @Param({"10", "50", "200"})
+  private int genomeSize;
+
+  private Genome first;
+  private Genome second;
+  private PackedGenome packedFirst;
+  private PackedGenome packedSecond;
+
+  /**
+   * Grow two related genomes of roughly the given size.
+   */
+  @Setup
+  public void setUp() {
+    Neat neat = new Neat(INPUT_SIZE, OUTPUT_SIZE, 1, new SplittableRandom(BenchmarkGenomes.SEED));
+    Genome ancestor = BenchmarkGenomes.grow(neat.emptyGenome(), genomeSize / 2);
+    first = BenchmarkGenomes.grow(BenchmarkGenomes.copy(ancestor), genomeSize);
+    second = BenchmarkGenomes.grow(BenchmarkGenomes.copy(ancestor), genomeSize);
+    packedFirst = new PackedGenome(first);
+    packedSecond = new PackedGenome(second);
+  }
+
+  @Benchmark
+  public double distance() {
+    return first.distance(second);
+  }
+
+  @Benchmark
+  public double packedDistance() {
+    return packedFirst.distance(packedSecond);
+  }
+
+  @Benchmark
+  public Genome crossOver() {
+    return Genome.crossOver(first, second);
+  }
+
+  @Benchmark
+  public PackedGenome packedCrossOver() {
+    return PackedGenome.crossOver(packedFirst, packedSecond);
+  }
+
+  /**
+   * Copy the genome, the baseline to subtract from {@link #mutate()}.
+   *
+   * @return the copy
+   */
+  @Benchmark
+  public Genome copy() {
+    return BenchmarkGenomes.copy(first);
+  }
+
+  /**
+   * Mutate a fresh copy of the genome, so mutations do not keep growing it.
+   * The time includes the copy, which {@link #copy()} measures on its own.
+   *
+   * @return the mutated copy
+   */
+  @Benchmark
+  public Genome mutate() {
+    Genome mutated = BenchmarkGenomes.copy(first);
+    mutated.mutate();
+    return mutated;
+  }
+}
@@ -0,0 +1,71 @@
+package neat;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks a whole generation of evolution, with the scores of the clients already known.
+ * Every iteration starts from the same population so that the genomes do not grow between them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class NeatBenchmark {
+  private static final int INPUT_SIZE = 9;
+  private static final int OUTPUT_SIZE = 4;
+
+  @Param({"50", "200", "1000"})
+  private int populationSize;
+
+  @Param({"10", "50"})
+  private int genomeSize;
+
+  @Param({"false", "true"})
+  private boolean parallelSpeciation;
+
+  private Neat neat;
+  private SplittableRandom scores;
+
+  /**
+   * Create a population whose clients have genomes of roughly the given size.
+   */
+  @Setup(Level.Iteration)
+  public void setUp() {
+    neat = new Neat(INPUT_SIZE, OUTPUT_SIZE, populationSize,
+        new SplittableRandom(BenchmarkGenomes.SEED));
+    neat.setParallelSpeciation(parallelSpeciation);
+    for (Client c : neat.getClients().getData()) {
+      BenchmarkGenomes.grow(c.getGenome(), genomeSize);
+    }
+    scores = new SplittableRandom(BenchmarkGenomes.SEED);
+  }
+
+  /**
+   * Score every client and evolve the population by one generation.
+   *
+   * @return the neat
+   */
+  @Benchmark
+  public Neat evolve() {
+    for (Client c : neat.getClients().getData()) {
+      c.setScore(scores.nextDouble());
+    }
+    neat.evolve();
+    return neat;
+  }
+}
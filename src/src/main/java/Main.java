@@ -1,4 +1,6 @@
 import game.Game;
+import game.training.HeadlessTrainer;
+import java.util.Arrays;
 
 /**
  * The type Main.
@@ -7,10 +9,15 @@ public class Main {
 
   /**
    * The entry point of application.
+   * Passing "train" as the first argument trains the NEAT without opening a window.
    *
    * @param args the input arguments.
    */
   public static void main(String[] args) {
+    if (args.length > 0 && args[0].equals("train")) {
+      HeadlessTrainer.main(Arrays.copyOfRange(args, 1, args.length));
+      return;
+    }
     Game game = new Game();
     game.start();
   }
@@ -6,75 +6,88 @@ import engine.graphics.mesh.Mesh;
 import engine.graphics.mesh.dimension.two.RectangleMesh;
 import engine.graphics.model.dimension.two.RectangleModel;
 import game.Game;
+import map.WorldGrid;
 import map.tiles.Tile;
 import math.Vector3f;
 import math.Vector4f;
 import society.Society;
 
+/**
+ * A tile of the world that can be rendered, and a view over the tile's cell of a
+ * {@link WorldGrid}, which holds its owner and resources.
+ */
 public class TileWorldObject extends GameObject {
   private static final float BORDER_ALPHA = 1.5f;
   private static final Image borderImage = new Image("/images/tileBorder2.png");
-  private Tile tile;
-  private boolean isClaimed = false;
   private GameObject borderObject;
   private RectangleMesh borderMesh;
-  private int row;
-  private int column;
-  private int foodResource;
-  private int rawMaterialResource;
-  private Society claimedBy;
+  private final WorldGrid grid;
+  private final int index;
+  private final int row;
+  private final int column;
 
   /**
-   * Instantiates a new Tile object.
+   * Instantiates a new Tile object viewing a cell of a map's grid.
    *
    * @param position the position
    * @param rotation the rotation
    * @param scale    the scale
    * @param mesh     the mesh
    * @param tile     the tile
+   * @param grid     the grid of the map
+   * @param row      the row of the cell
+   * @param column   the column of the cell
    */
   public TileWorldObject(
-      Vector3f position, Vector3f rotation, Vector3f scale, Mesh mesh, Tile tile, int row,
-      int column) {
+      Vector3f position, Vector3f rotation, Vector3f scale, Mesh mesh, Tile tile, WorldGrid grid,
+      int row, int column) {
+    this(position, rotation, scale, mesh, tile, grid, grid.index(row, column), row, column);
+  }
+
+  private TileWorldObject(
+      Vector3f position, Vector3f rotation, Vector3f scale, Mesh mesh, Tile tile, WorldGrid grid,
+      int index, int row, int column) {
     super(position, rotation, scale, mesh);
-    this.tile = tile;
     this.getMesh().getMaterial().setImage((tile.getImage()));
+    this.grid = grid;
+    this.index = index;
     this.row = row;
     this.column = column;
+    grid.setTileType(index, tile.getType());
+  }
+
+  public WorldGrid getGrid() {
+    return grid;
+  }
+
+  public int getIndex() {
+    return index;
   }
 
   public int getFoodResource() {
-    return foodResource;
+    return grid.getFood(index);
   }
 
   public void setFoodResource(int foodResource) {
-    this.foodResource = foodResource;
+    grid.setFood(index, foodResource);
   }
 
   public int getRawMaterialResource() {
-    return rawMaterialResource;
+    return grid.getRawMaterials(index);
   }
 
   public void setRawMaterialResource(int rawMaterialResource) {
-    this.rawMaterialResource = rawMaterialResource;
+    grid.setRawMaterials(index, rawMaterialResource);
   }
 
   public int getRow() {
     return row;
   }
 
-  public void setRow(int row) {
-    this.row = row;
-  }
-
   public int getColumn() {
     return column;
   }
 
-  public void setColumn(int column) {
-    this.column = column;
-  }
-
   public GameObject getBorderObject() {
     return this.borderObject;
   }
@@ -89,11 +102,7 @@ public class TileWorldObject extends GameObject {
   }
 
   public boolean isClaimed() {
-    return isClaimed;
-  }
-
-  public void setClaimed(boolean claimed) {
-    isClaimed = claimed;
+    return grid.isClaimed(index);
   }
 
   /**
@@ -113,48 +122,28 @@ public class TileWorldObject extends GameObject {
     }
   }
 
+  /**
+   * Gets the type of this tile, one of the shared tile instances.
+   *
+   * @return the tile
+   */
   public Tile getTile() {
-    return tile;
+    return Tile.of(grid.getTileType(index));
   }
 
-  public Society getClaimedBy() {
-    return claimedBy;
+  public byte getTileType() {
+    return grid.getTileType(index);
   }
 
-  public void setClaimedBy(Society claimedBy) {
-    this.claimedBy = claimedBy;
+  public float getTerrainHealth() {
+    return grid.getTerrainHealth(index);
   }
 
-  /**
-   * Calculate the desirability of this to be attacked by a given society.
-   *
-   * @param society the society
-   * @return the float
-   */
-  public float getDefendingDesirability(Society society) {
-    int popSize = society.getPopulation().size();
-    float foodRatio = society.getTotalFoodResource() / (popSize * Society.getFoodPerPerson());
-    float matRatio = society.getTotalRawMaterialResource()
-        / (popSize * Society.getMaterialPerPerson());
-    float armyRatio = claimedBy.getArmy().size() / (float) society.getArmy().size();
-    return (((foodResource * foodRatio) + (rawMaterialResource * matRatio))
-        / tile.getAttackModifier()) / armyRatio;
+  public void setTerrainHealth(float terrainHealth) {
+    grid.setTerrainHealth(index, terrainHealth);
   }
 
-
-  /**
-   * Gets the desirability of attacking with this tile.
-   *
-   * @return the attacking desirability
-   */
-  public float getAttackingDesirability() {
-    float bestScore = 0;
-    claimedBy.calculateDefendingTiles(this);
-    for (TileWorldObject tile : claimedBy.getDefendingTiles()) {
-      if (tile.getDefendingDesirability(claimedBy) > bestScore) {
-        bestScore = tile.getDefendingDesirability(claimedBy);
-      }
-    }
-    return (bestScore * tile.getAttackModifier());
+  public Society getClaimedBy() {
+    return grid.getOwner(index);
   }
 }
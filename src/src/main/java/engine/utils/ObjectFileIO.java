@@ -1,45 +1,34 @@
 package engine.utils;
 
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInput;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.nio.file.Paths;
 import neat.Neat;
+import neat.NeatCheckpoint;
 
 public class ObjectFileIO {
+  private static final String CALCULATOR_PACKAGE = "neat.calculations.";
 
   /**
-   * Write a {@link Neat} object to a given path.
+   * Write a {@link Neat} object to a given path, as a {@link NeatCheckpoint}.
    *
    * @param path the path
    * @param neat the neat
    * @throws IOException the io exception
    */
   public static void writeNeatToFile(String path, Neat neat) throws IOException {
-    File file = new File(path);
-
-    boolean fileCreated = true;
-    if (!file.exists()) {
-      fileCreated = file.createNewFile();
-    }
-
-    if (fileCreated) {
-      FileOutputStream f = new FileOutputStream(new File(path));
-      ObjectOutputStream o = new ObjectOutputStream(f);
-
-      //Write Object to File
-      o.writeObject(neat);
-
-      o.close();
-      f.close();
-    }
+    NeatCheckpoint.write(Paths.get(path), neat);
   }
 
   /**
    * Read a {@link Neat} object from a file.
+   * Reads a {@link NeatCheckpoint}, or a neat saved with java serialization by earlier versions.
    *
    * @param path the path
    * @return the neat
@@ -47,15 +36,39 @@ public class ObjectFileIO {
    * @throws ClassNotFoundException the class not found exception
    */
   public static Neat readNeatFromFile(String path) throws IOException, ClassNotFoundException {
-    FileInputStream fi = new FileInputStream(new File(path));
-    ObjectInput oi = new ObjectInputStream(fi);
+    if (isCheckpoint(path)) {
+      return NeatCheckpoint.read(Paths.get(path));
+    }
 
-    // Read the object
-    Neat neat = (Neat) oi.readObject();
+    try (ObjectInput oi = new LegacyNeatInputStream(new FileInputStream(new File(path)))) {
+      return (Neat) oi.readObject();
+    }
+  }
 
-    oi.close();
-    fi.close();
+  private static boolean isCheckpoint(String path) throws IOException {
+    try (DataInputStream in = new DataInputStream(new FileInputStream(new File(path)))) {
+      return in.available() >= Integer.BYTES && in.readInt() == NeatCheckpoint.MAGIC;
+    }
+  }
+
+  /**
+   * Reads neats saved with java serialization, which also saved each client's calculator.
+   * The calculator is now rebuilt from the genome and cannot be read, so its classes are not
+   * resolved and every calculator in the file is skipped.
+   */
+  private static class LegacyNeatInputStream extends ObjectInputStream {
+
+    LegacyNeatInputStream(InputStream in) throws IOException {
+      super(in);
+    }
 
-    return neat;
+    @Override
+    protected Class<?> resolveClass(ObjectStreamClass desc)
+        throws IOException, ClassNotFoundException {
+      if (desc.getName().startsWith(CALCULATOR_PACKAGE)) {
+        throw new ClassNotFoundException(desc.getName());
+      }
+      return super.resolveClass(desc);
+    }
   }
 }
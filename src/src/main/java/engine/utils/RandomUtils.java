@@ -0,0 +1,33 @@
+package engine.utils;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class RandomUtils {
+  private static final float FLOAT_UNIT = 0x1.0p-24f;
+
+  /**
+   * Get a random float between 0 (inclusive) and 1 (exclusive).
+   * Matches {@link java.util.Random#nextFloat()}, which SplittableRandom does not provide.
+   *
+   * @param random the random
+   * @return the float
+   */
+  public static float nextFloat(SplittableRandom random) {
+    return random.nextInt(1 << 24) * FLOAT_UNIT;
+  }
+
+  /**
+   * Shuffle a list in place.
+   *
+   * @param list   the list
+   * @param random the random
+   * @param <T>    the type of element
+   */
+  public static <T> void shuffle(List<T> list, SplittableRandom random) {
+    for (int i = list.size() - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      list.set(i, list.set(j, list.get(i)));
+    }
+  }
+}
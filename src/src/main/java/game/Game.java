@@ -11,6 +11,7 @@ import engine.io.Input;
 import engine.objects.world.Camera;
 import engine.tools.Timer;
 import engine.utils.ObjectFileIO;
+import engine.utils.RandomUtils;
 import game.menu.ChoiceMenu;
 import game.menu.DealingMenu;
 import game.menu.GameOverMenu;
@@ -18,13 +19,20 @@ import game.menu.MainMenu;
 import game.menu.PauseMenu;
 import game.menu.TradingMenu;
 import game.world.Hud;
+import game.world.SimulationContext;
 import game.world.World;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.SplittableRandom;
 import math.Vector3f;
+import neat.CheckpointWriter;
+import neat.GenerationLog;
 import neat.Neat;
+import neat.NeatConfig;
 import org.lwjgl.glfw.GLFW;
 import society.Society;
 
@@ -45,6 +53,9 @@ public class Game {
   static final String GUI_FRAGMENT_SHADER = "guiFragment.glsl";
   static final String BACKGROUND_SHADER = "backgroundVertex.glsl";
   private static String neatFilePath = "src/main/resources/objects/Neat.txt";
+  private static final String NEAT_HISTORY_FILE_NAME = "NeatHistory.log";
+  private static final String NEAT_CONFIG_FILE_NAME = "neat.properties";
+  private static final int CHECKPOINT_QUEUE_SIZE = 2;
   private static final int BUTTON_LOCK_CYCLES = 20;
   private static final int REPRODUCE_FREQUENCY = 2;
   private static final int AGE_FREQUENCY = 2;
@@ -63,6 +74,8 @@ public class Game {
   private static boolean restarted;
   private static int winCount = 0;
   private static Neat neat;
+  private static GenerationLog neatHistory;
+  private static CheckpointWriter checkpointWriter;
   private static int decisionClientIndex = 0;
   public Camera camera = new Camera(new Vector3f(0, 0, 10f), new Vector3f(30, 0, 0));
   private Window window;
@@ -127,7 +140,16 @@ public class Game {
    * Update the scores for each society.
    */
   public static void updateScores() {
-    for (Society society : World.getActiveSocieties()) {
+    updateScores(World.getContext());
+  }
+
+  /**
+   * Update the scores for each society in a simulation.
+   *
+   * @param context the simulation context
+   */
+  public static void updateScores(SimulationContext context) {
+    for (Society society : context.getActiveSocieties()) {
       society.updateScore();
     }
   }
@@ -148,10 +170,96 @@ public class Game {
     return neat;
   }
 
+  public static void setNeat(Neat neat) {
+    Game.neat = neat;
+  }
+
   public static String getNeatFilePath() {
     return neatFilePath;
   }
 
+  /**
+   * Gets the path of the NEAT hyperparameters config, kept beside the saved NEAT.
+   *
+   * @return the path
+   */
+  public static String getNeatConfigFilePath() {
+    File parent = new File(neatFilePath).getParentFile();
+    return new File(parent, NEAT_CONFIG_FILE_NAME).getPath();
+  }
+
+  /**
+   * Gets the path of the log of every trained generation, kept beside the saved NEAT.
+   *
+   * @return the path
+   */
+  public static String getNeatHistoryFilePath() {
+    File parent = new File(neatFilePath).getParentFile();
+    return new File(parent, NEAT_HISTORY_FILE_NAME).getPath();
+  }
+
+  /**
+   * Gets the log of every trained generation, opening it when first needed.
+   *
+   * @return the generation log
+   * @throws IOException the io exception
+   */
+  public static GenerationLog getNeatHistory() throws IOException {
+    if (neatHistory == null) {
+      neatHistory = new GenerationLog(Paths.get(getNeatHistoryFilePath()));
+    }
+    return neatHistory;
+  }
+
+  /**
+   * Gets the writer that saves the NEAT and records it in the history after each generation,
+   * starting it when first needed.
+   *
+   * @return the checkpoint writer
+   * @throws IOException the io exception
+   */
+  public static CheckpointWriter getCheckpointWriter() throws IOException {
+    if (checkpointWriter == null) {
+      checkpointWriter = new CheckpointWriter(Paths.get(neatFilePath), getNeatHistory(),
+          CHECKPOINT_QUEUE_SIZE);
+    }
+    return checkpointWriter;
+  }
+
+  /**
+   * Finish writing any checkpoints and close the history.
+   */
+  public static void closeCheckpoints() {
+    if (checkpointWriter != null) {
+      try {
+        checkpointWriter.close();
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+      checkpointWriter = null;
+    }
+    if (neatHistory != null) {
+      try {
+        neatHistory.close();
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+      neatHistory = null;
+    }
+  }
+
+  public static int getTurnLimit() {
+    return TURN_LIMIT;
+  }
+
+  public static int getReproduceFrequency() {
+    return REPRODUCE_FREQUENCY;
+  }
+
+  public static int getAgeFrequency() {
+    return AGE_FREQUENCY;
+  }
+
   /**
    * Start.
    */
@@ -173,6 +281,7 @@ public class Game {
     musicSource.destroy();
     AudioMaster.cleanUp();
     notificationTimer.clearDuration();
+    closeCheckpoints();
   }
 
   private void gameLoop() {
@@ -201,7 +310,7 @@ public class Game {
           }
           // generates a random turn order of all the societies in play
           ArrayList<Society> turnOrder = new ArrayList<>(World.getActiveSocieties());
-          Collections.shuffle(turnOrder);
+          RandomUtils.shuffle(turnOrder, World.getContext().getRandom());
           // update the Turn Order
           Hud.updateTurnTracker(turnOrder);
           // cycles thorough all societies in play
@@ -307,28 +416,58 @@ public class Game {
     MainMenu.create(window, camera);
   }
 
-  private Neat loadNeat() {
+  /**
+   * Load the NEAT hyperparameters from the config file beside the saved NEAT.
+   *
+   * @return the config, or null if there is no config file
+   * @throws IOException the io exception
+   */
+  public static NeatConfig loadNeatConfig() throws IOException {
+    Path path = Paths.get(getNeatConfigFilePath());
+    if (!Files.exists(path)) {
+      return null;
+    }
+    return NeatConfig.load(path);
+  }
+
+  // a loaded NEAT keeps its population, but takes its hyperparameters from the config file
+  private static Neat withNeatConfig(Neat neat) throws IOException {
+    NeatConfig config = loadNeatConfig();
+    if (config != null) {
+      neat.setConfig(config);
+    }
+    return neat;
+  }
+
+  /**
+   * Load the NEAT structure from file, or create a new one if no file exists.
+   *
+   * @return the neat
+   */
+  public static Neat loadNeat() {
     try {
       File dir = new File(neatFilePath);
       // Check if exists
       if (dir.exists()) {
-        return ObjectFileIO.readNeatFromFile(neatFilePath);
+        return withNeatConfig(ObjectFileIO.readNeatFromFile(neatFilePath));
       } else {
         // Try load the build directory
         neatFilePath = "../resources/main/objects/Neat.txt";
         dir = new File(neatFilePath);
         if (dir.exists()) {
-          return ObjectFileIO.readNeatFromFile(neatFilePath);
+          return withNeatConfig(ObjectFileIO.readNeatFromFile(neatFilePath));
         } else {
-          // Initialise the NEAT;
+          // Initialise the NEAT from the config;
           // Input = The Amount of Inputs
           // Outputs = The Amount of Outputs (Possible Moves)
           // Clients how much simulations to run each genetic cycle
-          return new Neat(9, 4, 50);
+          NeatConfig config = loadNeatConfig();
+          return new Neat(config == null ? new NeatConfig() : config, new SplittableRandom());
         }
       }
     } catch (IOException | ClassNotFoundException e) {
-      System.out.println("File not found");
+      System.out.println("Could not load the neat from " + neatFilePath);
+      e.printStackTrace();
     }
     return null;
   }
@@ -394,20 +533,10 @@ public class Game {
   }
 
   private void checkGameOver() {
-    if ((training && Game.getTrainingMode() == 1 && World.getActiveSocieties().size() <= 1)
-        || (!training && World.getActiveSocieties().size() <= 1)
-        || Hud.getTurn() >= TURN_LIMIT
-        || (!training && !World.getActiveSocieties().contains(World.getSocieties()[0]))
-        || (training && TRAINING_MODE == 1
-        && !World.getActiveSocieties().contains(World.getSocieties()[0]))) {
+    if (isGameOver()) {
       state = GameState.GAME_OVER;
       // get the society with the highest score
-      Society winningSociety = null;
-      for (Society society : World.getActiveSocieties()) {
-        if (winningSociety == null || society.getScore() > winningSociety.getScore()) {
-          winningSociety = society;
-        }
-      }
+      Society winningSociety = getWinningSociety();
       // Check if the winning society is the player's society
       if (!training && winningSociety == World.getSocieties()[0]) {
         state = GameState.GAME_WIN;
@@ -430,21 +559,93 @@ public class Game {
           System.out.println(((winningSociety == World.getSocieties()[0]) ? "Win" : "Lose")
               + ": " + World.getSocieties()[0].getScore());
         }
-        if (TRAINING_MODE == 0) {
-          // Update the score for the single client
-          winningSociety.getDecisionClient().setScore(winningSociety.getScore());
-        } else {
-          // update the score if the client being trained
-          if (winningSociety == World.getSocieties()[0]) {
-            float score = winningSociety.getScore() * 1.5f;
-            winningSociety.getDecisionClient().setScore(score);
-          } else {
-            World.getSocieties()[0].getDecisionClient()
-                .setScore(World.getSocieties()[0].getScore());
-          }
-        }
+        updateClientScores(winningSociety);
+      }
+    }
+  }
+
+  /**
+   * Checks whether the current game has reached an end condition.
+   *
+   * @return true if the game is over
+   */
+  public static boolean isGameOver() {
+    return isGameOver(World.getContext());
+  }
+
+  /**
+   * Checks whether a simulation has reached an end condition.
+   *
+   * @param context the simulation context
+   * @return true if the game is over
+   */
+  public static boolean isGameOver(SimulationContext context) {
+    ArrayList<Society> activeSocieties = context.getActiveSocieties();
+    Society firstSociety = context.getSocieties()[0];
+    return (training && Game.getTrainingMode() == 1 && activeSocieties.size() <= 1)
+        || (!training && activeSocieties.size() <= 1)
+        || context.getTurn() >= TURN_LIMIT
+        || (!training && !activeSocieties.contains(firstSociety))
+        || (training && TRAINING_MODE == 1 && !activeSocieties.contains(firstSociety));
+  }
+
+  /**
+   * Gets the active society with the highest score.
+   *
+   * @return the winning society
+   */
+  public static Society getWinningSociety() {
+    return getWinningSociety(World.getContext());
+  }
+
+  /**
+   * Gets the active society with the highest score in a simulation.
+   *
+   * @param context the simulation context
+   * @return the winning society
+   */
+  public static Society getWinningSociety(SimulationContext context) {
+    Society winningSociety = null;
+    for (Society society : context.getActiveSocieties()) {
+      if (winningSociety == null || society.getScore() > winningSociety.getScore()) {
+        winningSociety = society;
       }
     }
+    return winningSociety;
+  }
+
+  /**
+   * Update the score of the client being trained once a game has ended.
+   *
+   * @param winningSociety the winning society
+   */
+  public static void updateClientScores(Society winningSociety) {
+    float score = calculateClientScore(World.getContext(), winningSociety);
+    if (TRAINING_MODE == 0) {
+      // Update the score for the single client
+      winningSociety.getDecisionClient().setScore(score);
+    } else {
+      // update the score if the client being trained
+      World.getSocieties()[0].getDecisionClient().setScore(score);
+    }
+  }
+
+  /**
+   * Calculate the score of the client being trained once a simulation has ended.
+   *
+   * @param context        the simulation context
+   * @param winningSociety the winning society
+   * @return the score
+   */
+  public static float calculateClientScore(SimulationContext context, Society winningSociety) {
+    if (TRAINING_MODE == 0) {
+      return winningSociety.getScore();
+    }
+    Society trainedSociety = context.getSocieties()[0];
+    if (winningSociety == trainedSociety) {
+      return trainedSociety.getScore() * 1.5f;
+    }
+    return trainedSociety.getScore();
   }
 
   private void executeEscapeKeyFunctionality() {
@@ -84,7 +84,6 @@ public class ChoiceMenu {
       choiceButtons.get(0).enable();
     }
     // Update Claim Tile Button
-    playerSociety.calculateClaimableTerritory();
     if (playerSociety.getClaimableTerritory().isEmpty()) {
       choiceButtons.get(1).disable();
     } else {
@@ -92,7 +91,6 @@ public class ChoiceMenu {
     }
 
     // Update Trade Button
-    playerSociety.calculateNeighbouringSocieties();
     if (playerSociety.getNeighbouringSocieties().isEmpty()) {
       choiceButtons.get(2).disable();
     } else {
@@ -13,13 +13,11 @@ import engine.objects.gui.ButtonObject;
 import engine.objects.gui.HudText;
 import engine.objects.world.Camera;
 import engine.utils.ColourUtils;
-import engine.utils.ObjectFileIO;
 import game.Game;
 import game.GameState;
 import game.world.Hud;
 import game.world.World;
 import java.awt.Color;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import math.Vector3f;
 import math.Vector4f;
@@ -89,11 +87,11 @@ public class GameOverMenu {
             System.out.println("EVOLVING THE NETWORK");
             Game.getNeat().evolve();
             try {
-              ObjectFileIO.writeNeatToFile(Game.getNeatFilePath(), Game.getNeat());
-            } catch (FileNotFoundException e) {
-              System.out.println("File Not Found");
+              Game.getCheckpointWriter().submit(Game.getNeat());
             } catch (IOException e) {
               e.printStackTrace();
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
             }
           }
         }
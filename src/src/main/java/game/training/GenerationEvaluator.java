@@ -0,0 +1,97 @@
+package game.training;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import neat.Client;
+import neat.Neat;
+import neat.metrics.TrainingMetrics;
+
+/**
+ * Evaluates the fitness of every client in a generation concurrently.
+ * Each client's game is played in its own simulation on a worker thread, and the scores are
+ * written back to the clients once every game has finished.
+ * The games of several neats, such as the islands of an island model, share one pool of threads
+ * and are all submitted before any is waited on.
+ */
+public class GenerationEvaluator {
+  private final Neat[] neats;
+  private final ExecutorService executor;
+
+  /**
+   * Instantiates a new Generation evaluator.
+   *
+   * @param threads the number of games to play at once
+   * @param neats   the neats whose clients are evaluated
+   */
+  public GenerationEvaluator(int threads, Neat... neats) {
+    this.neats = neats;
+    this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+      Thread thread = new Thread(runnable, "generation-evaluator");
+      thread.setDaemon(true);
+      return thread;
+    });
+  }
+
+  /**
+   * Play a game for every client of every neat and set each client's score.
+   * If any game fails, the games not yet finished are cancelled and no client is scored.
+   */
+  public void evaluate() {
+    List<Client> clients = new ArrayList<>();
+    // Bring the calculators up to date up front so workers never update them concurrently
+    long start = System.nanoTime();
+    for (Neat neat : neats) {
+      for (Client client : neat.getClients().getData()) {
+        client.updateCalculator();
+        clients.add(client);
+      }
+    }
+    TrainingMetrics.getInstance().recordPhase(TrainingMetrics.Phase.CALCULATOR_REBUILD,
+        System.nanoTime() - start);
+
+    List<Future<Float>> scores = new ArrayList<>(clients.size());
+    for (Neat neat : neats) {
+      for (Client client : neat.getClients().getData()) {
+        // Split the random here, in order, so each game's random is the same on every run
+        SplittableRandom random = neat.getRandom().split();
+        scores.add(executor.submit(() -> HeadlessTrainer.playGame(client, neat, random)));
+      }
+    }
+
+    float[] results = new float[clients.size()];
+    for (int i = 0; i < results.length; i++) {
+      try {
+        results[i] = scores.get(i).get();
+      } catch (InterruptedException e) {
+        cancel(scores);
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Evaluation was interrupted", e);
+      } catch (ExecutionException e) {
+        cancel(scores);
+        throw new IllegalStateException("Game for client " + i + " failed", e.getCause());
+      }
+    }
+    // Games still running read the other clients, so none are scored until every game is over
+    for (int i = 0; i < results.length; i++) {
+      clients.get(i).setScore(results[i]);
+    }
+  }
+
+  private static void cancel(List<Future<Float>> scores) {
+    for (Future<Float> score : scores) {
+      score.cancel(true);
+    }
+  }
+
+  /**
+   * Stop the worker threads.
+   */
+  public void shutdown() {
+    executor.shutdown();
+  }
+}
@@ -0,0 +1,229 @@
+package game.training;
+
+import engine.utils.RandomUtils;
+import game.Game;
+import game.world.SimulationContext;
+import game.world.World;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import neat.CheckpointWriter;
+import neat.Client;
+import neat.GenerationLog;
+import neat.IslandModel;
+import neat.Neat;
+import neat.metrics.MetricsReporter;
+import neat.metrics.TrainingMetrics;
+import society.Society;
+
+/**
+ * Trains the NEAT clients by playing complete games without a window, audio or textures.
+ * Each turn is driven directly through the world and society logic instead of the game loop,
+ * so no frames are rendered and no buffers are swapped.
+ */
+public class HeadlessTrainer {
+  private static final int DEFAULT_GENERATIONS = 1;
+  private static final int CHECKPOINT_QUEUE_SIZE = 2;
+  private static final int MIGRATION_INTERVAL = 5;
+  private static final int MIGRANTS = 2;
+  private static final long METRICS_INTERVAL_SECONDS = 10;
+  private final Neat neat;
+  private final IslandModel islands;
+  private final CheckpointWriter checkpointWriter;
+  private final GenerationEvaluator evaluator;
+
+  /**
+   * Instantiates a new Headless trainer.
+   *
+   * @param neat         the neat being trained
+   * @param neatFilePath the path the neat is saved to after each generation, in the background
+   * @param history      the log each generation is recorded in, or null to not record them
+   * @param threads      the number of games to play at once
+   */
+  public HeadlessTrainer(Neat neat, String neatFilePath, GenerationLog history, int threads) {
+    this(new IslandModel(neat, 1, MIGRATION_INTERVAL, MIGRANTS), neatFilePath, history,
+        threads);
+    this.neat.setParallelSpeciation(threads > 1);
+  }
+
+  /**
+   * Instantiates a new Headless trainer that trains every island of an island model.
+   * Only the first island is saved, which the best genomes of the others migrate into.
+   *
+   * @param islands      the islands being trained
+   * @param neatFilePath the path the first island is saved to after each generation
+   * @param history      the log each generation is recorded in, or null to not record them
+   * @param threads      the number of games to play at once
+   */
+  public HeadlessTrainer(IslandModel islands, String neatFilePath, GenerationLog history,
+                         int threads) {
+    this.neat = islands.getIsland(0);
+    this.islands = islands;
+    this.checkpointWriter = new CheckpointWriter(Paths.get(neatFilePath), history,
+        CHECKPOINT_QUEUE_SIZE);
+    Neat[] neats = new Neat[islands.size()];
+    for (int i = 0; i < neats.length; i++) {
+      neats[i] = islands.getIsland(i);
+    }
+    this.evaluator = new GenerationEvaluator(threads, neats);
+  }
+
+  /**
+   * The entry point for headless training.
+   *
+   * @param args the number of generations to train for, and optionally the number of threads,
+   *             a seed to make the run reproducible, the number of islands to train and a file
+   *             to dump the training metrics to, as JSON if it ends in .json or else CSV
+   */
+  public static void main(String[] args) {
+    int generations = DEFAULT_GENERATIONS;
+    int threads = Runtime.getRuntime().availableProcessors();
+    if (args.length > 0) {
+      generations = Integer.parseInt(args[0]);
+    }
+    if (args.length > 1) {
+      threads = Integer.parseInt(args[1]);
+    }
+    Neat neat = Game.loadNeat();
+    if (neat == null) {
+      return;
+    }
+    if (args.length > 2) {
+      neat.setRandom(new SplittableRandom(Long.parseLong(args[2])));
+    }
+    GenerationLog history;
+    try {
+      history = Game.getNeatHistory();
+    } catch (IOException e) {
+      e.printStackTrace();
+      history = null;
+    }
+    HeadlessTrainer trainer;
+    if (args.length > 3 && Integer.parseInt(args[3]) > 1) {
+      IslandModel islands = new IslandModel(neat, Integer.parseInt(args[3]), MIGRATION_INTERVAL,
+          MIGRANTS);
+      trainer = new HeadlessTrainer(islands, Game.getNeatFilePath(), history, threads);
+    } else {
+      trainer = new HeadlessTrainer(neat, Game.getNeatFilePath(), history, threads);
+    }
+    MetricsReporter metrics = null;
+    if (args.length > 4) {
+      try {
+        metrics = new MetricsReporter(TrainingMetrics.getInstance(), Paths.get(args[4]),
+            METRICS_INTERVAL_SECONDS);
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+    }
+    for (int i = 0; i < generations; i++) {
+      long start = System.nanoTime();
+      trainer.trainGeneration();
+      long elapsed = System.nanoTime() - start;
+      System.out.printf("Generation %d trained in %.2fs, best score %.2f%n", i + 1,
+          elapsed / 1e9, trainer.islands.getBestClient().getScore());
+    }
+    trainer.shutdown();
+    if (metrics != null) {
+      metrics.close();
+    }
+    if (history != null) {
+      try {
+        history.close();
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+    }
+  }
+
+  /**
+   * Play a game for every client of every island, evolve the islands and queue the first to be
+   * saved.
+   */
+  public void trainGeneration() {
+    long allocated = TrainingMetrics.allocatedBytes();
+    long start = System.nanoTime();
+    Game.setTraining(true);
+    Game.setNeat(neat);
+    evaluator.evaluate();
+    islands.evolve();
+    try {
+      checkpointWriter.submit(neat);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    TrainingMetrics.getInstance().recordGeneration(System.nanoTime() - start,
+        allocated < 0 ? -1 : TrainingMetrics.allocatedBytes() - allocated);
+  }
+
+  /**
+   * Stop the evaluation threads, once the last checkpoints are written.
+   */
+  public void shutdown() {
+    try {
+      checkpointWriter.close();
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+    evaluator.shutdown();
+    islands.shutdown();
+  }
+
+  /**
+   * Play a complete game in its own simulation for a given client.
+   * Nothing outside of the new simulation is modified, so games can be played concurrently.
+   *
+   * @param client the client being trained
+   * @param neat   the neat to draw opponents from
+   * @param random the random the game is played with
+   * @return the score the client earned
+   */
+  public static float playGame(Client client, Neat neat, SplittableRandom random) {
+    TrainingMetrics metrics = TrainingMetrics.getInstance();
+    SimulationContext context = World.createHeadless(client, neat, random);
+    Game.updateScores(context);
+    while (!Game.isGameOver(context)) {
+      playTurn(context);
+      context.incrementTurn();
+      metrics.recordTurn();
+      Game.updateScores(context);
+    }
+    metrics.recordGame();
+    return Game.calculateClientScore(context, Game.getWinningSociety(context));
+  }
+
+  private static void playTurn(SimulationContext context) {
+    // Age everyone in each society
+    if (context.getTurn() % Game.getAgeFrequency() == 0) {
+      for (Society society : context.getActiveSocieties()) {
+        society.agePopulation();
+      }
+    }
+    // generates a random turn order of all the societies in play
+    ArrayList<Society> turnOrder = new ArrayList<>(context.getActiveSocieties());
+    RandomUtils.shuffle(turnOrder, context.getRandom());
+    for (Society society : turnOrder) {
+      context.setActiveSociety(society);
+      society.checkTradeDeal();
+      society.updateHappiness();
+      society.setEndTurn(false);
+      society.setMadeMove(false);
+      World.aiTurn(context, society);
+      // Recalculate resources for any tiles that changed hands this move
+      if (context.isBordersAltered()) {
+        for (Society activeSociety : context.getSocieties()) {
+          activeSociety.calculateResources();
+        }
+        context.setBordersAltered(false);
+      }
+      Game.updateScores(context);
+      if (Game.isGameOver(context)) {
+        return;
+      }
+      if (context.getTurn() % Game.getReproduceFrequency() == 0) {
+        society.reproduce();
+      }
+      context.setActiveSociety(null);
+    }
+  }
+}
@@ -0,0 +1,160 @@
+package game.training;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import neat.Neat;
+import neat.NeatConfig;
+import neat.metrics.MetricsReporter;
+import neat.metrics.TrainingMetrics;
+
+/**
+ * Trains a fresh NEAT for each of several hyperparameter configs and reports how each did.
+ * Every config is trained in its own headless JVM, as the game keeps its state in statics, so
+ * the configs are trained in parallel with the processors shared between them.
+ * Each config's trained NEAT is saved beside it, along with its output and training metrics.
+ */
+public class SweepRunner {
+  private static final String WORKER = "--worker";
+  private static final String RESULT = "RESULT";
+  private static final long DEFAULT_SEED = 1;
+  private static final long METRICS_INTERVAL_SECONDS = 10;
+
+  /**
+   * The entry point for a sweep.
+   *
+   * @param args the number of generations to train each config for, followed by the paths of the
+   *             config properties files
+   */
+  public static void main(String[] args) {
+    if (args.length > 0 && args[0].equals(WORKER)) {
+      work(args);
+      return;
+    }
+    if (args.length < 2) {
+      System.out.println("Usage: SweepRunner <generations> <config.properties>...");
+      return;
+    }
+    int generations = Integer.parseInt(args[0]);
+    int configs = args.length - 1;
+    int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / configs);
+
+    // Start every worker before waiting on any of them
+    List<Process> workers = new ArrayList<>();
+    List<Path> logs = new ArrayList<>();
+    try {
+      for (int i = 1; i < args.length; i++) {
+        Path config = Paths.get(args[i]);
+        Path log = siblingPath(config, ".log");
+        ProcessBuilder builder = new ProcessBuilder(javaPath(), "-cp",
+            System.getProperty("java.class.path"), SweepRunner.class.getName(), WORKER,
+            config.toString(), Integer.toString(generations), Integer.toString(threads),
+            Long.toString(DEFAULT_SEED));
+        builder.redirectErrorStream(true);
+        builder.redirectOutput(log.toFile());
+        workers.add(builder.start());
+        logs.add(log);
+      }
+    } catch (IOException e) {
+      e.printStackTrace();
+      for (Process worker : workers) {
+        worker.destroy();
+      }
+      return;
+    }
+
+    System.out.printf("%-40s %14s %12s%n", "config", "generations/s", "best score");
+    for (int i = 0; i < workers.size(); i++) {
+      String config = args[i + 1];
+      try {
+        int exitCode = workers.get(i).waitFor();
+        String result = readResult(logs.get(i));
+        if (exitCode != 0 || result == null) {
+          System.out.printf("%-40s failed, see %s%n", config, logs.get(i));
+        } else {
+          String[] values = result.split(" ");
+          System.out.printf("%-40s %14s %12s%n", config, values[1], values[2]);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        for (Process worker : workers) {
+          worker.destroy();
+        }
+        return;
+      } catch (IOException e) {
+        e.printStackTrace();
+      }
+    }
+  }
+
+  // trains a single config, then prints its result for the sweep to collect
+  private static void work(String[] args) {
+    Path configPath = Paths.get(args[1]);
+    int generations = Integer.parseInt(args[2]);
+    int threads = Integer.parseInt(args[3]);
+    long seed = Long.parseLong(args[4]);
+    NeatConfig config;
+    try {
+      config = NeatConfig.load(configPath);
+    } catch (IOException | IllegalArgumentException e) {
+      e.printStackTrace();
+      System.exit(1);
+      return;
+    }
+    MetricsReporter metrics;
+    try {
+      metrics = new MetricsReporter(TrainingMetrics.getInstance(),
+          siblingPath(configPath, ".metrics.csv"), METRICS_INTERVAL_SECONDS);
+    } catch (IOException e) {
+      e.printStackTrace();
+      System.exit(1);
+      return;
+    }
+    Neat neat = new Neat(config, new SplittableRandom(seed));
+    HeadlessTrainer trainer = new HeadlessTrainer(neat,
+        siblingPath(configPath, ".neat").toString(), null, threads);
+    double bestScore = Double.NEGATIVE_INFINITY;
+    long start = System.nanoTime();
+    for (int i = 0; i < generations; i++) {
+      trainer.trainGeneration();
+      bestScore = Math.max(bestScore, neat.getBestClient().getScore());
+    }
+    long elapsed = System.nanoTime() - start;
+    trainer.shutdown();
+    metrics.close();
+    System.out.printf(Locale.ROOT, "%s %.4f %.2f%n", RESULT, generations / (elapsed / 1e9),
+        bestScore);
+  }
+
+  // the last result line a worker logged, or null if it logged none
+  private static String readResult(Path log) throws IOException {
+    String result = null;
+    for (String line : Files.readAllLines(log, StandardCharsets.UTF_8)) {
+      if (line.startsWith(RESULT + " ")) {
+        result = line;
+      }
+    }
+    return result;
+  }
+
+  // a path beside a config, named after it with a new extension
+  private static Path siblingPath(Path config, String extension) {
+    String name = config.getFileName().toString();
+    int dot = name.lastIndexOf('.');
+    if (dot > 0) {
+      name = name.substring(0, dot);
+    }
+    return config.resolveSibling(name + extension);
+  }
+
+  private static String javaPath() {
+    return System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+  }
+}
@@ -27,9 +27,6 @@ import game.GameState;
 import game.menu.TradingMenu;
 import java.awt.Color;
 import java.util.ArrayList;
-import map.tiles.AridTile;
-import map.tiles.FertileTile;
-import map.tiles.WaterTile;
 import math.Vector3f;
 import math.Vector4f;
 import org.apache.commons.lang3.StringUtils;
@@ -74,7 +71,6 @@ public class Hud {
   private static HudImage terrainTileImage;
   private static HudText coordinates;
   private static Boolean devHudActive = false;
-  private static int turn = 1;
   private static ArrayList<SocietyButton> societyButtons = new ArrayList<>();
   private static ArrayList<SocietyButton> turnOrderIdentifiers = new ArrayList<>();
   private static HudImage societyButtonPanel;
@@ -93,7 +89,7 @@ public class Hud {
   private static ArrayList<Float> turnTrackerIdentifierPositions = new ArrayList<>();
 
   public static int getTurn() {
-    return turn;
+    return World.getContext().getTurn();
   }
 
   public static ArrayList<SocietyButton> getSocietyButtons() {
@@ -121,7 +117,7 @@ public class Hud {
    */
   public static void create() {
     // reset variables
-    turn = 1;
+    World.getContext().setTurn(1);
     terrainPanelActive = false;
     societyPanelActive = false;
     devHudActive = false;
@@ -395,10 +391,10 @@ public class Hud {
   }
 
   private static void updateTurnCounter() {
-    turn++;
+    World.getContext().incrementTurn();
     // Only update the buffers if a player is participating
     if (!Game.isTraining()) {
-      turnText.setString(String.format("Turn: %d", turn));
+      turnText.setString(String.format("Turn: %d", getTurn()));
       turnCounter.getLines().get(0).setText(turnText);
     }
   }
@@ -435,7 +431,7 @@ public class Hud {
 
   private static void createObjects() {
     // Create the turn hud Element
-    turnText.setString(String.format("Turn: %d", turn));
+    turnText.setString(String.format("Turn: %d", getTurn()));
     turnText.setCentreHorizontal(true);
     turnText.setCentreVertical(true);
     Image hudImage = new Image("/images/hudElementBackground.png");
@@ -854,7 +850,7 @@ public class Hud {
     arrowButtonPanel.destroy();
     panelBorders.clear();
     hint.destroy();
-    turn = 0;
+    World.getContext().setTurn(0);
   }
 
   /**
@@ -880,31 +876,21 @@ public class Hud {
         societyString, society.getScore(), society.getPopulation().size(),
         society.getTotalFoodResource(), society.getTotalRawMaterialResource(),
         society.getTerritory().size(), society.getAverageAggressiveness(),
-        society.getAverageProductivity(), society.getAverageAge(), society.getArmy().size(),
+        society.getAverageProductivity(), society.getAverageAge(), society.getArmySize(),
         society.getHappiness(), startPadding, linePadding);
   }
 
   private static String calculateTerrainPanelString(TileWorldObject tile) {
     String startPadding = StringUtils.repeat("\n ", 12);
     String linePadding = "\n \n";
-    // Calculate the tile type
-    String tileType;
-    if (tile.getTile() instanceof WaterTile) {
-      tileType = "Water Tile";
-    } else if (tile.getTile() instanceof FertileTile) {
-      tileType = "Fertile Tile";
-    } else if (tile.getTile() instanceof AridTile) {
-      tileType = "Arid Tile";
-    } else {
-      tileType = "Plain Tile";
-    }
+    String tileType = tile.getTile().getName();
     // check if claimed by a society
     String claimedSocietyString = "Unclaimed";
     boolean found = false;
     int i = 0;
     while (i < World.getSocieties().length && !found) {
       Society society = World.getSocieties()[i];
-      if (society.getTerritory().contains(tile)) {
+      if (tile.getClaimedBy() == society) {
         found = true;
         if (i == 0) {
           claimedSocietyString = "Your Society";
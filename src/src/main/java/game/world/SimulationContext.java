@@ -0,0 +1,146 @@
+package game.world;
+
+import engine.objects.world.TileWorldObject;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import map.MapGeneration;
+import map.WorldGrid;
+import society.Society;
+
+/**
+ * Holds the state of a single simulation, so that more than one game can be played at a time.
+ */
+public class SimulationContext {
+  private final SplittableRandom random;
+  private MapGeneration mapGeneration;
+  // the simulation state of every tile, and the tile objects viewing it when it is rendered
+  private WorldGrid grid;
+  private TileWorldObject[][] worldMap;
+  private Society[] societies = new Society[] {};
+  private ArrayList<Society> activeSocieties = new ArrayList<>();
+  private int turn = 1;
+  private boolean bordersAltered = false;
+  private Society activeSociety;
+  private Society targetSociety;
+  private Society bestTradingCandidate;
+
+  /**
+   * Instantiates a new Simulation context with its own unseeded random.
+   */
+  public SimulationContext() {
+    this(new SplittableRandom());
+  }
+
+  /**
+   * Instantiates a new Simulation context.
+   *
+   * @param random the random every decision in this simulation is drawn from
+   */
+  public SimulationContext(SplittableRandom random) {
+    this.random = random;
+  }
+
+  public SplittableRandom getRandom() {
+    return random;
+  }
+
+  public MapGeneration getMapGeneration() {
+    return mapGeneration;
+  }
+
+  public void setMapGeneration(MapGeneration mapGeneration) {
+    this.mapGeneration = mapGeneration;
+  }
+
+  public WorldGrid getGrid() {
+    return grid;
+  }
+
+  public void setGrid(WorldGrid grid) {
+    this.grid = grid;
+  }
+
+  /**
+   * Gets the tile object viewing a cell of the grid.
+   *
+   * @param index the index of the cell
+   * @return the tile object, or null if the simulation is not rendered
+   */
+  public TileWorldObject getWorldTile(int index) {
+    if (worldMap == null) {
+      return null;
+    }
+    return worldMap[grid.getRow(index)][grid.getColumn(index)];
+  }
+
+  public TileWorldObject[][] getWorldMap() {
+    return worldMap;
+  }
+
+  public void setWorldMap(TileWorldObject[][] worldMap) {
+    this.worldMap = worldMap;
+  }
+
+  public Society[] getSocieties() {
+    return societies;
+  }
+
+  public void setSocieties(Society[] societies) {
+    this.societies = societies;
+  }
+
+  public ArrayList<Society> getActiveSocieties() {
+    return activeSocieties;
+  }
+
+  public int getTurn() {
+    return turn;
+  }
+
+  public void setTurn(int turn) {
+    this.turn = turn;
+  }
+
+  public void incrementTurn() {
+    turn++;
+  }
+
+  public boolean isBordersAltered() {
+    return bordersAltered;
+  }
+
+  public void setBordersAltered(boolean bordersAltered) {
+    this.bordersAltered = bordersAltered;
+  }
+
+  public Society getActiveSociety() {
+    return activeSociety;
+  }
+
+  public void setActiveSociety(Society activeSociety) {
+    this.activeSociety = activeSociety;
+  }
+
+  public Society getTargetSociety() {
+    return targetSociety;
+  }
+
+  public void setTargetSociety(Society targetSociety) {
+    this.targetSociety = targetSociety;
+  }
+
+  public Society getBestTradingCandidate() {
+    return bestTradingCandidate;
+  }
+
+  public void setBestTradingCandidate(Society bestTradingCandidate) {
+    this.bestTradingCandidate = bestTradingCandidate;
+  }
+
+  /**
+   * Remove any societies that no longer hold territory from the active societies.
+   */
+  public void purgeSocieties() {
+    activeSocieties.removeIf(society -> society.getTerritory().size() < 1);
+  }
+}
@@ -21,22 +21,20 @@ import game.menu.DealingMenu;
 import game.menu.TradingMenu;
 import game.menu.data.TradeDeal;
 import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.SplittableRandom;
 import java.util.TreeMap;
 import map.MapGeneration;
-import map.tiles.AridTile;
-import map.tiles.FertileTile;
-import map.tiles.PlainTile;
+import map.WorldGrid;
 import map.tiles.Tile;
-import map.tiles.WaterTile;
 import math.Vector2f;
 import math.Vector3f;
 import math.Vector4f;
 import neat.Client;
+import neat.Neat;
 import org.jfree.chart.ChartColor;
 import org.lwjgl.glfw.GLFW;
+import society.CellSet;
 import society.Society;
 
 public class World {
@@ -66,32 +64,28 @@ public class World {
   private static final int WATER_MAX_FOOD_RESOURCE = 2;
   private static final int WATER_MAX_RAW_MATERIALS = 2;
   private static int numberOfSocieties;
-  private static TileWorldObject[][] worldMap;
-  private static ArrayList<GameObject> fertileTiles = new ArrayList<>();
-  private static ArrayList<GameObject> aridTiles = new ArrayList<>();
-  private static ArrayList<GameObject> plainTiles = new ArrayList<>();
-  private static ArrayList<GameObject> waterTiles = new ArrayList<>();
+  private static SimulationContext context = new SimulationContext();
+  // the tile objects of each tile type, rendered a type at a time
+  private static ArrayList<ArrayList<GameObject>> tilesByType = new ArrayList<>();
   private static GameObject selectOverlay;
   private static Image selectOverlayImage = new Image("/images/blankFace.png");
   private static Vector4f overlayColour = new Vector4f(new Vector3f(1, 1, 1), 0.5f);
   private static Material selectOverlayMaterial = new Material(selectOverlayImage, overlayColour);
-  private static boolean bordersAltered = false;
-  private static Society[] societies = new Society[] {};
-  private static ArrayList<Society> activeSocieties = new ArrayList<>();
   private static RectangleModel tileModel;
   private static TileWorldObject attackingTile;
   private static TileWorldObject opponentTile;
   private static TileWorldObject claimedTile;
-  private static Society activeSociety;
-  private static Society targetSociety;
-  private static Society bestTradingCandidate;
+
+  public static SimulationContext getContext() {
+    return context;
+  }
 
   public static Society getBestTradingCandidate() {
-    return bestTradingCandidate;
+    return context.getBestTradingCandidate();
   }
 
   public static Society getTargetSociety() {
-    return targetSociety;
+    return context.getTargetSociety();
   }
 
   public static RectangleModel getTileModel() {
@@ -99,7 +93,7 @@ public class World {
   }
 
   public static Society[] getSocieties() {
-    return societies.clone();
+    return context.getSocieties().clone();
   }
 
   /**
@@ -129,7 +123,7 @@ public class World {
    * @param numberOfSocieties the number of societies
    */
   public static void create(Window window, Camera camera, int numberOfSocieties) {
-    MapGeneration.createMap();
+    context = new SimulationContext();
     // reset the camera to its default position.
     camera.reset();
     // unfreeze the camera in-case it has been frozen before
@@ -139,14 +133,7 @@ public class World {
     MousePicker.setCamera(camera);
     MousePicker.setProjectionMatrix(window.getProjectionMatrix());
     MousePicker.setGroundZ(DEFAULT_Z);
-    generateSocieties(numberOfSocieties);
-  }
-
-  private static void generateSocieties(int numberOfSocieties) {
-    societies = new Society[numberOfSocieties];
-    activeSocieties.clear();
     Client decisionClient = null;
-
     if (Game.isTraining()) {
       ArrayList<Client> decisionClients = Game.getNeat().getClients().getData();
       int clientIndex = Game.getDecisionClientIndex();
@@ -160,10 +147,42 @@ public class World {
         System.out.println("Can't set the decision client");
       }
     }
+    generateSocieties(context, numberOfSocieties, decisionClient, Game.getNeat());
+  }
 
+  /**
+   * Create a new simulation without a window, camera or any textures.
+   * Used when training the NEAT clients headlessly, each call returns an independent context
+   * so that several games can be played at once.
+   *
+   * @param decisionClient the client being trained
+   * @param neat           the neat to draw opponents from
+   * @param random         the random every decision in the simulation is drawn from
+   * @return the simulation context
+   */
+  public static SimulationContext createHeadless(Client decisionClient, Neat neat,
+                                                 SplittableRandom random) {
+    int numberOfSocieties = DEFAULT_NUMBER_OF_SOCIETIES;
+    if (Game.getTrainingMode() == 0) {
+      numberOfSocieties = 1;
+    }
+    SimulationContext simulation = new SimulationContext(random);
+    // only the grid is created, there are no tile objects to render
+    createWorldGrid(simulation);
+    generateSocieties(simulation, numberOfSocieties, decisionClient, neat);
+    return simulation;
+  }
+
+  private static void generateSocieties(SimulationContext context, int numberOfSocieties,
+                                        Client decisionClient, Neat neat) {
+    Society[] societies = new Society[numberOfSocieties];
+    context.setSocieties(societies);
+    ArrayList<Society> activeSocieties = context.getActiveSocieties();
+    activeSocieties.clear();
+    WorldGrid grid = context.getGrid();
 
     for (int i = 0; i < numberOfSocieties; i++) {
-      Society society = new Society(i, BASIC_SOCIETY_COLORS[i]);
+      Society society = new Society(context, i, BASIC_SOCIETY_COLORS[i]);
       societies[i] = society;
 
       // If training set the client for the society
@@ -174,7 +193,7 @@ public class World {
           if (society.getSocietyId() == 0) {
             society.setDecisionClient(decisionClient);
           } else {
-            society.setDecisionClient(Game.getNeat().getRandomClient());
+            society.setDecisionClient(neat.getRandomClient(context.getRandom()));
           }
         }
       } else {
@@ -185,12 +204,12 @@ public class World {
       activeSocieties.add(society);
       boolean claimed = false;
       while (!claimed) {
-        int row = genRandomInt(worldMap[0].length - 2, 1);
-        int column = genRandomInt(worldMap[0].length - 2, 1);
-        if (!worldMap[row][column].isClaimed()
-            && !(worldMap[row][column].getTile() instanceof WaterTile)) {
-          activeSocieties.get(i).claimTile(worldMap[row][column]);
-          bordersAltered = true;
+        int row = genRandomInt(context.getRandom(), grid.getHeight() - 2, 1);
+        int column = genRandomInt(context.getRandom(), grid.getWidth() - 2, 1);
+        int index = grid.index(row, column);
+        if (!grid.isClaimed(index) && grid.getTileType(index) != WorldGrid.WATER) {
+          activeSocieties.get(i).claimCell(grid, index);
+          context.setBordersAltered(true);
           claimed = true;
         }
       }
@@ -214,9 +233,10 @@ public class World {
 
   private static void renderBorder(WorldRenderer renderer, Camera camera) {
     ArrayList<GameObject> temp = new ArrayList<>();
-    for (Society society : activeSocieties) {
-      for (TileWorldObject worldTile : society.getTerritory()) {
-        temp.add(worldTile.getBorderObject());
+    for (Society society : context.getActiveSocieties()) {
+      CellSet territory = society.getTerritory();
+      for (int i = 0; i < territory.size(); i++) {
+        temp.add(context.getWorldTile(territory.get(i)).getBorderObject());
       }
     }
     renderer.renderTileBorders(temp, camera);
@@ -246,13 +266,15 @@ public class World {
   }
 
   private static void selectClaimableTile(Window window) {
+    Society[] societies = context.getSocieties();
     if (claimedTile == null) {
-      MousePicker.update(window, societies[0].getClaimableTerritory());
+      ArrayList<TileWorldObject> claimable = getWorldTiles(societies[0].getClaimableTerritory());
+      MousePicker.update(window, claimable);
       updateSelectOverlay();
-      claimedTile = selectWorldTile(societies[0].getClaimableTerritory());
+      claimedTile = selectWorldTile(claimable);
     } else {
       societies[0].claimTile(claimedTile);
-      bordersAltered = true;
+      context.setBordersAltered(true);
       updateSocietyBorders();
       claimedTile = null;
       societies[0].setEndTurn(true);
@@ -261,17 +283,21 @@ public class World {
   }
 
   private static void selectWarTiles(Window window) {
+    Society[] societies = context.getSocieties();
     if (attackingTile == null) {
-      MousePicker.update(window, societies[0].getAttackingTiles());
+      ArrayList<TileWorldObject> attacking = getWorldTiles(societies[0].getAttackingTiles());
+      MousePicker.update(window, attacking);
       updateSelectOverlay();
-      attackingTile = selectWorldTile(societies[0].getAttackingTiles());
+      attackingTile = selectWorldTile(attacking);
     } else if (opponentTile == null) {
-      activeSocieties.get(0).calculateDefendingTiles(attackingTile);
-      MousePicker.update(window, societies[0].getDefendingTiles());
+      context.getActiveSocieties().get(0).calculateDefendingTiles(attackingTile.getIndex());
+      ArrayList<TileWorldObject> defending = getWorldTiles(societies[0].getDefendingTiles());
+      MousePicker.update(window, defending);
       updateSelectOverlay();
-      opponentTile = selectWorldTile(societies[0].getDefendingTiles());
+      opponentTile = selectWorldTile(defending);
     } else {
-      simulateBattle(societies[0], attackingTile, opponentTile);
+      simulateBattle(context, societies[0], attackingTile.getIndex(), opponentTile.getIndex());
+      Game.setState(GameState.GAME_MAIN);
       societies[0].setEndTurn(true);
       attackingTile = null;
       opponentTile = null;
@@ -296,19 +322,19 @@ public class World {
    * @param window the window
    */
   public static void updateBorders(Window window) {
-    if (worldMap != null) {
+    if (context.getWorldMap() != null) {
       updateSocietyBorders();
-      MousePicker.update(window, worldMap);
+      MousePicker.update(window, context.getWorldMap());
       updateSelectOverlay();
     }
   }
 
   private static void updateSocietyBorders() {
-    if (bordersAltered) {
-      for (Society society : societies) {
+    if (context.isBordersAltered()) {
+      for (Society society : context.getSocieties()) {
         society.updateBorders(tileModel);
       }
-      bordersAltered = false;
+      context.setBordersAltered(false);
     }
   }
 
@@ -321,14 +347,31 @@ public class World {
   }
 
   public static TileWorldObject[][] getWorldMap() {
-    return worldMap.clone();
+    return context.getWorldMap().clone();
+  }
+
+  /**
+   * Gets the tile object viewing a cell of the world's grid.
+   *
+   * @param index the index of the cell
+   * @return the tile object
+   */
+  public static TileWorldObject getWorldTile(int index) {
+    return context.getWorldTile(index);
+  }
+
+  private static ArrayList<TileWorldObject> getWorldTiles(CellSet cells) {
+    ArrayList<TileWorldObject> tiles = new ArrayList<>(cells.size());
+    for (int i = 0; i < cells.size(); i++) {
+      tiles.add(context.getWorldTile(cells.get(i)));
+    }
+    return tiles;
   }
 
   private static void renderTiles(WorldRenderer renderer, Camera camera) {
-    renderer.renderTiles(fertileTiles, camera);
-    renderer.renderTiles(aridTiles, camera);
-    renderer.renderTiles(plainTiles, camera);
-    renderer.renderTiles(waterTiles, camera);
+    for (ArrayList<GameObject> tiles : tilesByType) {
+      renderer.renderTiles(tiles, camera);
+    }
   }
 
   private static void createObjects(Camera camera) {
@@ -338,68 +381,109 @@ public class World {
   }
 
   private static void createTileObjects(float tileSize, Camera camera) {
-    // left edge = the position of the first tile in the X axis. Starting left most edge
-    float leftXEdge = calcLeftPos(MapGeneration.getLandMassSizeX(), tileSize);
-    // top edge = the position of the first tile in the Y axis. Starting at the top most edge
-    float topYEdge = calcTopPos(MapGeneration.getLandMassSizeY(), tileSize);
     // initialise 2d representation of the map
     tileModel = new RectangleModel(tileSize, tileSize);
     // create the select overlay
     selectOverlay = new GameObject(new RectangleMesh(tileModel, selectOverlayMaterial));
     selectOverlay.create();
-    worldMap = new TileWorldObject[MapGeneration.getMapSizeX()][MapGeneration.getMapSizeY()];
-    Tile[][] tileMap = MapGeneration.getSimulationMap();
-    for (int row = 0; row < MapGeneration.getMapSizeY(); row++) {
-      for (int column = 0; column < MapGeneration.getMapSizeX(); column++) {
-        // create a tileWorldObject
-        RectangleMesh tileMesh = new RectangleMesh(tileModel);
-        Tile tile = tileMap[row][column];
-        TileWorldObject tempTileWorldObject = new TileWorldObject(
-            new Vector3f(leftXEdge + (tileSize * (float) column),
-                topYEdge - (tileSize * (float) row), DEFAULT_Z), DEFAULT_ROTATION, DEFAULT_SCALE,
-            tileMesh, tile, row, column);
-        generateResources(tempTileWorldObject);
-        // assign tile ot the world map
-        worldMap[row][column] = tempTileWorldObject;
+    createWorldGrid(context);
+    TileWorldObject[][] worldMap = createWorldMap(context.getMapGeneration(), tileSize);
+    context.setWorldMap(worldMap);
+    for (TileWorldObject[] row : worldMap) {
+      for (TileWorldObject tileWorldObject : row) {
         // Create the Object
         if (!Game.isTraining()) {
-          tempTileWorldObject.create();
+          tileWorldObject.create();
         }
         // Add to Current Tile List
-        addTileObject(tempTileWorldObject);
+        addTileObject(tileWorldObject);
       }
     }
     // calculate the positions for the camera borders based on tiles in appropriate corners
     Vector2f botLeft = calcCentre(worldMap[worldMap.length - 1][0]);
-    Vector2f topRight = calcCentre(worldMap[0][worldMap.length - 1]);
+    Vector2f topRight = calcCentre(worldMap[0][worldMap[0].length - 1]);
     // set camera borders
     camera.setCameraBorder(botLeft, topRight);
   }
 
+  private static void createWorldGrid(SimulationContext context) {
+    MapGeneration mapGeneration = MapGeneration.createMap(context.getRandom());
+    context.setMapGeneration(mapGeneration);
+    // the simulation state of every tile
+    WorldGrid grid = mapGeneration.getGrid();
+    for (int index = 0; index < grid.size(); index++) {
+      generateResources(grid, index, context.getRandom());
+    }
+    context.setGrid(grid);
+  }
+
+  // the tile objects that render the grid, each a view over its cell
+  private static TileWorldObject[][] createWorldMap(MapGeneration mapGeneration,
+                                                    float tileSize) {
+    // left edge = the position of the first tile in the X axis. Starting left most edge
+    float leftXEdge = calcLeftPos(mapGeneration.getLandMassWidth(), tileSize);
+    // top edge = the position of the first tile in the Y axis. Starting at the top most edge
+    float topYEdge = calcTopPos(mapGeneration.getLandMassHeight(), tileSize);
+    WorldGrid grid = mapGeneration.getGrid();
+    TileWorldObject[][] worldMap = new TileWorldObject[grid.getHeight()][grid.getWidth()];
+    for (int row = 0; row < grid.getHeight(); row++) {
+      for (int column = 0; column < grid.getWidth(); column++) {
+        // create a tileWorldObject
+        RectangleMesh tileMesh = new RectangleMesh(tileModel);
+        Tile tile = Tile.of(grid.getTileType(grid.index(row, column)));
+        worldMap[row][column] = new TileWorldObject(
+            new Vector3f(leftXEdge + (tileSize * (float) column),
+                topYEdge - (tileSize * (float) row), DEFAULT_Z), DEFAULT_ROTATION, DEFAULT_SCALE,
+            tileMesh, tile, grid, row, column);
+      }
+    }
+    return worldMap;
+  }
+
   /**
    * Generate resources.
    *
    * @param tempTileWorldObject A TileWorldObject
    */
   public static void generateResources(TileWorldObject tempTileWorldObject) {
-    if (tempTileWorldObject.getTile() instanceof WaterTile) {
-      tempTileWorldObject.setFoodResource(genRandomInt(WATER_MAX_FOOD_RESOURCE));
-      tempTileWorldObject.setRawMaterialResource(WATER_MAX_RAW_MATERIALS);
-    } else if (tempTileWorldObject.getTile() instanceof FertileTile) {
-      tempTileWorldObject.setFoodResource(genRandomInt(FERTILE_MAX_FOOD_RESOURCE,
-          FERTILE_MIN_FOOD_RESOURCE));
-      tempTileWorldObject.setRawMaterialResource(genRandomInt(FERTILE_MAX_RAW_MATERIALS,
-          FERTILE_MIN_RAW_MATERIALS));
-    } else if (tempTileWorldObject.getTile() instanceof AridTile) {
-      tempTileWorldObject.setFoodResource(genRandomInt(ARID_MAX_FOOD_RESOURCE,
-          ARID_MIN_FOOD_RESOURCE));
-      tempTileWorldObject.setRawMaterialResource(genRandomInt(ARID_MAX_RAW_MATERIALS,
-          ARID_MIN_RAW_MATERIALS));
-    } else if (tempTileWorldObject.getTile() instanceof PlainTile) {
-      tempTileWorldObject.setFoodResource(genRandomInt(PLAIN_MAX_FOOD_RESOURCE,
-          PLAIN_MIN_FOOD_RESOURCE));
-      tempTileWorldObject.setRawMaterialResource(genRandomInt(PLAIN_MAX_RAW_MATERIALS,
-          PLAIN_MIN_RAW_MATERIALS));
+    generateResources(tempTileWorldObject, context.getRandom());
+  }
+
+  /**
+   * Generate resources.
+   *
+   * @param tempTileWorldObject A TileWorldObject
+   * @param random              the random the resources are drawn from
+   */
+  public static void generateResources(TileWorldObject tempTileWorldObject,
+                                       SplittableRandom random) {
+    generateResources(tempTileWorldObject.getGrid(), tempTileWorldObject.getIndex(), random);
+  }
+
+  private static void generateResources(WorldGrid grid, int index, SplittableRandom random) {
+    switch (grid.getTileType(index)) {
+      case WorldGrid.WATER:
+        grid.setFood(index, genRandomInt(random, WATER_MAX_FOOD_RESOURCE));
+        grid.setRawMaterials(index, WATER_MAX_RAW_MATERIALS);
+        break;
+      case WorldGrid.FERTILE:
+        grid.setFood(index, genRandomInt(random, FERTILE_MAX_FOOD_RESOURCE,
+            FERTILE_MIN_FOOD_RESOURCE));
+        grid.setRawMaterials(index, genRandomInt(random, FERTILE_MAX_RAW_MATERIALS,
+            FERTILE_MIN_RAW_MATERIALS));
+        break;
+      case WorldGrid.ARID:
+        grid.setFood(index, genRandomInt(random, ARID_MAX_FOOD_RESOURCE,
+            ARID_MIN_FOOD_RESOURCE));
+        grid.setRawMaterials(index, genRandomInt(random, ARID_MAX_RAW_MATERIALS,
+            ARID_MIN_RAW_MATERIALS));
+        break;
+      default:
+        grid.setFood(index, genRandomInt(random, PLAIN_MAX_FOOD_RESOURCE,
+            PLAIN_MIN_FOOD_RESOURCE));
+        grid.setRawMaterials(index, genRandomInt(random, PLAIN_MAX_RAW_MATERIALS,
+            PLAIN_MIN_RAW_MATERIALS));
+        break;
     }
   }
 
@@ -427,33 +511,30 @@ public class World {
   }
 
   private static void addTileObject(TileWorldObject object) {
-    Tile tile = object.getTile();
-    if (tile instanceof FertileTile) {
-      fertileTiles.add(object);
-    } else if (tile instanceof AridTile) {
-      aridTiles.add(object);
-    } else if (tile instanceof WaterTile) {
-      waterTiles.add(object);
-    } else {
-      plainTiles.add(object);
+    while (tilesByType.size() <= object.getTileType()) {
+      tilesByType.add(new ArrayList<>());
     }
+    tilesByType.get(object.getTileType()).add(object);
   }
 
-  public static int genRandomInt(int maxValue) {
-    Random r = new Random();
-    return r.nextInt(maxValue);
+  private static void clearTileObjects() {
+    tilesByType.clear();
+  }
+
+  public static int genRandomInt(SplittableRandom random, int maxValue) {
+    return random.nextInt(maxValue);
   }
 
   /**
    * Generate a random integer.
    *
+   * @param random   the random to draw from
    * @param maxValue the max value
    * @param minValue the min value
    * @return the int
    */
-  public static int genRandomInt(int maxValue, int minValue) {
-    Random r = new Random();
-    int val = r.nextInt(maxValue + 1);
+  public static int genRandomInt(SplittableRandom random, int maxValue, int minValue) {
+    int val = random.nextInt(maxValue + 1);
     return (val == minValue ? minValue : Math.max(val, minValue));
   }
 
@@ -467,7 +548,7 @@ public class World {
   public static void destroy() {
     // Destroy tile data
     if (!Game.isTraining()) {
-      for (TileWorldObject[] row : worldMap) {
+      for (TileWorldObject[] row : context.getWorldMap()) {
         for (TileWorldObject tile : row) {
           GameObject border = tile.getBorderObject();
           if (border != null) {
@@ -477,33 +558,30 @@ public class World {
         }
       }
     }
-    worldMap = null;
-    fertileTiles.clear();
-    waterTiles.clear();
-    aridTiles.clear();
-    plainTiles.clear();
+    context.setWorldMap(null);
+    clearTileObjects();
     selectOverlay.destroy();
     // Destroy Overlay
     selectOverlay.destroy();
     if (!Game.isTraining()) {
       ChoiceMenu.destroy();
     }
-    activeSocieties.clear();
-    activeSociety = null;
+    context.getActiveSocieties().clear();
+    context.setActiveSociety(null);
   }
 
-  private static void simulateBattle(Society attackingSociety,
-                                     TileWorldObject playerTile, TileWorldObject opponentTile) {
-    Society defendingSociety = opponentTile.getClaimedBy();
-    float attackSocietyA = calcAttack(attackingSociety, playerTile);
-    float attackSocietyB = calcAttack(defendingSociety, opponentTile);
+  private static void simulateBattle(SimulationContext context, Society attackingSociety,
+                                     int playerTile, int opponentTile) {
+    WorldGrid grid = context.getGrid();
+    Society defendingSociety = grid.getOwner(opponentTile);
+    float attackSocietyA = calcAttack(attackingSociety, grid, playerTile);
+    float attackSocietyB = calcAttack(defendingSociety, grid, opponentTile);
     float attackingSocietyHappinessModifier = 1f;
     float defendingSocietyHappinessModifier = 1f;
     if (attackSocietyA > attackSocietyB) {
       // SocietyA wins the battle
-      defendingSociety.getTerritory().remove(opponentTile);
-      attackingSociety.claimTile(opponentTile);
-      bordersAltered = true;
+      attackingSociety.claimCell(grid, opponentTile);
+      context.setBordersAltered(true);
       // apply limit to attackingSocietyModifier
       attackingSocietyHappinessModifier = attackingSociety.limitHappinessModifier(
           (attackingSocietyHappinessModifier + attackingSociety.getAverageAggressiveness()));
@@ -516,9 +594,8 @@ public class World {
 
     } else if (attackSocietyA < attackSocietyB) {
       // SocietyB wins the battle
-      attackingSociety.getTerritory().remove(playerTile);
-      defendingSociety.claimTile(playerTile);
-      bordersAltered = true;
+      defendingSociety.claimCell(grid, playerTile);
+      context.setBordersAltered(true);
       // decrease attacking society happiness
       attackingSociety.setHappiness(attackingSociety.getHappiness()
           * attackingSociety.getAverageAggressiveness());
@@ -529,43 +606,29 @@ public class World {
       defendingSociety.setHappiness(defendingSociety.getHappiness()
           * defendingSocietyHappinessModifier);
     }
-    purgeSocieties();
-    Game.setState(GameState.GAME_MAIN);
+    context.purgeSocieties();
   }
 
-  private static void purgeSocieties() {
-    List<Society> societiesToRemove = new ArrayList<>();
-    // Find Societies to remove if any
-    for (Society society : activeSocieties) {
-      if (society.getTerritory().size() < 1) {
-        societiesToRemove.add(society);
-      }
-    }
-    // Remove the societies
-    for (Society society : societiesToRemove) {
-      activeSocieties.remove(society);
-    }
-  }
-
-  private static float calcAttack(Society currentSociety, TileWorldObject worldTile) {
+  private static float calcAttack(Society currentSociety, WorldGrid grid, int worldTile) {
     // TODO NORMALISE THESE VALUES FOR THE PURPOSE OF BALANCING
     float armyAggressiveness = currentSociety.calcArmyAggression();
     float productionModifier = currentSociety.getAverageProductivity();
-    float tileModifier = worldTile.getTile().getAttackModifier();
+    float tileModifier = Tile.of(grid.getTileType(worldTile)).getAttackModifier();
     return armyAggressiveness * productionModifier * tileModifier;
   }
 
   public static Society getActiveSociety() {
-    return activeSociety;
+    return context.getActiveSociety();
   }
 
   public static void setActiveSociety(Society activeSociety) {
-    World.activeSociety = activeSociety;
+    context.setActiveSociety(activeSociety);
   }
 
-  private static int getMoveID(Society society) {
+  private static int getMoveID(SimulationContext context, Society society) {
+    ArrayList<Society> activeSocieties = context.getActiveSocieties();
     float largestPopulation = 1;
-    for (Society soc : getActiveSocieties()) {
+    for (Society soc : activeSocieties) {
       if (soc.getPopulation().size() > largestPopulation) {
         largestPopulation = soc.getPopulation().size();
       }
@@ -578,32 +641,32 @@ public class World {
     if (society.getDecisionClient() == null) {
       // Do random moves
       for (int i = 0; i < moveWeights.length; i++) {
-        moveWeights[i] = Math.random();
+        moveWeights[i] = context.getRandom().nextDouble();
       }
     } else {
       float sizeOfActiveSocieties = 1;
-      if (World.getActiveSocieties().size() - 1 > 0) {
-        sizeOfActiveSocieties = World.getActiveSocieties().size() - 1;
+      if (activeSocieties.size() - 1 > 0) {
+        sizeOfActiveSocieties = activeSocieties.size() - 1;
       }
       double[] inputs = new double[9];
       // Pass inputs
       inputs[0] = society.getAverageProductivity();
       inputs[1] = society.getAverageAggressiveness();
-      inputs[2] = society.getTerritory().size() / (float) (MapGeneration.getLandMassSizeX()
-          * MapGeneration.getLandMassSizeY());
+      MapGeneration mapGeneration = context.getMapGeneration();
+      inputs[2] = society.getTerritory().size() / (float) (mapGeneration.getLandMassWidth()
+          * mapGeneration.getLandMassHeight());
       inputs[3] = society.getPopulation().size() / largestPopulation;
-      inputs[4] = society.getArmy().size() / (float) society.getPopulation().size();
+      inputs[4] = society.getArmySize() / (float) society.getPopulation().size();
       inputs[5] = society.getTotalFoodResource()
           / (society.getPopulation().size() * Society.getFoodPerPerson());
       inputs[6] = society.getTotalRawMaterialResource()
           / (society.getPopulation().size() * Society.getMaterialPerPerson());
-      society.calculateNeighbouringSocieties();
       inputs[7] = society.getNeighbouringSocieties().size()
           / sizeOfActiveSocieties;
       inputs[8] = society.getTradingSocieties().size()
           / sizeOfActiveSocieties;
 
-      moveWeights = society.getDecisionClient().calculate(inputs);
+      society.getDecisionClient().calculate(inputs, moveWeights);
     }
 
     // Create a map that will map a move ID to its weight
@@ -626,7 +689,6 @@ public class World {
       if (move == 0) {
 
         // See if Claiming is possible
-        society.calculateClaimableTerritory();
         if (!society.getClaimableTerritory().isEmpty()) {
           break;
         } else {
@@ -635,9 +697,8 @@ public class World {
       } else if (move == 1) {
 
         // See if Warring is possible
-        // Get a list of valid tiles that we can attack
-        ArrayList<TileWorldObject> validTiles = society.getValidTilesToAttack();
-        if (!validTiles.isEmpty()) {
+        // There is a tile to attack if we border a society we are not trading with
+        if (society.canAttack()) {
           break;
         } else {
           society.incrementWrongMoves();
@@ -645,10 +706,7 @@ public class World {
       } else if (move == 2) {
 
         // See if Trading is possible
-        // calculate all possible societies you can trade with
-        society.calculateNeighbouringSocieties();
-        // Get a list of valid tiles that we can attack
-        ArrayList<TileWorldObject> validTiles = society.getValidTilesToAttack();
+        // the societies we border are the ones we can trade with
         if (!society.getNeighbouringSocieties().isEmpty()) {
           // find best candidate for trading
           float foodPerPerson = 0;
@@ -662,11 +720,11 @@ public class World {
               foodPerPerson = (float) soc.getTotalFoodResource() / soc.getPopulation().size();
               matsPerPerson = (float) soc.getTotalRawMaterialResource()
                   / soc.getPopulation().size();
-              bestTradingCandidate = soc;
+              context.setBestTradingCandidate(soc);
             }
           }
         }
-        if (bestTradingCandidate != null) {
+        if (context.getBestTradingCandidate() != null) {
           break;
         } else {
           society.incrementWrongMoves();
@@ -686,64 +744,34 @@ public class World {
    */
   public static void aiTurn(Society society) {
     if (!society.hasMadeMove() && Game.getState() != GameState.DEALING) {
+      Game.getNotificationTimer().setDuration(Game.isTraining() ? 0 : 2);
       // Get the turn ID;
-      int turnId = getMoveID(society);
+      int turnId = getMoveID(context, society);
       if (turnId == 2) {
         // TRADING
-        Game.getNotificationTimer().setDuration(Game.isTraining() ? 0 : 2);
-        TradeDeal tradeDeal = calculateTradeDeal(society, bestTradingCandidate);
+        TradeDeal tradeDeal = calculateTradeDeal(society, context.getBestTradingCandidate());
         if (tradeDeal.getSocietyB() == getActiveSocieties().get(0)
             && Game.getState() != GameState.GAME_PAUSE && !Game.isTraining()) {
           DealingMenu.setTradeDeal(tradeDeal);
           Game.setState(GameState.DEALING);
         } else {
           Game.setState(GameState.AI_DEALING);
-          boolean accepted = tradeDeal.getSocietyB().examineTradeDeal(tradeDeal);
-          if (accepted) {
-            tradeDeal.setEndTurnOfDeal(Hud.getTurn()
-                + TradingMenu.getDefaultLengthOfTradeDealInTurns());
-            tradeDeal.getSocietyA().activateTradeDeal(tradeDeal);
-            tradeDeal.getSocietyB().activateTradeDeal(tradeDeal);
-            tradeDeal.getSocietyA().setEndTurn(true);
-          }
+          proposeTradeDeal(context, tradeDeal);
           society.setMadeMove(true);
         }
       } else if (turnId == 1) {
         // WARRING
-        Game.getNotificationTimer().setDuration(Game.isTraining() ? 0 : 2);
-        // rank our possible tiles to attack with
-        ArrayList<TileWorldObject> attackingTiles = society.getAttackingTiles();
-        attackingTiles.sort((tile1, tile2)
-            -> (Float.compare(tile2.getAttackingDesirability(),
-            tile1.getAttackingDesirability())));
-        // pick the best tile to attack with
-        TileWorldObject attackingTile = attackingTiles.get(0);
-        // Pick the best tile to attack
-        society.calculateDefendingTiles(attackingTile);
-        TileWorldObject defendingTile = null;
-        for (TileWorldObject tile : society.getDefendingTiles()) {
-          if (defendingTile == null || tile.getDefendingDesirability(society)
-              > defendingTile.getDefendingDesirability(society)) {
-            defendingTile = tile;
-          }
-        }
-        assert defendingTile != null;
-        targetSociety = defendingTile.getClaimedBy();
-        simulateBattle(society, attackingTile, defendingTile);
+        attack(context, society);
         society.setMadeMove(true);
         Game.setState(GameState.AI_WAR);
       } else if (turnId == 0) {
         // CLAIMING
-        Game.getNotificationTimer().setDuration(Game.isTraining() ? 0 : 2);
-        TileWorldObject claimTile = calculateClaimTile(society);
-        society.claimTile(claimTile);
-        bordersAltered = true;
+        claim(context, society);
         updateSocietyBorders();
         society.setMadeMove(true);
         Game.setState(GameState.AI_CLAIM);
       } else {
         // NOTHING
-        Game.getNotificationTimer().setDuration(Game.isTraining() ? 0 : 2);
         Game.setState(GameState.AI_NOTHING);
         society.setMadeMove(true);
       }
@@ -755,6 +783,115 @@ public class World {
     }
   }
 
+  /**
+   * Make a move for an AI society in a headless simulation.
+   * Unlike {@link #aiTurn(Society)} this does not touch the game state, the notification timer or
+   * any menus, so it is safe to call for several simulations at once.
+   *
+   * @param context the simulation the society belongs to
+   * @param society the society
+   */
+  public static void aiTurn(SimulationContext context, Society society) {
+    int turnId = getMoveID(context, society);
+    if (turnId == 2) {
+      proposeTradeDeal(context, calculateTradeDeal(society, context.getBestTradingCandidate()));
+    } else if (turnId == 1) {
+      attack(context, society);
+    } else if (turnId == 0) {
+      claim(context, society);
+    }
+    society.setMadeMove(true);
+    society.setEndTurn(true);
+  }
+
+  private static void proposeTradeDeal(SimulationContext context, TradeDeal tradeDeal) {
+    boolean accepted = tradeDeal.getSocietyB().examineTradeDeal(tradeDeal);
+    if (accepted) {
+      tradeDeal.setEndTurnOfDeal(context.getTurn()
+          + TradingMenu.getDefaultLengthOfTradeDealInTurns());
+      tradeDeal.getSocietyA().activateTradeDeal(tradeDeal);
+      tradeDeal.getSocietyB().activateTradeDeal(tradeDeal);
+      tradeDeal.getSocietyA().setEndTurn(true);
+    }
+  }
+
+  private static void attack(SimulationContext context, Society society) {
+    WorldGrid grid = context.getGrid();
+    // rank our possible tiles to attack with
+    society.calculateAttackingTiles();
+    CellSet attackingTiles = society.getAttackingTiles();
+    // pick the best tile to attack with, the first of any that are equally good
+    int attackingTile = -1;
+    float bestAttacking = 0;
+    for (int i = 0; i < attackingTiles.size(); i++) {
+      float desirability = getAttackingDesirability(society, grid, attackingTiles.get(i));
+      if (attackingTile < 0 || Float.compare(desirability, bestAttacking) > 0) {
+        attackingTile = attackingTiles.get(i);
+        bestAttacking = desirability;
+      }
+    }
+    // Pick the best tile to attack
+    society.calculateDefendingTiles(attackingTile);
+    CellSet defendingTiles = society.getDefendingTiles();
+    int defendingTile = -1;
+    float bestDefending = 0;
+    for (int i = 0; i < defendingTiles.size(); i++) {
+      float desirability = getDefendingDesirability(society, grid, defendingTiles.get(i));
+      if (defendingTile < 0 || desirability > bestDefending) {
+        defendingTile = defendingTiles.get(i);
+        bestDefending = desirability;
+      }
+    }
+    assert defendingTile >= 0;
+    context.setTargetSociety(grid.getOwner(defendingTile));
+    simulateBattle(context, society, attackingTile, defendingTile);
+  }
+
+  /**
+   * Calculate the desirability of a tile to be attacked by a given society.
+   *
+   * @param society the attacking society
+   * @param grid    the grid
+   * @param tile    the index of the tile's cell
+   * @return the float
+   */
+  private static float getDefendingDesirability(Society society, WorldGrid grid, int tile) {
+    int popSize = society.getPopulation().size();
+    float foodRatio = society.getTotalFoodResource() / (popSize * Society.getFoodPerPerson());
+    float matRatio = society.getTotalRawMaterialResource()
+        / (popSize * Society.getMaterialPerPerson());
+    float armyRatio = grid.getOwner(tile).getArmySize() / (float) society.getArmySize();
+    return (((grid.getFood(tile) * foodRatio) + (grid.getRawMaterials(tile) * matRatio))
+        / Tile.of(grid.getTileType(tile)).getAttackModifier()) / armyRatio;
+  }
+
+  /**
+   * Gets the desirability of a society attacking with one of its tiles.
+   *
+   * @param society the society
+   * @param grid    the grid
+   * @param tile    the index of the tile's cell
+   * @return the attacking desirability
+   */
+  private static float getAttackingDesirability(Society society, WorldGrid grid, int tile) {
+    float bestScore = 0;
+    society.calculateDefendingTiles(tile);
+    CellSet defendingTiles = society.getDefendingTiles();
+    for (int i = 0; i < defendingTiles.size(); i++) {
+      float score = getDefendingDesirability(society, grid, defendingTiles.get(i));
+      if (score > bestScore) {
+        bestScore = score;
+      }
+    }
+    return (bestScore * Tile.of(grid.getTileType(tile)).getAttackModifier());
+  }
+
+  private static void claim(SimulationContext context, Society society) {
+    int claimTile = calculateClaimTile(context.getGrid(), society);
+    society.claimCell(context.getGrid(), claimTile);
+    context.setBordersAltered(true);
+  }
+
   private static TradeDeal calculateTradeDeal(Society currentPlayer, Society targetOfTradeDeal) {
     //initialise a new trade deal
     TradeDeal tradeDeal = new TradeDeal(0, 0, 0, 0);
@@ -804,12 +941,12 @@ public class World {
     return tradeDeal;
   }
 
-  private static TileWorldObject calculateClaimTile(Society society) {
-    ArrayList<TileWorldObject> claimable = society.getClaimableTerritory();
+  private static int calculateClaimTile(WorldGrid grid, Society society) {
+    CellSet claimable = society.getClaimableTerritory();
     float[] scores = new float[claimable.size()];
     // Get the score for each tile
     for (int i = 0; i < claimable.size(); i++) {
-      float score = calculateTileClaimScore(society, claimable.get(i));
+      float score = calculateTileClaimScore(society, grid, claimable.get(i));
       scores[i] = score;
     }
     // Get the highest score
@@ -818,7 +955,7 @@ public class World {
     return claimable.get(index);
   }
 
-  private static float calculateTileClaimScore(Society society, TileWorldObject tile) {
+  private static float calculateTileClaimScore(Society society, WorldGrid grid, int tile) {
     // Decides what tile the society would most want
     //Dictated by how much food they require, how much raw material they require;
     float foodWeight = (society.getPopulation().size() * Society.getFoodPerPerson())
@@ -827,12 +964,12 @@ public class World {
         / (society.getTotalRawMaterialResource() + 1);
     float tileAttackWeight = -(society.getAverageAge() / 100);
 
-    return (foodWeight * tile.getFoodResource())
-        + (materialWeight * tile.getRawMaterialResource())
-        + (tileAttackWeight * tile.getTile().getAttackModifier());
+    return (foodWeight * grid.getFood(tile))
+        + (materialWeight * grid.getRawMaterials(tile))
+        + (tileAttackWeight * Tile.of(grid.getTileType(tile)).getAttackModifier());
   }
 
   public static ArrayList<Society> getActiveSocieties() {
-    return activeSocieties;
+    return context.getActiveSocieties();
   }
 }
@@ -1,20 +1,33 @@
 package map;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import map.tiles.AridTile;
-import map.tiles.FertileTile;
-import map.tiles.PlainTile;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 import map.tiles.Tile;
-import map.tiles.WaterTile;
 
 /**
  * The type Map generator.
+ * The land mass is split into regions around seed points, one scattered in each square block of
+ * the land mass, and every cell takes the type of the nearest seed. The seeds are given types in
+ * the proportions of the tile amounts, so a map of any size keeps the mix of terrain, and the
+ * cells are written straight into a {@link WorldGrid}, a band of rows at a time in parallel.
  */
 public class MapGeneration {
 
   private static final int HORIZONTAL_WATER_PADDING = 2;
   private static final int VERTICAL_WATER_PADDING = 2;
+  // the side of the block of cells each region seed is scattered in
+  private static final int REGION_SIZE = 3;
+  // the rows filled by each task, and the smallest map worth filling in parallel
+  private static final int BAND_ROWS = 64;
+  private static final int PARALLEL_CELLS = 1 << 16;
+  // a squared distance beyond any seed that could be nearest
+  private static final int FAR = 1 << 20;
+  /* A seed's key is its squared distance from a cell, then a random tie break so that cells as
+  far from two seeds do not always go to the same type, then its type. */
+  private static final int TYPE_BITS = 2;
+  private static final int TIE_BITS = 4;
+  private static final int KEY_SHIFT = TYPE_BITS + TIE_BITS;
+  private static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
   /**
    * The Land mass size x.
    */
@@ -24,45 +37,76 @@ public class MapGeneration {
    */
   private static final int DEFAULT_LANDMASS_SIZE_Y = 10;
   /**
-   * The Number of land masses.
+   * The default tile amounts, the proportions of each type of tile in the land mass.
    */
   private static final int DEFAULT_AMOUNT_ARID_TILES = 30;
   private static final int DEFAULT_AMOUNT_FERTILE_TILES = 30;
   private static final int DEFAULT_AMOUNT_WATER_TILES = 15;
   private static final int DEFAULT_AMOUNT_PLAIN_TILES = 25;
+  private static int landMassSizeX = DEFAULT_LANDMASS_SIZE_X;
+  private static int landMassSizeY = DEFAULT_LANDMASS_SIZE_Y;
+  private static int amountOfAridTiles = DEFAULT_AMOUNT_ARID_TILES;
+  private static int amountOfFertileTiles = DEFAULT_AMOUNT_FERTILE_TILES;
+  private static int amountOfWaterTiles = DEFAULT_AMOUNT_WATER_TILES;
+  private static int amountOfPlainTiles = DEFAULT_AMOUNT_PLAIN_TILES;
   /**
-   * The Map of ordered tiles.
+   * The Random used to lay out the terrain.
    */
-  static Tile[][] simulationMap;
+  private final SplittableRandom random;
   /**
-   * The List of tiles.
+   * The Land mass width and height this map was generated with.
    */
-  private static ArrayList<Tile> tiles = new ArrayList<>();
+  private final int landMassWidth;
+  private final int landMassHeight;
   /**
-   * The Map size x.
+   * The Map size x, the number of columns including the water around the land mass.
    */
-  private static int mapSizeX;
+  private final int mapSizeX;
   /**
-   * The Map size y.
+   * The Map size y, the number of rows including the water around the land mass.
    */
-  private static int mapSizeY;
+  private final int mapSizeY;
   /**
-   * The Land mass maps.
+   * The tile type of every cell of the map.
    */
-  private static Tile[][] landMassMap;
-  private static int landMassSizeX = DEFAULT_LANDMASS_SIZE_X;
-  private static int landMassSizeY = DEFAULT_LANDMASS_SIZE_Y;
-  private static int amountOfAridTiles = DEFAULT_AMOUNT_ARID_TILES;
-  private static int amountOfFertileTiles = DEFAULT_AMOUNT_FERTILE_TILES;
-  private static int amountOfWaterTiles = DEFAULT_AMOUNT_WATER_TILES;
-  private static int amountOfPlainTiles = DEFAULT_AMOUNT_PLAIN_TILES;
+  private WorldGrid grid;
+  // the number of region blocks across and down the land mass
+  private int regionColumns;
+  private int regionRows;
+  // the type of each region, where its seed is within its block, and its tie break
+  private byte[] regionTypes;
+  private byte[] seedRows;
+  private byte[] seedColumns;
+  private byte[] seedTies;
 
-  public static ArrayList<Tile> getTiles() {
-    return tiles;
+  /**
+   * Instantiates a new Map generation using the current land mass size and tile amounts.
+   * Each instance holds its own map, so maps can be generated for several simulations at once.
+   *
+   * @param random the random used to lay out the terrain
+   */
+  public MapGeneration(SplittableRandom random) {
+    this.random = random;
+    this.landMassWidth = landMassSizeX;
+    this.landMassHeight = landMassSizeY;
+    this.mapSizeX = landMassWidth + HORIZONTAL_WATER_PADDING;
+    this.mapSizeY = landMassHeight + VERTICAL_WATER_PADDING;
   }
 
-  public static Tile[][] getlandMassMap() {
-    return landMassMap.clone();
+  public int getMapSizeX() {
+    return mapSizeX;
+  }
+
+  public int getMapSizeY() {
+    return mapSizeY;
+  }
+
+  public int getLandMassWidth() {
+    return landMassWidth;
+  }
+
+  public int getLandMassHeight() {
+    return landMassHeight;
   }
 
   public static int getAmountOfAridTiles() {
@@ -97,22 +141,6 @@ public class MapGeneration {
     MapGeneration.amountOfPlainTiles = amountOfPlainTiles;
   }
 
-  public static int getMapSizeX() {
-    return mapSizeX;
-  }
-
-  public static void setMapSizeX(int mapSizeX) {
-    MapGeneration.mapSizeX = mapSizeX;
-  }
-
-  public static int getMapSizeY() {
-    return mapSizeY;
-  }
-
-  public static void setMapSizeY(int mapSizeY) {
-    MapGeneration.mapSizeY = mapSizeY;
-  }
-
   public static int getLandMassSizeX() {
     return landMassSizeX;
   }
@@ -129,137 +157,184 @@ public class MapGeneration {
     MapGeneration.landMassSizeY = landMassSizeY;
   }
 
+  /**
+   * Create map with a new unseeded random.
+   *
+   * @return the map generation holding the new map
+   * @see #createMap(SplittableRandom) #createMap(SplittableRandom)
+   */
+  public static MapGeneration createMap() {
+    return createMap(new SplittableRandom());
+  }
+
   /**
    * Create map.
-   * Generates landMass tiles in accordance to the tiles provided.
-   * Shuffles them to create random terrain.
-   * sets the simulationMap to the joining of the landMasses.
+   * Lays out the land mass in regions of the tile types, in proportion to the tile amounts
+   * provided, surrounded by a ridge of water.
+   *
+   * @param random the random used to lay out the terrain
+   * @return the map generation holding the new map
    */
-  public static void createMap() {
-    generateTiles();
-    Collections.shuffle(tiles);
-    landMassMap = generateLandMass();
-    setSimulationMap();
-  }
-
-  private static void generateTiles() {
-    tiles.clear();
-    // stores the amount of tiles that are suppose to be in a land mass
-    int reservedNumberOfTiles = landMassSizeX * landMassSizeY;
-    // stores the amount of tiles that are provided to us.
-    int actualNumberOfTiles = amountOfAridTiles + amountOfFertileTiles
-        + amountOfPlainTiles + amountOfWaterTiles;
-    // Check if the amounts are equal
-    if ((reservedNumberOfTiles != actualNumberOfTiles)) {
-      throw new AssertionError("Number of reserved Tiles does not equal the Actual "
-          + "number of tiles provided.\nActual Tiles = " + actualNumberOfTiles + "\n"
-          + "Reserved Tiles = " + reservedNumberOfTiles);
+  public static MapGeneration createMap(SplittableRandom random) {
+    MapGeneration mapGeneration = new MapGeneration(random);
+    mapGeneration.generate();
+    return mapGeneration;
+  }
+
+  private void generate() {
+    int[] amounts = new int[4];
+    amounts[WorldGrid.ARID] = amountOfAridTiles;
+    amounts[WorldGrid.FERTILE] = amountOfFertileTiles;
+    amounts[WorldGrid.PLAIN] = amountOfPlainTiles;
+    amounts[WorldGrid.WATER] = amountOfWaterTiles;
+    long totalAmount = 0;
+    for (int amount : amounts) {
+      if (amount < 0) {
+        throw new AssertionError("Tile amounts cannot be negative");
+      }
+      totalAmount += amount;
     }
-    // initialise the tiles and add them to a single array
-    for (int i = 0; i < amountOfAridTiles; i++) {
-      Tile tile = new AridTile();
-      tiles.add(tile);
+    if (landMassWidth <= 0 || landMassHeight <= 0 || totalAmount == 0) {
+      throw new AssertionError("A land mass needs a size and some tiles.\n"
+          + "Land mass size = " + landMassWidth + "x" + landMassHeight + "\n"
+          + "Tiles provided = " + totalAmount);
     }
-
-    for (int i = 0; i < amountOfFertileTiles; i++) {
-      Tile tile = new FertileTile();
-      tiles.add(tile);
+    regionColumns = (landMassWidth + REGION_SIZE - 1) / REGION_SIZE;
+    regionRows = (landMassHeight + REGION_SIZE - 1) / REGION_SIZE;
+    generateRegions(amounts, totalAmount);
+    grid = new WorldGrid(mapSizeX, mapSizeY);
+    int bands = (mapSizeY + BAND_ROWS - 1) / BAND_ROWS;
+    IntStream stream = IntStream.range(0, bands);
+    if ((long) mapSizeX * mapSizeY >= PARALLEL_CELLS) {
+      stream = stream.parallel();
     }
-
-    for (int i = 0; i < amountOfPlainTiles; i++) {
-      Tile tile = new PlainTile();
-      tiles.add(tile);
+    // every cell only depends on the regions, so the bands can be filled in any order
+    stream.forEach(band -> fillRows(band * BAND_ROWS, Math.min(mapSizeY, (band + 1) * BAND_ROWS)));
+  }
+
+  // share the regions between the tile types in proportion to their amounts, then shuffle them
+  private void generateRegions(int[] amounts, long totalAmount) {
+    int regions = regionColumns * regionRows;
+    int[] counts = new int[amounts.length];
+    long[] remainders = new long[amounts.length];
+    int assigned = 0;
+    for (int type = 0; type < amounts.length; type++) {
+      long share = (long) amounts[type] * regions;
+      counts[type] = (int) (share / totalAmount);
+      remainders[type] = share % totalAmount;
+      assigned += counts[type];
     }
-
-    for (int i = 0; i < amountOfWaterTiles; i++) {
-      Tile tile = new WaterTile();
-      tiles.add(tile);
-    }
-
-  }
-
-  /**
-   * Sets the mapSizeX.
-   * Sets the mapSizeY.
-   */
-  public static void setSimulationMap() {
-    /* This function adds all the previously made terrain onto a single canvas
-    it does so by adding the terrain one by one to a newly constructed 2d array
-    each landmass has the same dimensions so we know that each land mass will be
-    a distance equal to the previous landmass length away from the leftmost edge of the 2d array
-    to create some padding we also add a layer of water between each landmass */
-
-    // Sets the overall size of the Canvas(Map)
-    mapSizeX = landMassSizeX + HORIZONTAL_WATER_PADDING;
-    mapSizeY = landMassSizeY + VERTICAL_WATER_PADDING;
-    simulationMap = new Tile[mapSizeY][mapSizeX];
-
-    /* Since its a 2d array we will consider each row to be y co-ord and each column to be x
-    This means the top right corner is the point (y0,x0)
-    y comes first as when accessing the array we will be accessing the row first
-    and column second. */
-
-    setUpPadding();
-    setUpLandMass();
-
-  }
-
-  private static void setUpPadding() {
-    // this for loop creates the outer ridge of water
-    for (int y = 0; y < mapSizeY; y++) {
-      for (int x = 0; x < mapSizeX; x++) {
-        if (x == 0 | x == mapSizeX - 1 | y == 0 | y == mapSizeY - 1) {
-          Tile edgeTile = new WaterTile();
-          simulationMap[y][x] = edgeTile;
+    // the regions left over go to the types that lost the most to rounding down
+    for (; assigned < regions; assigned++) {
+      int largest = 0;
+      for (int type = 1; type < amounts.length; type++) {
+        if (remainders[type] > remainders[largest]) {
+          largest = type;
         }
       }
+      counts[largest]++;
+      remainders[largest] = -1;
     }
-  }
-
-  private static void setUpLandMass() {
-    // y position of the landmass
-    int landMassYPos = 0;
-    for (int y = 1; y < landMassSizeY + 1; y++) {
-      // x position of the landmass
-      int landMassXPos = 0;
-      for (int x = HORIZONTAL_WATER_PADDING - 1;
-           x < landMassSizeY + HORIZONTAL_WATER_PADDING - 1; x++) {
-        /* places a tile from a landMass in the appropriate y,x co-ords
-        the x co-ord is calculated depending on which land mass we're working with
-        if were working with land mass 1 the x co-ord will be
-        length of landmass * landMassPointer(0) + i
-        i = (landMassPointer(0) + 1 (accommodate for water padding)) */
-        simulationMap[y][x] = landMassMap[landMassYPos][landMassXPos];
-        landMassXPos++;
+    regionTypes = new byte[regions];
+    int region = 0;
+    for (byte type = 0; type < counts.length; type++) {
+      for (int i = 0; i < counts[type]; i++) {
+        regionTypes[region++] = type;
       }
-      landMassYPos++;
     }
-
-
+    for (int i = regions - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      byte type = regionTypes[i];
+      regionTypes[i] = regionTypes[j];
+      regionTypes[j] = type;
+    }
+    seedRows = new byte[regions];
+    seedColumns = new byte[regions];
+    seedTies = new byte[regions];
+    for (int i = 0; i < regions; i++) {
+      seedRows[i] = (byte) random.nextInt(REGION_SIZE);
+      seedColumns[i] = (byte) random.nextInt(REGION_SIZE);
+      seedTies[i] = (byte) random.nextInt(1 << TIE_BITS);
+    }
   }
 
-  /* Generates a list of LandMasses
-  LandMass is a 2d array of tiles which represent the different land masses */
-  private static Tile[][] generateLandMass() {
-    int tileCounter = 0;
-    Tile[][] currentLandMass = new Tile[landMassSizeX][landMassSizeY];
-    for (int i = 0; i < landMassSizeY; i++) {
-      for (int j = 0; j < landMassSizeX; j++) {
-        currentLandMass[i][j] = tiles.get(tileCounter);
-        tileCounter++;
+  private void fillRows(int fromRow, int toRow) {
+    /* The seeds that can be nearest a cell of the current row, the three in each column of
+    blocks from the block row above to the one below, with an empty column either side of the
+    land mass. The nine seeds around a block are then next to each other. */
+    int candidates = (regionColumns + 2) * 3;
+    int[] rowKeys = new int[candidates];
+    int[] seedColumnPositions = new int[candidates];
+    for (int row = fromRow; row < toRow; row++) {
+      int rowStart = grid.index(row, 0);
+      if (row == 0 || row == mapSizeY - 1) {
+        // the outer ridge of water
+        for (int column = 0; column < mapSizeX; column++) {
+          grid.setTileType(rowStart + column, WorldGrid.WATER);
+        }
+        continue;
+      }
+      grid.setTileType(rowStart, WorldGrid.WATER);
+      grid.setTileType(rowStart + mapSizeX - 1, WorldGrid.WATER);
+      int landRow = row - 1;
+      int regionRow = landRow / REGION_SIZE;
+      for (int c = -1; c <= regionColumns; c++) {
+        for (int k = 0; k < 3; k++) {
+          int candidate = (c + 1) * 3 + k;
+          int r = regionRow - 1 + k;
+          if (c < 0 || c >= regionColumns || r < 0 || r >= regionRows) {
+            // too far away to ever be the nearest
+            rowKeys[candidate] = FAR << KEY_SHIFT;
+            seedColumnPositions[candidate] = Math.max(0, c * REGION_SIZE);
+            continue;
+          }
+          int region = r * regionColumns + c;
+          int rowDistance = r * REGION_SIZE + seedRows[region] - landRow;
+          rowKeys[candidate] = rowDistance * rowDistance << KEY_SHIFT
+              | seedTies[region] << TYPE_BITS | regionTypes[region];
+          seedColumnPositions[candidate] = c * REGION_SIZE + seedColumns[region];
+        }
+      }
+      // a seed is never more than a block from its own, so the nearest is in a block beside it
+      for (int c = 0; c < regionColumns; c++) {
+        int end = Math.min(landMassWidth, (c + 1) * REGION_SIZE);
+        for (int landColumn = c * REGION_SIZE; landColumn < end; landColumn++) {
+          // the smallest key is the nearest seed, found without branching on each distance
+          int nearest = Integer.MAX_VALUE;
+          for (int candidate = c * 3; candidate < c * 3 + 9; candidate++) {
+            int columnDistance = seedColumnPositions[candidate] - landColumn;
+            nearest = Math.min(nearest,
+                rowKeys[candidate] + (columnDistance * columnDistance << KEY_SHIFT));
+          }
+          grid.setTileType(rowStart + landColumn + 1, (byte) (nearest & TYPE_MASK));
+        }
       }
     }
-    return currentLandMass;
+  }
 
+  /**
+   * Gets the grid holding the tile type of every cell of the map.
+   * Its width is {@link #getMapSizeX()} and its height {@link #getMapSizeY()}.
+   *
+   * @return the grid
+   */
+  public WorldGrid getGrid() {
+    return grid;
   }
 
   /**
-   * Get map of ordered tiles tile [ ] [ ].
+   * Get map of ordered tiles tile [ ] [ ], holding the shared tile of every cell's type.
    *
-   * @return The 2d Array representation of the map. Tile[][].
+   * @return The 2d Array representation of the map, indexed by row then column. Tile[][].
    */
-  public static Tile[][] getSimulationMap() {
-    return simulationMap.clone();
+  public Tile[][] getSimulationMap() {
+    Tile[][] simulationMap = new Tile[mapSizeY][mapSizeX];
+    for (int row = 0; row < mapSizeY; row++) {
+      for (int column = 0; column < mapSizeX; column++) {
+        simulationMap[row][column] = Tile.of(grid.getTileType(grid.index(row, column)));
+      }
+    }
+    return simulationMap;
   }
 
   /**
@@ -0,0 +1,183 @@
+package map;
+
+import java.util.ArrayList;
+import society.Society;
+
+/**
+ * The simulation state of every tile of a map, held in primitive arrays laid out row by row.
+ * Each cell has the id of the society that owns it, its tile type, its food and raw material
+ * resources and its terrain health, so checking the tiles around a cell reads a few neighbouring
+ * array entries instead of following references between tile objects. The tile objects that are
+ * rendered are views over a cell of the grid, and their tile types are shared instances.
+ */
+public class WorldGrid {
+  public static final byte ARID = 0;
+  public static final byte FERTILE = 1;
+  public static final byte PLAIN = 2;
+  public static final byte WATER = 3;
+  // the id of a cell that no society owns
+  private static final short UNCLAIMED = 0;
+
+  private final int width;
+  private final int height;
+  private final short[] owners;
+  private final byte[] tileTypes;
+  private final byte[] food;
+  private final byte[] rawMaterials;
+  private final float[] terrainHealth;
+  // the society with each owner id, ids are handed out as societies first claim a cell
+  private final ArrayList<Society> societies = new ArrayList<>();
+
+  /**
+   * Instantiates a new World grid with every cell unclaimed.
+   *
+   * @param width  the number of columns
+   * @param height the number of rows
+   */
+  public WorldGrid(int width, int height) {
+    this.width = width;
+    this.height = height;
+    this.owners = new short[width * height];
+    this.tileTypes = new byte[width * height];
+    this.food = new byte[width * height];
+    this.rawMaterials = new byte[width * height];
+    this.terrainHealth = new float[width * height];
+    societies.add(null);
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public int getHeight() {
+    return height;
+  }
+
+  public int size() {
+    return owners.length;
+  }
+
+  public int index(int row, int column) {
+    return row * width + column;
+  }
+
+  public int getRow(int index) {
+    return index / width;
+  }
+
+  public int getColumn(int index) {
+    return index % width;
+  }
+
+  /**
+   * Whether a cell is inside the edge of the map, the edge cells are never claimed.
+   *
+   * @param index the index of the cell
+   * @return the boolean
+   */
+  public boolean isInterior(int index) {
+    int row = getRow(index);
+    int column = getColumn(index);
+    return row > 0 && row < height - 1 && column > 0 && column < width - 1;
+  }
+
+  /**
+   * Gets the index of the cell beside another.
+   *
+   * @param index      the index of the cell
+   * @param rowStep    the rows to move, -1, 0 or 1
+   * @param columnStep the columns to move, -1, 0 or 1
+   * @return the index of the cell beside it, or -1 if that is off the map
+   */
+  public int step(int index, int rowStep, int columnStep) {
+    int row = getRow(index) + rowStep;
+    int column = getColumn(index) + columnStep;
+    if (row < 0 || row >= height || column < 0 || column >= width) {
+      return -1;
+    }
+    return index + rowStep * width + columnStep;
+  }
+
+  /**
+   * Gets the owner id of a society, giving it one if it has not owned a cell of this grid yet.
+   * The id is cached by the society, so it is only looked up when the society was last given an
+   * id by another grid.
+   *
+   * @param society the society
+   * @return the owner id
+   */
+  public short ownerId(Society society) {
+    if (society == null) {
+      return UNCLAIMED;
+    }
+    short cached = society.getOwnerId(this);
+    if (cached != UNCLAIMED) {
+      return cached;
+    }
+    int id = societies.indexOf(society);
+    if (id < 0) {
+      id = societies.size();
+      if (id > Short.MAX_VALUE) {
+        throw new IllegalStateException("Too many societies own cells of this grid");
+      }
+      societies.add(society);
+    }
+    society.setOwnerId(this, (short) id);
+    return (short) id;
+  }
+
+  public short getOwnerId(int index) {
+    return owners[index];
+  }
+
+  public boolean isClaimed(int index) {
+    return owners[index] != UNCLAIMED;
+  }
+
+  public Society getOwner(int index) {
+    return societies.get(owners[index]);
+  }
+
+  public void setOwner(int index, Society society) {
+    owners[index] = ownerId(society);
+  }
+
+  public byte getTileType(int index) {
+    return tileTypes[index];
+  }
+
+  public void setTileType(int index, byte tileType) {
+    tileTypes[index] = tileType;
+  }
+
+  public int getFood(int index) {
+    return food[index];
+  }
+
+  public void setFood(int index, int food) {
+    this.food[index] = toByte(food);
+  }
+
+  public int getRawMaterials(int index) {
+    return rawMaterials[index];
+  }
+
+  public void setRawMaterials(int index, int rawMaterials) {
+    this.rawMaterials[index] = toByte(rawMaterials);
+  }
+
+  public float getTerrainHealth(int index) {
+    return terrainHealth[index];
+  }
+
+  public void setTerrainHealth(int index, float terrainHealth) {
+    this.terrainHealth[index] = terrainHealth;
+  }
+
+  private static byte toByte(int value) {
+    if (value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+      throw new IllegalArgumentException("Resource value out of range: " + value);
+    }
+    return (byte) value;
+  }
+}
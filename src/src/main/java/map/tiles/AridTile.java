@@ -1,11 +1,20 @@
 package map.tiles;
 
 import engine.graphics.image.Image;
+import map.WorldGrid;
 
 public class AridTile extends Tile {
   private static Image image = new Image("/images/aridTile.jpg");
 
   private static float attackModifier = 1.2f;
+  private static final AridTile INSTANCE = new AridTile();
+
+  private AridTile() {
+  }
+
+  public static AridTile getInstance() {
+    return INSTANCE;
+  }
 
 
   @Override
@@ -22,4 +31,13 @@ public class AridTile extends Tile {
     return image;
   }
 
+  @Override
+  public byte getType() {
+    return WorldGrid.ARID;
+  }
+
+  @Override
+  public String getName() {
+    return "Arid Tile";
+  }
 }
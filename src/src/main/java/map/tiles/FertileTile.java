@@ -1,11 +1,20 @@
 package map.tiles;
 
 import engine.graphics.image.Image;
+import map.WorldGrid;
 
 public class FertileTile extends Tile {
   private static Image image = new Image("/images/fertileTile.jpg");
 
   private static float attackModifier = 1f;
+  private static final FertileTile INSTANCE = new FertileTile();
+
+  private FertileTile() {
+  }
+
+  public static FertileTile getInstance() {
+    return INSTANCE;
+  }
 
 
   @Override
@@ -21,4 +30,14 @@ public class FertileTile extends Tile {
   public Image getImage() {
     return image;
   }
+
+  @Override
+  public byte getType() {
+    return WorldGrid.FERTILE;
+  }
+
+  @Override
+  public String getName() {
+    return "Fertile Tile";
+  }
 }
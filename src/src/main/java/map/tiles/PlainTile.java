@@ -1,11 +1,20 @@
 package map.tiles;
 
 import engine.graphics.image.Image;
+import map.WorldGrid;
 
 public class PlainTile extends Tile {
   private static Image tileImage = new Image("/images/plainTile.jpg");
 
   private static float attackModifier = 1.1f;
+  private static final PlainTile INSTANCE = new PlainTile();
+
+  private PlainTile() {
+  }
+
+  public static PlainTile getInstance() {
+    return INSTANCE;
+  }
 
   @Override
   public float getAttackModifier() {
@@ -20,5 +29,13 @@ public class PlainTile extends Tile {
     return tileImage;
   }
 
+  @Override
+  public byte getType() {
+    return WorldGrid.PLAIN;
+  }
 
+  @Override
+  public String getName() {
+    return "Plain Tile";
+  }
 }
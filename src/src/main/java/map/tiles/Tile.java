@@ -2,45 +2,32 @@ package map.tiles;
 
 
 import engine.graphics.image.Image;
+import map.WorldGrid;
 
-
+/**
+ * A type of tile. There is one shared instance of each type, everything that differs between the
+ * cells of a map, like their resources and terrain health, is held in its {@link WorldGrid}.
+ */
 public abstract class Tile {
   private static Image image = new Image();
-  private float positionX;
-  private float positionY;
-  private float terrainHealth;
-
-  public float getPositionX() {
-    return positionX;
-  }
-
-  public void setPositionX(float positionX) {
-    this.positionX = positionX;
-  }
-
-  public float getPositionY() {
-    return positionY;
-  }
-
-  public void setPositionY(float positionY) {
-    this.positionY = positionY;
-  }
 
-  public float[] getPositions() {
-    return new float[] {positionX, positionY};
-  }
-
-  public void setPositions(float positionX, float positionY) {
-    this.positionX = positionX;
-    this.positionY = positionY;
-  }
-
-  public float getTerrainHealth() {
-    return terrainHealth;
-  }
-
-  public void setTerrainHealth(float terrainHealth) {
-    this.terrainHealth = terrainHealth;
+  /**
+   * Gets the shared tile of a tile type.
+   *
+   * @param tileType the tile type, as stored in a {@link WorldGrid}
+   * @return the tile
+   */
+  public static Tile of(byte tileType) {
+    switch (tileType) {
+      case WorldGrid.ARID:
+        return AridTile.getInstance();
+      case WorldGrid.FERTILE:
+        return FertileTile.getInstance();
+      case WorldGrid.WATER:
+        return WaterTile.getInstance();
+      default:
+        return PlainTile.getInstance();
+    }
   }
 
   public Image getImage() {
@@ -48,4 +35,13 @@ public abstract class Tile {
   }
 
   public abstract float getAttackModifier();
+
+  /**
+   * Gets the tile type, as stored in a {@link WorldGrid}.
+   *
+   * @return the tile type
+   */
+  public abstract byte getType();
+
+  public abstract String getName();
 }
@@ -1,10 +1,19 @@
 package map.tiles;
 
 import engine.graphics.image.Image;
+import map.WorldGrid;
 
 public class WaterTile extends Tile {
   private static Image image = new Image("/images/waterTile.png");
   private static float attackModifier = 0.9f;
+  private static final WaterTile INSTANCE = new WaterTile();
+
+  private WaterTile() {
+  }
+
+  public static WaterTile getInstance() {
+    return INSTANCE;
+  }
 
   public Image getImage() {
     return image;
@@ -19,5 +28,13 @@ public class WaterTile extends Tile {
     WaterTile.attackModifier = attackModifier;
   }
 
+  @Override
+  public byte getType() {
+    return WorldGrid.WATER;
+  }
 
-}
\ No newline at end of file
+  @Override
+  public String getName() {
+    return "Water Tile";
+  }
+}
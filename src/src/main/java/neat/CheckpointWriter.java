@@ -0,0 +1,141 @@
+package neat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Writes checkpoints of a neat on a background thread, so training carries on while they are
+ * written. Each checkpoint is a {@link NeatSnapshot} taken on the training thread, and is moved
+ * over the checkpoint file once it is complete. Snapshots waiting to be written are held in a
+ * bounded queue, if the writer falls that far behind {@link #submit(Neat)} waits for it.
+ * A checkpoint that fails to be written does not stop the ones after it, the first failure is
+ * thrown from the next {@link #flush()} or {@link #close()}.
+ */
+public class CheckpointWriter implements Closeable {
+  private final Path path;
+  private final GenerationLog history;
+  private final BlockingQueue<Runnable> queue;
+  private final Thread thread;
+  // the number of snapshots submitted but not yet written
+  private int pending;
+  private boolean running = true;
+  // the first failure since the last flush or close, which it is thrown from
+  private IOException failure;
+
+  /**
+   * Instantiates a new Checkpoint writer and starts its thread.
+   *
+   * @param path     the path the checkpoints are written to
+   * @param history  the log each snapshot is also recorded in, or null to not record them
+   * @param capacity the most snapshots that can wait to be written
+   */
+  public CheckpointWriter(Path path, GenerationLog history, int capacity) {
+    this.path = path;
+    this.history = history;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.thread = new Thread(this::run, "checkpoint-writer");
+    this.thread.setDaemon(true);
+    this.thread.start();
+  }
+
+  private void run() {
+    while (running) {
+      try {
+        queue.take().run();
+      } catch (InterruptedException e) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Take a snapshot of a neat and queue it to be written.
+   *
+   * @param neat the neat
+   * @throws InterruptedException if interrupted while waiting for space in the queue
+   */
+  public void submit(Neat neat) throws InterruptedException {
+    NeatSnapshot snapshot = new NeatSnapshot(neat);
+    synchronized (this) {
+      pending++;
+    }
+    try {
+      queue.put(() -> {
+        try {
+          write(snapshot);
+        } catch (IOException | RuntimeException e) {
+          failed(e);
+        } finally {
+          written();
+        }
+      });
+    } catch (InterruptedException e) {
+      written();
+      throw e;
+    }
+  }
+
+  private void write(NeatSnapshot snapshot) throws IOException {
+    NeatCheckpoint.write(path, snapshot);
+    if (history != null) {
+      history.append(snapshot);
+    }
+  }
+
+  private synchronized void failed(Exception e) {
+    if (failure == null) {
+      failure = e instanceof IOException ? (IOException) e
+          : new IOException("Checkpoint was not written", e);
+    }
+  }
+
+  private synchronized void written() {
+    pending--;
+    notifyAll();
+  }
+
+  /**
+   * Wait until every submitted snapshot has been written.
+   *
+   * @throws InterruptedException if interrupted while waiting
+   * @throws IOException          if a snapshot failed to be written since the last flush
+   */
+  public void flush() throws InterruptedException, IOException {
+    awaitWritten();
+    throwFailure();
+  }
+
+  private synchronized void awaitWritten() throws InterruptedException {
+    while (pending > 0) {
+      wait();
+    }
+  }
+
+  private synchronized void throwFailure() throws IOException {
+    IOException e = failure;
+    failure = null;
+    if (e != null) {
+      throw e;
+    }
+  }
+
+  /**
+   * Write the remaining snapshots and stop the thread.
+   *
+   * @throws IOException if a snapshot failed to be written since the last flush
+   */
+  @Override
+  public void close() throws IOException {
+    try {
+      awaitWritten();
+      queue.put(() -> running = false);
+      thread.join();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    throwFailure();
+  }
+}
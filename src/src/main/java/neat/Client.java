@@ -3,20 +3,46 @@ package neat;
 import java.io.Serializable;
 import neat.calculations.Calculator;
 import neat.genomes.Genome;
+import neat.genomes.PackedGenome;
 
 public class Client implements Serializable {
 
   //default serialVersion id
   private static final long serialVersionUID = 1L;
 
-  private Calculator calculator;
+  // not saved with the client, it is rebuilt from the genome when first used
+  private transient Calculator calculator;
+  // the versions of the genome the calculator was built and last updated from
+  private transient int calculatorStructureVersion;
+  private transient int calculatorVersion;
 
   private Genome genome;
+  // the genome packed for speciation and breeding, built when first needed
+  private transient PackedGenome packedGenome;
   private double score;
   private Species species;
+  // the order this client joined its species in, breaking ties between equal scores
+  private transient int joinOrder;
 
   public void generateCalculator() {
     this.calculator = new Calculator(genome);
+    this.calculatorStructureVersion = genome.getStructureVersion();
+    this.calculatorVersion = genome.getVersion();
+  }
+
+  /**
+   * Bring the calculator up to date with the genome.
+   * It is rebuilt if the genome's structure has changed since it was built, and if only weights
+   * have changed they are copied into it. This is done whenever the client calculates, but is not
+   * thread safe, so clients used by several threads at once should be updated up front.
+   */
+  public void updateCalculator() {
+    if (calculator == null || calculatorStructureVersion != genome.getStructureVersion()) {
+      generateCalculator();
+    } else if (calculatorVersion != genome.getVersion()) {
+      calculator.updateWeights(genome);
+      calculatorVersion = genome.getVersion();
+    }
   }
 
   /**
@@ -26,18 +52,69 @@ public class Client implements Serializable {
    * @return the double [ ]
    */
   public double[] calculate(double... input) {
-    if (this.calculator == null) {
-      generateCalculator();
-    }
+    updateCalculator();
     return this.calculator.calculate(input);
   }
 
+  /**
+   * Calculate the outputs for this client's genome into the given array.
+   *
+   * @param input  the input
+   * @param output the array the outputs are written to
+   */
+  public void calculate(double[] input, double[] output) {
+    updateCalculator();
+    this.calculator.calculate(input, output);
+  }
+
+  /**
+   * Calculate the outputs for this client's genome for a batch of inputs.
+   *
+   * @param inputs the inputs, one row per sample
+   * @return the outputs of every sample, flattened row by row
+   */
+  public double[] calculateBatch(double[][] inputs) {
+    updateCalculator();
+    return this.calculator.calculateBatch(inputs);
+  }
+
+  /**
+   * Calculate the outputs for this client's genome for a batch of inputs stored row by row.
+   *
+   * @param inputs  the inputs, a multiple of the input size long
+   * @param outputs the array the outputs are written to row by row
+   */
+  public void calculateBatch(double[] inputs, double[] outputs) {
+    updateCalculator();
+    this.calculator.calculateBatch(inputs, outputs);
+  }
+
   public double distance(Client other) {
-    return this.getGenome().distance(other.getGenome());
+    return this.getPackedGenome().distance(other.getPackedGenome());
   }
 
+  /**
+   * Mutate the genome.
+   * The calculator is brought up to date when it is next used.
+   */
   public void mutate() {
-    getGenome().mutate();
+    int version = genome.getVersion();
+    genome.mutate();
+    if (genome.getVersion() != version) {
+      packedGenome = null;
+    }
+  }
+
+  /**
+   * Gets the packed form of this client's genome.
+   *
+   * @return the packed genome
+   */
+  public PackedGenome getPackedGenome() {
+    if (packedGenome == null) {
+      packedGenome = new PackedGenome(genome);
+    }
+    return packedGenome;
   }
 
   public Calculator getCalculator() {
@@ -50,14 +127,27 @@ public class Client implements Serializable {
 
   public void setGenome(Genome genome) {
     this.genome = genome;
+    this.packedGenome = null;
+    this.calculator = null;
   }
 
   public double getScore() {
     return score;
   }
 
+  /**
+   * Sets score, keeping the ranking of this client's species up to date.
+   *
+   * @param score the score
+   */
   public void setScore(double score) {
+    if (species != null) {
+      species.unrank(this);
+    }
     this.score = score;
+    if (species != null) {
+      species.rank(this);
+    }
   }
 
   public Species getSpecies() {
@@ -67,4 +157,12 @@ public class Client implements Serializable {
   public void setSpecies(Species species) {
     this.species = species;
   }
-}
\ No newline at end of file
+
+  int getJoinOrder() {
+    return joinOrder;
+  }
+
+  void setJoinOrder(int joinOrder) {
+    this.joinOrder = joinOrder;
+  }
+}
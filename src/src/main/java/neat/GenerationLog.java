@@ -0,0 +1,319 @@
+package neat;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * An append-only log of every generation of a neat, kept in a memory mapped file.
+ * Each generation is recorded as a {@link NeatCheckpoint} of the neat's genomes, species and
+ * scores, so any generation can be read back as a neat to resume or analyse it. Records are
+ * written straight into the mapped file, and only the position of each record is kept in memory.
+ *
+ * <p>The file starts with the {@link #MAGIC} number and version. Each record is the generation
+ * number, the length of the checkpoint and the checkpoint, and the log ends with a length of
+ * zero. A record's checkpoint and the new end are forced to the disk before its length is
+ * written, and the length is forced after, so a record cut short by a crash has a length of zero
+ * and is written over by the next one.
+ */
+public class GenerationLog implements Closeable {
+
+  public static final int MAGIC = 0x4E47454E;
+  public static final int VERSION = 1;
+
+  private static final int HEADER_SIZE = 2 * Integer.BYTES;
+  private static final int RECORD_HEADER_SIZE = 2 * Integer.BYTES;
+  // how much of the file is mapped ahead of the records at a time
+  private static final int MAP_SIZE = 1 << 24;
+
+  private final FileChannel channel;
+  // the generation and position of each record, in the order they were written
+  private int[] generations = new int[16];
+  private long[] offsets = new long[16];
+  private int size;
+  // where the next record is written
+  private long end;
+
+  private MappedByteBuffer map;
+  // the position in the file the map starts at
+  private long mapStart;
+
+  /**
+   * Opens a log, creating it if it does not exist.
+   * The records of an existing log are found by following their lengths through the file.
+   *
+   * @param path the path
+   * @throws IOException the io exception, also thrown if the file is not a generation log
+   */
+  public GenerationLog(Path path) throws IOException {
+    channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+        StandardOpenOption.WRITE);
+    if (channel.size() == 0) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+      header.flip();
+      channel.write(header, 0);
+      end = HEADER_SIZE;
+    } else {
+      readRecords();
+    }
+  }
+
+  private void readRecords() throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+    readFully(header, 0);
+    if (header.getInt(0) != MAGIC) {
+      channel.close();
+      throw new IOException("Not a generation log");
+    }
+    if (header.getInt(Integer.BYTES) != VERSION) {
+      channel.close();
+      throw new IOException("Unsupported generation log version " + header.getInt(4));
+    }
+    long fileSize = channel.size();
+    long position = HEADER_SIZE;
+    ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+    while (position + RECORD_HEADER_SIZE <= fileSize) {
+      record.clear();
+      readFully(record, position);
+      int length = record.getInt(Integer.BYTES);
+      if (length <= 0 || position + RECORD_HEADER_SIZE + length > fileSize) {
+        // the end of the log, or a record that was never finished
+        break;
+      }
+      addRecord(record.getInt(0), position);
+      position += RECORD_HEADER_SIZE + length;
+    }
+    end = position;
+  }
+
+  private void readFully(ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IOException("Generation log ended early");
+      }
+    }
+  }
+
+  private void addRecord(int generation, long offset) {
+    if (size == generations.length) {
+      generations = Arrays.copyOf(generations, size * 2);
+      offsets = Arrays.copyOf(offsets, size * 2);
+    }
+    generations[size] = generation;
+    offsets[size] = offset;
+    size++;
+  }
+
+  /**
+   * Record the neat as the generation after the last one in the log.
+   *
+   * @param neat the neat
+   * @return the generation number it was recorded as, starting from 1
+   * @throws IOException the io exception
+   */
+  public int append(Neat neat) throws IOException {
+    return append(new NeatSnapshot(neat));
+  }
+
+  /**
+   * Record a snapshot of a neat as the generation after the last one in the log.
+   *
+   * @param snapshot the snapshot
+   * @return the generation number it was recorded as, starting from 1
+   * @throws IOException the io exception
+   */
+  public synchronized int append(NeatSnapshot snapshot) throws IOException {
+    int generation = size == 0 ? 1 : generations[size - 1] + 1;
+    long offset = end;
+    MappedOutput out = new MappedOutput(offset + RECORD_HEADER_SIZE);
+    NeatCheckpoint.write(out, snapshot);
+    long length = out.position - offset - RECORD_HEADER_SIZE;
+    if (length > Integer.MAX_VALUE) {
+      throw new IOException("Generation " + generation + " is too large to record");
+    }
+
+    // mark the end of the log, in case the file was longer than its records
+    ensureMapped(out.position, RECORD_HEADER_SIZE);
+    map.putInt((int) (out.position - mapStart) + Integer.BYTES, 0);
+    map.force();
+
+    // Commit the record by writing its length once everything before it is on the disk
+    ensureMapped(offset, RECORD_HEADER_SIZE);
+    int at = (int) (offset - mapStart);
+    map.putInt(at, generation);
+    map.putInt(at + Integer.BYTES, (int) length);
+    map.force();
+
+    addRecord(generation, offset);
+    end = out.position;
+    return generation;
+  }
+
+  // map the part of the file from the given position if it is not mapped already, which
+  // makes the file longer if needed. The part mapped before is forced first, as it is dropped
+  private void ensureMapped(long position, int bytes) throws IOException {
+    if (map != null && position >= mapStart && position + bytes <= mapStart + map.capacity()) {
+      return;
+    }
+    if (map != null) {
+      map.force();
+    }
+    mapStart = position;
+    map = channel.map(FileChannel.MapMode.READ_WRITE, position, Math.max(MAP_SIZE, bytes));
+  }
+
+  /**
+   * Read a generation back as a neat.
+   * The neat is given a new unseeded random.
+   *
+   * @param generation the generation
+   * @return the neat
+   * @throws IOException the io exception, also thrown if the generation is not in the log
+   */
+  public synchronized Neat read(int generation) throws IOException {
+    int index = indexOf(generation);
+    if (index < 0) {
+      throw new IOException("Generation " + generation + " is not in the log");
+    }
+    long offset = offsets[index];
+    long next = index + 1 < size ? offsets[index + 1] : end;
+    // the checkpoint is read straight from the mapped file
+    MappedByteBuffer record = channel.map(FileChannel.MapMode.READ_ONLY,
+        offset + RECORD_HEADER_SIZE, next - offset - RECORD_HEADER_SIZE);
+    return NeatCheckpoint.read(new BufferInput(record));
+  }
+
+  // generations are appended in order, so the records can be searched by generation
+  private int indexOf(int generation) {
+    return Arrays.binarySearch(generations, 0, size, generation);
+  }
+
+  public synchronized boolean contains(int generation) {
+    return indexOf(generation) >= 0;
+  }
+
+  public synchronized int size() {
+    return size;
+  }
+
+  /**
+   * Gets the first generation in the log.
+   *
+   * @return the generation, or 0 if the log is empty
+   */
+  public synchronized int getFirstGeneration() {
+    return size == 0 ? 0 : generations[0];
+  }
+
+  /**
+   * Gets the last generation in the log.
+   *
+   * @return the generation, or 0 if the log is empty
+   */
+  public synchronized int getLastGeneration() {
+    return size == 0 ? 0 : generations[size - 1];
+  }
+
+  /**
+   * Write the mapped records out to the disk.
+   */
+  public synchronized void force() {
+    if (map != null) {
+      map.force();
+    }
+  }
+
+  /**
+   * Write the records out and close the log, cutting off the space mapped past the last record.
+   *
+   * @throws IOException the io exception
+   */
+  @Override
+  public synchronized void close() throws IOException {
+    force();
+    map = null;
+    try {
+      channel.truncate(end);
+    } catch (IOException e) {
+      // some systems refuse to truncate a file that is still mapped, the end is marked anyway
+    }
+    channel.close();
+  }
+
+  /**
+   * Writes a checkpoint into the mapped file, mapping more of it as the checkpoint grows.
+   */
+  private final class MappedOutput implements WritableByteChannel {
+    private long position;
+
+    private MappedOutput(long position) {
+      this.position = position;
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+      int written = src.remaining();
+      while (src.hasRemaining()) {
+        ensureMapped(position, 1);
+        int at = (int) (position - mapStart);
+        int count = Math.min(src.remaining(), map.capacity() - at);
+        ByteBuffer chunk = src.duplicate();
+        chunk.limit(chunk.position() + count);
+        map.position(at);
+        map.put(chunk);
+        src.position(src.position() + count);
+        position += count;
+      }
+      return written;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+
+  /**
+   * Reads a checkpoint out of a mapped record.
+   */
+  private static final class BufferInput implements ReadableByteChannel {
+    private final ByteBuffer buffer;
+
+    private BufferInput(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read(ByteBuffer dst) {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int count = Math.min(dst.remaining(), buffer.remaining());
+      ByteBuffer chunk = buffer.duplicate();
+      chunk.limit(chunk.position() + count);
+      dst.put(chunk);
+      buffer.position(buffer.position() + count);
+      return count;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return true;
+    }
+
+    @Override
+    public void close() {
+    }
+  }
+}
@@ -0,0 +1,168 @@
+package neat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import neat.genomes.PackedGenome;
+
+/**
+ * Several populations evolved alongside each other, each on its own thread.
+ * The islands share their node and connection innovations, so genomes from any island can be
+ * compared and crossed over, but each has its own clients, species and random. Every few
+ * generations the best genomes of each island migrate to the next island in a ring, replacing
+ * its worst. A model with a single island evolves it exactly as {@link Neat#evolve()} does.
+ */
+public class IslandModel {
+  private final Neat[] islands;
+  private final int migrationInterval;
+  private final int migrants;
+  private final ExecutorService executor;
+  private int generation;
+
+  /**
+   * Instantiates a new Island model, growing new islands beside an existing population.
+   * The new islands have as many clients as the first and are given randoms split from its
+   * random, so they are seeded whenever the first island is.
+   *
+   * @param first             the first island
+   * @param islandCount       the number of islands
+   * @param migrationInterval the number of generations between migrations
+   * @param migrants          the number of genomes each island sends in a migration
+   */
+  public IslandModel(Neat first, int islandCount, int migrationInterval, int migrants) {
+    if (islandCount < 1 || migrationInterval < 1 || migrants < 0) {
+      throw new IllegalArgumentException("Invalid island model");
+    }
+    this.islands = new Neat[islandCount];
+    this.migrationInterval = migrationInterval;
+    // an island always keeps at least one of its own clients
+    this.migrants = Math.min(migrants, first.getMaxClients() - 1);
+    islands[0] = first;
+    for (int i = 1; i < islandCount; i++) {
+      islands[i] = new Neat(first, first.getMaxClients(), first.getRandom().split());
+    }
+    if (islandCount > 1) {
+      // each island has a thread to itself, so its speciation is done on that thread
+      for (Neat island : islands) {
+        island.setParallelSpeciation(false);
+      }
+      this.executor = Executors.newFixedThreadPool(islandCount, runnable -> {
+        Thread thread = new Thread(runnable, "island");
+        thread.setDaemon(true);
+        return thread;
+      });
+    } else {
+      this.executor = null;
+    }
+  }
+
+  /**
+   * Evolves every island by one generation, after migrating genomes between them if one is due.
+   * The clients of every island should have been scored.
+   */
+  public void evolve() {
+    generation++;
+    if (islands.length == 1) {
+      islands[0].evolve();
+      return;
+    }
+    if (generation % migrationInterval == 0) {
+      migrate();
+    }
+    List<Callable<Void>> tasks = new ArrayList<>();
+    for (Neat island : islands) {
+      tasks.add(() -> {
+        island.evolve();
+        return null;
+      });
+    }
+    try {
+      for (Future<Void> future : executor.invokeAll(tasks)) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Evolution was interrupted", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("An island failed to evolve", e.getCause());
+    }
+  }
+
+  /**
+   * Copy the best genomes of each island over the worst clients of the next island.
+   * Every island's emigrants are chosen before any arrive, and keep their scores.
+   */
+  void migrate() {
+    if (migrants == 0) {
+      return;
+    }
+    PackedGenome[][] genomes = new PackedGenome[islands.length][migrants];
+    double[][] scores = new double[islands.length][migrants];
+    for (int i = 0; i < islands.length; i++) {
+      List<Client> best = byScore(islands[i]);
+      for (int j = 0; j < migrants; j++) {
+        Client c = best.get(best.size() - 1 - j);
+        genomes[i][j] = c.getPackedGenome();
+        scores[i][j] = c.getScore();
+      }
+    }
+    for (int i = 0; i < islands.length; i++) {
+      Neat target = islands[(i + 1) % islands.length];
+      List<Client> worst = byScore(target);
+      for (int j = 0; j < migrants; j++) {
+        Client c = worst.get(j);
+        c.setGenome(genomes[i][j].toGenome(target));
+        c.setScore(scores[i][j]);
+      }
+    }
+  }
+
+  // the island's clients from the lowest score to the highest
+  private static List<Client> byScore(Neat island) {
+    List<Client> clients = new ArrayList<>(island.getClients().getData());
+    clients.sort(Comparator.comparingDouble(Client::getScore));
+    return clients;
+  }
+
+  /**
+   * Gets the best client of any island.
+   *
+   * @return the best client
+   */
+  public Client getBestClient() {
+    Client best = null;
+    for (Neat island : islands) {
+      Client c = island.getBestClient();
+      if (best == null || (c != null && c.getScore() > best.getScore())) {
+        best = c;
+      }
+    }
+    return best;
+  }
+
+  public Neat getIsland(int index) {
+    return islands[index];
+  }
+
+  public int size() {
+    return islands.length;
+  }
+
+  public int getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Stop the island threads.
+   */
+  public void shutdown() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+}
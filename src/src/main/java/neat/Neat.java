@@ -1,12 +1,20 @@
 package neat;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 import neat.genomes.ConnectionGene;
 import neat.genomes.Genome;
+import neat.genomes.InnovationRegistry;
 import neat.genomes.NodeGene;
 import neat.genomes.RandomHashSet;
 import neat.genomes.RandomSelector;
+import neat.metrics.TrainingMetrics;
 
 public class Neat implements Serializable {
   //NEAT code referenced from https://www.youtube.com/watch?v=vvSjJZDPQVc
@@ -16,36 +24,73 @@ public class Neat implements Serializable {
   //default serialVersion id
   private static final long serialVersionUID = 1L;
 
-  private static final double C1 = 1;
-  private static final double C2 = 1;
-  private static final double C3 = 1;
-  private static final double CP = 4;
+  // the hyperparameters, the population's shape is held in the fields below
+  private NeatConfig config = new NeatConfig();
 
-  private static final double WEIGHT_SHIFT_STRENGTH = 0.3;
-  private static final double WEIGHT_RANDOM_STRENGTH = 1;
-
-  private static final double SURVIVOR_PERCENTAGE = 0.8;
-
-  private static final double PROBABILITY_MUTATE_LINK = 0.05;
-  private static final double PROBABILITY_MUTATE_NODE = 0.05;
-  private static final double PROBABILITY_MUTATE_WEIGHT_SHIFT = 0.05;
-  private static final double PROBABILITY_MUTATE_WEIGHT_RANDOM = 0.05;
-  private static final double PROBABILITY_MUTATE_TOGGLE_LINK = 0.02;
-
-  private HashMap<ConnectionGene, ConnectionGene> allConnections = new HashMap<>();
+  // the node and connection innovations, shared by every island of an island model and so only
+  // used while holding the registry's lock
+  private InnovationRegistry innovations = new InnovationRegistry();
   private RandomHashSet<NodeGene> allNodes = new RandomHashSet<>();
 
   private RandomHashSet<Client> clients = new RandomHashSet<>();
   private RandomHashSet<Species> species = new RandomHashSet<>();
+  private boolean parallelSpeciation = false;
+  // not saved with the neat, a loaded neat is given a new unseeded random
+  private transient SplittableRandom random;
 
   private int maxClients;
   private int outputSize;
   private int inputSize;
 
   public Neat(int inputSize, int outputSize, int clients) {
+    this(inputSize, outputSize, clients, new SplittableRandom());
+  }
+
+  /**
+   * Instantiates a new Neat whose every random decision is drawn from the given random.
+   *
+   * @param inputSize  the input size
+   * @param outputSize the output size
+   * @param clients    the clients
+   * @param random     the random
+   */
+  public Neat(int inputSize, int outputSize, int clients, SplittableRandom random) {
+    this.random = random;
     this.reset(inputSize, outputSize, clients);
   }
 
+  /**
+   * Instantiates a new Neat with the hyperparameters and population shape of a config.
+   *
+   * @param config the config, which is copied
+   * @param random the random
+   */
+  public Neat(NeatConfig config, SplittableRandom random) {
+    this.random = random;
+    this.config = new NeatConfig(config);
+    this.reset(config.getInputSize(), config.getOutputSize(), config.getClients());
+  }
+
+  /**
+   * Instantiates a new Neat that shares its node and connection innovations with another, so
+   * that genomes from either can be compared and crossed over. Used for the islands of an
+   * {@link IslandModel}, which may evolve at the same time.
+   *
+   * @param shared  the neat to share innovations with
+   * @param clients the clients
+   * @param random  the random
+   */
+  public Neat(Neat shared, int clients, SplittableRandom random) {
+    this.random = random;
+    this.config = shared.config;
+    this.innovations = shared.innovations;
+    this.allNodes = shared.allNodes;
+    this.inputSize = shared.inputSize;
+    this.outputSize = shared.outputSize;
+    this.maxClients = clients;
+    createClients();
+  }
+
   /**
    * Gets a new connection.
    *
@@ -69,14 +114,10 @@ public class Neat implements Serializable {
    */
   public ConnectionGene getConnection(NodeGene node1, NodeGene node2) {
     ConnectionGene connectionGene = new ConnectionGene(node1, node2);
-
-    if (allConnections.containsKey(connectionGene)) {
-      connectionGene.setInnovationNumber(allConnections.get(connectionGene).getInnovationNumber());
-    } else {
-      connectionGene.setInnovationNumber(allConnections.size() + 1);
-      allConnections.put(connectionGene, connectionGene);
+    synchronized (innovations) {
+      connectionGene.setInnovationNumber(
+          innovations.register(node1.getInnovationNumber(), node2.getInnovationNumber()));
     }
-
     return connectionGene;
   }
 
@@ -105,24 +146,29 @@ public class Neat implements Serializable {
     this.outputSize = outputSize;
     this.maxClients = clients;
 
-    allConnections.clear();
-    allNodes.clear();
-    this.clients.clear();
+    synchronized (innovations) {
+      innovations.clear();
+      allNodes.clear();
 
-    // Make the Input Nodes with their own unique innovation number
-    for (int i = 0; i < inputSize; i++) {
-      NodeGene n = getNode();
-      n.setX(0.1);
-      n.setY((i + 1) / (double) (inputSize + 1));
-    }
+      // Make the Input Nodes with their own unique innovation number
+      for (int i = 0; i < inputSize; i++) {
+        NodeGene n = getNode();
+        n.setX(0.1);
+        n.setY((i + 1) / (double) (inputSize + 1));
+      }
 
-    // Make the Output Nodes with their own unique innovation number
-    for (int i = 0; i < outputSize; i++) {
-      NodeGene n = getNode();
-      n.setX(0.9);
-      n.setY((i + 1) / (double) (outputSize + 1));
+      // Make the Output Nodes with their own unique innovation number
+      for (int i = 0; i < outputSize; i++) {
+        NodeGene n = getNode();
+        n.setX(0.9);
+        n.setY((i + 1) / (double) (outputSize + 1));
+      }
     }
+    createClients();
+  }
 
+  private void createClients() {
+    this.clients.clear();
     for (int i = 0; i < maxClients; i++) {
       // Make a new client
       Client c = new Client();
@@ -138,8 +184,18 @@ public class Neat implements Serializable {
     return clients.get(index);
   }
 
+  /**
+   * Sets replace index.
+   *
+   * @param node1 the node 1
+   * @param node2 the node 2
+   * @param index the index
+   */
   public void setReplaceIndex(NodeGene node1, NodeGene node2, int index) {
-    allConnections.get(new ConnectionGene(node1, node2)).setReplaceIndex(index);
+    synchronized (innovations) {
+      innovations.setReplaceIndex(node1.getInnovationNumber(), node2.getInnovationNumber(),
+          index);
+    }
   }
 
   /**
@@ -151,12 +207,33 @@ public class Neat implements Serializable {
    * @return the replace index
    */
   public int getReplaceIndex(NodeGene node1, NodeGene node2) {
-    ConnectionGene con = new ConnectionGene(node1, node2);
-    ConnectionGene data = allConnections.get(con);
-    if (data == null) {
-      return 0;
+    synchronized (innovations) {
+      return innovations.getReplaceIndex(node1.getInnovationNumber(),
+          node2.getInnovationNumber());
+    }
+  }
+
+  /**
+   * Gets the node placed in the middle of a connection when it is split.
+   * The first time a connection is split a new node is made halfway along it, and every later
+   * split of the same connection, by any genome, is given the same node.
+   *
+   * @param from the node the connection starts at
+   * @param to   the node the connection ends at
+   * @return the middle node
+   */
+  public NodeGene getMiddleNode(NodeGene from, NodeGene to) {
+    synchronized (innovations) {
+      int replaceIndex = getReplaceIndex(from, to);
+      if (replaceIndex != 0) {
+        return getNode(replaceIndex);
+      }
+      NodeGene middle = getNode();
+      middle.setX((from.getX() + to.getX()) / 2);
+      middle.setY((from.getY() + to.getY()) / 2 + random.nextDouble() * 0.1 - 0.05);
+      setReplaceIndex(from, to, middle.getInnovationNumber());
+      return middle;
     }
-    return data.getReplaceIndex();
   }
 
   /**
@@ -165,9 +242,11 @@ public class Neat implements Serializable {
    * @return the node
    */
   public NodeGene getNode() {
-    NodeGene n = new NodeGene(allNodes.size() + 1);
-    allNodes.add(n);
-    return n;
+    synchronized (innovations) {
+      NodeGene n = new NodeGene(allNodes.size() + 1);
+      allNodes.add(n);
+      return n;
+    }
   }
 
   /**
@@ -177,25 +256,33 @@ public class Neat implements Serializable {
    * @return the node
    */
   public NodeGene getNode(int id) {
-    if (id <= allNodes.size()) {
-      return allNodes.get(id - 1);
+    synchronized (innovations) {
+      if (id <= allNodes.size()) {
+        return allNodes.get(id - 1);
+      }
+      return getNode();
     }
-    return getNode();
   }
 
   /**
-   * Evolves the network.
+   * Evolves the network, recording how long each phase takes in the training metrics.
    */
   public void evolve() {
+    TrainingMetrics metrics = TrainingMetrics.getInstance();
+    long start = System.nanoTime();
     genSpecies();
+    long speciated = System.nanoTime();
+    metrics.recordPhase(TrainingMetrics.Phase.SPECIATE, speciated - start);
     kill();
     removeExtinctSpecies();
+    long killed = System.nanoTime();
+    metrics.recordPhase(TrainingMetrics.Phase.KILL, killed - speciated);
     reproduce();
+    long reproduced = System.nanoTime();
+    metrics.recordPhase(TrainingMetrics.Phase.REPRODUCE, reproduced - killed);
     mutate();
-    // Make a new calculator for the new genomes of each client
-    for (Client c : clients.getData()) {
-      c.generateCalculator();
-    }
+    metrics.recordPhase(TrainingMetrics.Phase.MUTATE, System.nanoTime() - reproduced);
+    // Each client's calculator is rebuilt or updated when next used, if its genome changed
   }
 
   private void reproduce() {
@@ -209,7 +296,7 @@ public class Neat implements Serializable {
     for (Client c : clients.getData()) {
       if (c.getSpecies() == null) {
         // Select a random species
-        Species s = selector.random();
+        Species s = selector.random(random);
         // crossover two random clients from this species together and
         // make this the genome of the client
         c.setGenome(s.breed());
@@ -235,7 +322,7 @@ public class Neat implements Serializable {
       if (species.get(i).size() <= 1) {
         // Go extinct and remove
         species.get(i).goExtinct();
-        species.remove(i);
+        species.swapRemove(i);
       }
     }
   }
@@ -246,24 +333,27 @@ public class Neat implements Serializable {
       s.reset();
     }
 
-    for (Client c : clients.getData()) {
-      if (c.getSpecies() != null) {
-        continue;
-      }
-
+    if (parallelSpeciation) {
+      genSpeciesInParallel();
+    } else {
+      for (Client c : clients.getData()) {
+        if (c.getSpecies() != null) {
+          continue;
+        }
 
-      boolean found = false;
-      // Try to add a client into an existing species
-      for (Species s : species.getData()) {
-        if (s.put(c)) {
-          found = true;
-          break;
+        boolean found = false;
+        // Try to add a client into an existing species
+        for (Species s : species.getData()) {
+          if (s.put(c)) {
+            found = true;
+            break;
+          }
         }
-      }
 
-      // If the client does not match any species make a new species
-      if (!found) {
-        species.add(new Species(c));
+        // If the client does not match any species make a new species
+        if (!found) {
+          species.add(new Species(c));
+        }
       }
     }
 
@@ -273,57 +363,130 @@ public class Neat implements Serializable {
     }
   }
 
+  /**
+   * Assigns the clients to species in the same way as the serial path.
+   * The species each client first fits from the species that already exist is found in
+   * parallel, then the clients are assigned in order, so that clients which fit none of them are
+   * compared against the species created before them.
+   */
+  private void genSpeciesInParallel() {
+    ArrayList<Client> data = clients.getData();
+    int existingSpecies = species.size();
+    // Pack the representatives up front, as they are shared between the threads
+    for (Species s : species.getData()) {
+      s.getRepresentative().getPackedGenome();
+    }
+    int[] matches = new int[data.size()];
+    IntStream.range(0, data.size()).parallel()
+        .forEach(i -> matches[i] = findSpecies(data.get(i), 0, existingSpecies));
+
+    for (int i = 0; i < data.size(); i++) {
+      Client c = data.get(i);
+      if (c.getSpecies() != null) {
+        continue;
+      }
+      int match = matches[i];
+      if (match < 0) {
+        match = findSpecies(c, existingSpecies, species.size());
+      }
+      if (match < 0) {
+        species.add(new Species(c));
+      } else {
+        species.get(match).forcePut(c);
+      }
+    }
+  }
+
+  // the index of the first species in the range the client is similar enough to, or -1
+  private int findSpecies(Client c, int from, int to) {
+    if (c.getSpecies() != null) {
+      return -1;
+    }
+    for (int i = from; i < to; i++) {
+      if (c.distance(species.get(i).getRepresentative()) < config.getCP()) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
   private void kill() {
     // For each species
     for (Species s : species.getData()) {
       //remove a percentage of clients with the lowest scores
-      s.kill(1 - SURVIVOR_PERCENTAGE);
+      s.kill(1 - config.getSurvivorPercentage());
     }
   }
 
   public double getCP() {
-    return CP;
+    return config.getCP();
   }
 
   public double getC1() {
-    return C1;
+    return config.getC1();
   }
 
   public double getC2() {
-    return C2;
+    return config.getC2();
   }
 
   public double getC3() {
-    return C3;
+    return config.getC3();
   }
 
-
   public double getWeightShiftStrength() {
-    return WEIGHT_SHIFT_STRENGTH;
+    return config.getWeightShiftStrength();
   }
 
   public double getWeightRandomStrength() {
-    return WEIGHT_RANDOM_STRENGTH;
+    return config.getWeightRandomStrength();
+  }
+
+  public double getSurvivorPercentage() {
+    return config.getSurvivorPercentage();
   }
 
   public double getProbabilityMutateLink() {
-    return PROBABILITY_MUTATE_LINK;
+    return config.getProbabilityMutateLink();
   }
 
   public double getProbabilityMutateNode() {
-    return PROBABILITY_MUTATE_NODE;
+    return config.getProbabilityMutateNode();
   }
 
   public double getProbabilityMutateWeightShift() {
-    return PROBABILITY_MUTATE_WEIGHT_SHIFT;
+    return config.getProbabilityMutateWeightShift();
   }
 
   public double getProbabilityMutateWeightRandom() {
-    return PROBABILITY_MUTATE_WEIGHT_RANDOM;
+    return config.getProbabilityMutateWeightRandom();
   }
 
   public double getProbabilityMutateToggleLink() {
-    return PROBABILITY_MUTATE_TOGGLE_LINK;
+    return config.getProbabilityMutateToggleLink();
+  }
+
+  /**
+   * Gets a copy of this neat's config, with its current population shape.
+   *
+   * @return the config
+   */
+  public NeatConfig getConfig() {
+    NeatConfig copy = new NeatConfig(config);
+    copy.setInputSize(inputSize);
+    copy.setOutputSize(outputSize);
+    copy.setClients(maxClients);
+    return copy;
+  }
+
+  /**
+   * Sets the hyperparameters, the population's shape is kept.
+   * Islands sharing innovations with this neat keep their own hyperparameters.
+   *
+   * @param config the config, which is copied
+   */
+  public void setConfig(NeatConfig config) {
+    this.config = new NeatConfig(config);
   }
 
   public int getOutputSize() {
@@ -334,6 +497,29 @@ public class Neat implements Serializable {
     return inputSize;
   }
 
+  public int getMaxClients() {
+    return maxClients;
+  }
+
+  void setMaxClients(int maxClients) {
+    this.maxClients = maxClients;
+  }
+
+  RandomHashSet<NodeGene> getAllNodes() {
+    return allNodes;
+  }
+
+  InnovationRegistry getInnovations() {
+    return innovations;
+  }
+
+  public boolean isParallelSpeciation() {
+    return parallelSpeciation;
+  }
+
+  public void setParallelSpeciation(boolean parallelSpeciation) {
+    this.parallelSpeciation = parallelSpeciation;
+  }
 
   public RandomHashSet<Species> getSpecies() {
     return species;
@@ -363,20 +549,99 @@ public class Neat implements Serializable {
 
       // From the best species get the fittest client
       assert bestSpecies != null;
-      for (Client client : bestSpecies.getClients().getData()) {
-        if (bestClient == null || client.getScore() > bestClient.getScore()) {
-          bestClient = client;
-        }
-      }
+      bestClient = bestSpecies.getBestClient();
     } else {
       // Pick a random client
-      bestClient = clients.randomElement();
+      bestClient = clients.randomElement(random);
     }
 
     return bestClient;
   }
 
   public Client getRandomClient() {
-    return clients.randomElement();
+    return clients.randomElement(random);
+  }
+
+  /**
+   * Gets a random client using the given random.
+   * Used by simulations running alongside each other, which each have their own random.
+   *
+   * @param random the random
+   * @return the client
+   */
+  public Client getRandomClient(SplittableRandom random) {
+    return clients.randomElement(random);
+  }
+
+  public SplittableRandom getRandom() {
+    return random;
+  }
+
+  public void setRandom(SplittableRandom random) {
+    this.random = random;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    // read field by field, as neats saved before the innovation registry have other fields
+    ObjectInputStream.GetField fields = in.readFields();
+    config = (NeatConfig) fields.get("config", null);
+    innovations = (InnovationRegistry) fields.get("innovations", null);
+    allNodes = (RandomHashSet<NodeGene>) fields.get("allNodes", null);
+    clients = (RandomHashSet<Client>) fields.get("clients", null);
+    species = (RandomHashSet<Species>) fields.get("species", null);
+    parallelSpeciation = fields.get("parallelSpeciation", false);
+    maxClients = fields.get("maxClients", 0);
+    outputSize = fields.get("outputSize", 0);
+    inputSize = fields.get("inputSize", 0);
+    if (config == null) {
+      // saved before the hyperparameters could be configured
+      config = new NeatConfig();
+    }
+    if (innovations == null) {
+      // saved before the innovation registry, when the connections were kept in a map
+      innovations = readLegacyInnovations(
+          (Map<ConnectionGene, ConnectionGene>) fields.get("allConnections", null));
+    }
+    random = new SplittableRandom();
+  }
+
+  /**
+   * Rebuild the innovation registry from the connection map neats were saved with before.
+   * The map did not keep which node split each connection, but a new node's connections were
+   * always numbered straight after it was placed, first the one into it and then the one out.
+   */
+  private InnovationRegistry readLegacyInnovations(Map<ConnectionGene, ConnectionGene> map)
+      throws InvalidObjectException {
+    if (map == null) {
+      throw new InvalidObjectException("Neat saved without its connections");
+    }
+    ConnectionGene[] connections = new ConnectionGene[map.size()];
+    for (ConnectionGene connection : map.values()) {
+      int innovation = connection.getInnovationNumber();
+      if (innovation < 1 || innovation > connections.length
+          || connections[innovation - 1] != null) {
+        throw new InvalidObjectException("Invalid connection innovation " + innovation);
+      }
+      connections[innovation - 1] = connection;
+    }
+    InnovationRegistry registry = new InnovationRegistry();
+    boolean[] connected = new boolean[allNodes.size() + 1];
+    for (int i = 0; i < connections.length; i++) {
+      int from = connections[i].getFrom().getInnovationNumber();
+      int to = connections[i].getTo().getInnovationNumber();
+      registry.register(from, to);
+      if (to > inputSize + outputSize && !connected[to]) {
+        // the first connection into a hidden node is the one added when it split a connection
+        if (i + 1 == connections.length
+            || connections[i + 1].getFrom().getInnovationNumber() != to) {
+          throw new InvalidObjectException("No connection out of node " + to);
+        }
+        registry.setReplaceIndex(from, connections[i + 1].getTo().getInnovationNumber(), to);
+      }
+      connected[from] = true;
+      connected[to] = true;
+    }
+    return registry;
   }
 }
\ No newline at end of file
@@ -0,0 +1,389 @@
+package neat;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import neat.genomes.ConnectionGene;
+import neat.genomes.Genome;
+import neat.genomes.NodeGene;
+import neat.genomes.PackedGenome;
+
+/**
+ * Reads and writes a {@link Neat} in a compact versioned binary format.
+ * Only what can not be rebuilt is written: the node and connection innovation tables, each
+ * client's genome as innovation numbers, weights and enabled flags, the scores and the species.
+ * Calculators are not written, each client builds its own the first time it is used.
+ *
+ * <p>The format, all big endian, is the {@link #MAGIC} number and the version, then the input,
+ * output and client sizes, the hyperparameters, the nodes' positions in innovation order, each
+ * connection innovation's nodes and replace index in innovation order, every client's score and
+ * genome, and lastly every species' score, representative and members as client indices.
+ * Checkpoints of the first version have no hyperparameters, and are read with the defaults.
+ */
+public final class NeatCheckpoint {
+
+  /**
+   * The first four bytes of a checkpoint, used to tell it apart from a serialized neat.
+   */
+  public static final int MAGIC = 0x4E454154;
+  public static final int VERSION = 2;
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private NeatCheckpoint() {
+  }
+
+  /**
+   * Write a neat to a file, replacing the file if it exists.
+   *
+   * @param path the path
+   * @param neat the neat
+   * @throws IOException the io exception
+   */
+  public static void write(Path path, Neat neat) throws IOException {
+    write(path, new NeatSnapshot(neat));
+  }
+
+  /**
+   * Write a snapshot of a neat to a file, replacing the file if it exists.
+   * The checkpoint is written to a temporary file beside it, which is moved over the file once
+   * it is complete, so the file is never left half written.
+   *
+   * @param path     the path
+   * @param snapshot the snapshot
+   * @throws IOException the io exception
+   */
+  public static void write(Path path, NeatSnapshot snapshot) throws IOException {
+    Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+      write(channel, snapshot);
+      channel.force(true);
+    }
+    try {
+      Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE,
+          StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * Write a neat to a channel.
+   *
+   * @param channel the channel
+   * @param neat    the neat
+   * @throws IOException the io exception
+   */
+  public static void write(WritableByteChannel channel, Neat neat) throws IOException {
+    write(channel, new NeatSnapshot(neat));
+  }
+
+  /**
+   * Write a snapshot of a neat to a channel.
+   *
+   * @param channel  the channel
+   * @param snapshot the snapshot
+   * @throws IOException the io exception
+   */
+  public static void write(WritableByteChannel channel, NeatSnapshot snapshot)
+      throws IOException {
+    Output out = new Output(channel);
+    out.putInt(MAGIC);
+    out.putInt(VERSION);
+    out.putInt(snapshot.inputSize);
+    out.putInt(snapshot.outputSize);
+    out.putInt(snapshot.maxClients);
+    out.putByte(snapshot.parallelSpeciation ? 1 : 0);
+    writeConfig(out, snapshot.config);
+
+    // The nodes, their innovation number is their position
+    out.putInt(snapshot.nodeX.length);
+    for (int i = 0; i < snapshot.nodeX.length; i++) {
+      out.putDouble(snapshot.nodeX[i]);
+      out.putDouble(snapshot.nodeY[i]);
+    }
+
+    // The connection innovations, in the same way
+    out.putInt(snapshot.connectionFrom.length);
+    for (int i = 0; i < snapshot.connectionFrom.length; i++) {
+      out.putInt(snapshot.connectionFrom[i]);
+      out.putInt(snapshot.connectionTo[i]);
+      out.putInt(snapshot.replaceIndex[i]);
+    }
+
+    out.putInt(snapshot.clientScores.length);
+    for (int i = 0; i < snapshot.clientScores.length; i++) {
+      out.putDouble(snapshot.clientScores[i]);
+      writeGenome(out, snapshot.genomes[i]);
+    }
+
+    out.putInt(snapshot.speciesScores.length);
+    for (int i = 0; i < snapshot.speciesScores.length; i++) {
+      out.putDouble(snapshot.speciesScores[i]);
+      out.putInt(snapshot.representatives[i]);
+      out.putInt(snapshot.members[i].length);
+      for (int member : snapshot.members[i]) {
+        out.putInt(member);
+      }
+    }
+    out.flush();
+  }
+
+  private static void writeConfig(Output out, NeatConfig config) throws IOException {
+    out.putDouble(config.getC1());
+    out.putDouble(config.getC2());
+    out.putDouble(config.getC3());
+    out.putDouble(config.getCP());
+    out.putDouble(config.getWeightShiftStrength());
+    out.putDouble(config.getWeightRandomStrength());
+    out.putDouble(config.getSurvivorPercentage());
+    out.putDouble(config.getProbabilityMutateLink());
+    out.putDouble(config.getProbabilityMutateNode());
+    out.putDouble(config.getProbabilityMutateWeightShift());
+    out.putDouble(config.getProbabilityMutateWeightRandom());
+    out.putDouble(config.getProbabilityMutateToggleLink());
+  }
+
+  private static NeatConfig readConfig(Input in) throws IOException {
+    NeatConfig config = new NeatConfig();
+    config.setC1(in.getDouble());
+    config.setC2(in.getDouble());
+    config.setC3(in.getDouble());
+    config.setCP(in.getDouble());
+    config.setWeightShiftStrength(in.getDouble());
+    config.setWeightRandomStrength(in.getDouble());
+    config.setSurvivorPercentage(in.getDouble());
+    config.setProbabilityMutateLink(in.getDouble());
+    config.setProbabilityMutateNode(in.getDouble());
+    config.setProbabilityMutateWeightShift(in.getDouble());
+    config.setProbabilityMutateWeightRandom(in.getDouble());
+    config.setProbabilityMutateToggleLink(in.getDouble());
+    return config;
+  }
+
+  private static void writeGenome(Output out, PackedGenome genome) throws IOException {
+    out.putInt(genome.getNodeCount());
+    for (int i = 0; i < genome.getNodeCount(); i++) {
+      out.putInt(genome.getNode(i));
+    }
+    out.putInt(genome.size());
+    for (int i = 0; i < genome.size(); i++) {
+      out.putInt(genome.getInnovationNumber(i));
+      out.putDouble(genome.getWeight(i));
+      out.putByte(genome.isEnabled(i) ? 1 : 0);
+    }
+  }
+
+  /**
+   * Read a neat from a file.
+   * The neat is given a new unseeded random, as when a serialized neat is read.
+   *
+   * @param path the path
+   * @return the neat
+   * @throws IOException the io exception, also thrown if the file is not a checkpoint
+   */
+  public static Neat read(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return read(channel);
+    }
+  }
+
+  /**
+   * Read a neat from a channel.
+   *
+   * @param channel the channel
+   * @return the neat
+   * @throws IOException the io exception, also thrown if the data is not a checkpoint
+   */
+  public static Neat read(ReadableByteChannel channel) throws IOException {
+    Input in = new Input(channel);
+    if (in.getInt() != MAGIC) {
+      throw new IOException("Not a neat checkpoint");
+    }
+    int version = in.getInt();
+    if (version < 1 || version > VERSION) {
+      throw new IOException("Unsupported neat checkpoint version " + version);
+    }
+    int inputSize = in.getInt();
+    int outputSize = in.getInt();
+    int maxClients = in.getInt();
+    // a neat without clients already holds its input and output nodes
+    Neat neat = new Neat(inputSize, outputSize, 0);
+    neat.setMaxClients(maxClients);
+    neat.setParallelSpeciation(in.getByte() != 0);
+    if (version >= 2) {
+      neat.setConfig(readConfig(in));
+    }
+
+    int nodeCount = in.getInt();
+    for (int i = 1; i <= nodeCount; i++) {
+      NodeGene n = neat.getNode(i);
+      n.setX(in.getDouble());
+      n.setY(in.getDouble());
+    }
+
+    // Registering the connections in order gives them their saved innovation numbers
+    int connectionCount = in.getInt();
+    ArrayList<ConnectionGene> connections = new ArrayList<>(connectionCount);
+    for (int i = 0; i < connectionCount; i++) {
+      NodeGene from = node(neat, in.getInt(), nodeCount);
+      NodeGene to = node(neat, in.getInt(), nodeCount);
+      int replaceIndex = in.getInt();
+      ConnectionGene c = neat.getConnection(from, to);
+      if (c.getInnovationNumber() != i + 1) {
+        throw new IOException("Duplicate connection innovation " + (i + 1));
+      }
+      neat.setReplaceIndex(from, to, replaceIndex);
+      connections.add(c);
+    }
+
+    int clientCount = in.getInt();
+    ArrayList<Client> clients = new ArrayList<>(clientCount);
+    for (int i = 0; i < clientCount; i++) {
+      Client c = new Client();
+      c.setScore(in.getDouble());
+      c.setGenome(readGenome(in, neat, nodeCount, connections));
+      neat.getClients().add(c);
+      clients.add(c);
+    }
+
+    int speciesCount = in.getInt();
+    for (int i = 0; i < speciesCount; i++) {
+      double score = in.getDouble();
+      Species s = new Species(client(clients, in.getInt()), score);
+      int members = in.getInt();
+      for (int j = 0; j < members; j++) {
+        s.forcePut(client(clients, in.getInt()));
+      }
+      neat.getSpecies().add(s);
+    }
+    return neat;
+  }
+
+  private static Genome readGenome(Input in, Neat neat, int nodeCount,
+                                   ArrayList<ConnectionGene> connections) throws IOException {
+    Genome genome = new Genome(neat);
+    int nodes = in.getInt();
+    for (int i = 0; i < nodes; i++) {
+      genome.getNodes().add(node(neat, in.getInt(), nodeCount));
+    }
+    int cons = in.getInt();
+    for (int i = 0; i < cons; i++) {
+      int innovation = in.getInt();
+      if (innovation < 1 || innovation > connections.size()) {
+        throw new IOException("Unknown connection innovation " + innovation);
+      }
+      ConnectionGene c = Neat.getConnection(connections.get(innovation - 1));
+      c.setWeight(in.getDouble());
+      c.setEnabled(in.getByte() != 0);
+      genome.getConnections().add(c);
+    }
+    return genome;
+  }
+
+  private static NodeGene node(Neat neat, int innovation, int nodeCount) throws IOException {
+    if (innovation < 1 || innovation > nodeCount) {
+      throw new IOException("Unknown node innovation " + innovation);
+    }
+    return neat.getNode(innovation);
+  }
+
+  private static Client client(ArrayList<Client> clients, int index) throws IOException {
+    if (index < 0 || index >= clients.size()) {
+      throw new IOException("Unknown client " + index);
+    }
+    return clients.get(index);
+  }
+
+  /**
+   * Writes primitives through a buffer, handing it to the channel whenever it fills.
+   */
+  private static final class Output {
+    private final WritableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private Output(WritableByteChannel channel) {
+      this.channel = channel;
+    }
+
+    private void ensure(int bytes) throws IOException {
+      if (buffer.remaining() < bytes) {
+        flush();
+      }
+    }
+
+    private void putByte(int value) throws IOException {
+      ensure(Byte.BYTES);
+      buffer.put((byte) value);
+    }
+
+    private void putInt(int value) throws IOException {
+      ensure(Integer.BYTES);
+      buffer.putInt(value);
+    }
+
+    private void putDouble(double value) throws IOException {
+      ensure(Double.BYTES);
+      buffer.putDouble(value);
+    }
+
+    private void flush() throws IOException {
+      buffer.flip();
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      buffer.clear();
+    }
+  }
+
+  /**
+   * Reads primitives through a buffer, refilling it from the channel as it empties.
+   */
+  private static final class Input {
+    private final ReadableByteChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private Input(ReadableByteChannel channel) {
+      this.channel = channel;
+      buffer.flip();
+    }
+
+    private void ensure(int bytes) throws IOException {
+      if (buffer.remaining() >= bytes) {
+        return;
+      }
+      buffer.compact();
+      while (buffer.position() < bytes) {
+        if (channel.read(buffer) < 0) {
+          throw new EOFException("Neat checkpoint ended early");
+        }
+      }
+      buffer.flip();
+    }
+
+    private byte getByte() throws IOException {
+      ensure(Byte.BYTES);
+      return buffer.get();
+    }
+
+    private int getInt() throws IOException {
+      ensure(Integer.BYTES);
+      return buffer.getInt();
+    }
+
+    private double getDouble() throws IOException {
+      ensure(Double.BYTES);
+      return buffer.getDouble();
+    }
+  }
+}
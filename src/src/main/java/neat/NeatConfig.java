@@ -0,0 +1,311 @@
+package neat;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * The hyperparameters of a {@link Neat} and the shape of its population.
+ * A config can be loaded from a properties file, where every key is optional and any parameter
+ * not given keeps its default, for example:
+ *
+ * <pre>
+ * clients = 100
+ * cp = 3.5
+ * probabilityMutateNode = 0.03
+ * </pre>
+ */
+public class NeatConfig implements Serializable {
+
+  //default serialVersion id
+  private static final long serialVersionUID = 1L;
+
+  private int inputSize = 9;
+  private int outputSize = 4;
+  private int clients = 50;
+
+  private double c1 = 1;
+  private double c2 = 1;
+  private double c3 = 1;
+  private double cp = 4;
+
+  private double weightShiftStrength = 0.3;
+  private double weightRandomStrength = 1;
+
+  private double survivorPercentage = 0.8;
+
+  private double probabilityMutateLink = 0.05;
+  private double probabilityMutateNode = 0.05;
+  private double probabilityMutateWeightShift = 0.05;
+  private double probabilityMutateWeightRandom = 0.05;
+  private double probabilityMutateToggleLink = 0.02;
+
+  /**
+   * Instantiates a new Neat config with the default parameters.
+   */
+  public NeatConfig() {
+  }
+
+  /**
+   * Instantiates a new Neat config with a copy of another's parameters.
+   *
+   * @param other the config to copy
+   */
+  public NeatConfig(NeatConfig other) {
+    this.inputSize = other.inputSize;
+    this.outputSize = other.outputSize;
+    this.clients = other.clients;
+    this.c1 = other.c1;
+    this.c2 = other.c2;
+    this.c3 = other.c3;
+    this.cp = other.cp;
+    this.weightShiftStrength = other.weightShiftStrength;
+    this.weightRandomStrength = other.weightRandomStrength;
+    this.survivorPercentage = other.survivorPercentage;
+    this.probabilityMutateLink = other.probabilityMutateLink;
+    this.probabilityMutateNode = other.probabilityMutateNode;
+    this.probabilityMutateWeightShift = other.probabilityMutateWeightShift;
+    this.probabilityMutateWeightRandom = other.probabilityMutateWeightRandom;
+    this.probabilityMutateToggleLink = other.probabilityMutateToggleLink;
+  }
+
+  /**
+   * Load a config from a properties file.
+   *
+   * @param path the path
+   * @return the config
+   * @throws IOException              the io exception
+   * @throws IllegalArgumentException if a key is unknown or a value is not a number
+   */
+  public static NeatConfig load(Path path) throws IOException {
+    Properties properties = new Properties();
+    try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      properties.load(reader);
+    }
+    return fromProperties(properties);
+  }
+
+  /**
+   * Create a config from properties.
+   *
+   * @param properties the properties
+   * @return the config
+   * @throws IllegalArgumentException if a key is unknown or a value is not a number
+   */
+  public static NeatConfig fromProperties(Properties properties) {
+    NeatConfig config = new NeatConfig();
+    for (String key : properties.stringPropertyNames()) {
+      String value = properties.getProperty(key).trim();
+      try {
+        config.set(key, value);
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid value for " + key + ": " + value, e);
+      }
+    }
+    return config;
+  }
+
+  private void set(String key, String value) {
+    switch (key) {
+      case "inputSize":
+        inputSize = Integer.parseInt(value);
+        break;
+      case "outputSize":
+        outputSize = Integer.parseInt(value);
+        break;
+      case "clients":
+        clients = Integer.parseInt(value);
+        break;
+      case "c1":
+        c1 = Double.parseDouble(value);
+        break;
+      case "c2":
+        c2 = Double.parseDouble(value);
+        break;
+      case "c3":
+        c3 = Double.parseDouble(value);
+        break;
+      case "cp":
+        cp = Double.parseDouble(value);
+        break;
+      case "weightShiftStrength":
+        weightShiftStrength = Double.parseDouble(value);
+        break;
+      case "weightRandomStrength":
+        weightRandomStrength = Double.parseDouble(value);
+        break;
+      case "survivorPercentage":
+        survivorPercentage = Double.parseDouble(value);
+        break;
+      case "probabilityMutateLink":
+        probabilityMutateLink = Double.parseDouble(value);
+        break;
+      case "probabilityMutateNode":
+        probabilityMutateNode = Double.parseDouble(value);
+        break;
+      case "probabilityMutateWeightShift":
+        probabilityMutateWeightShift = Double.parseDouble(value);
+        break;
+      case "probabilityMutateWeightRandom":
+        probabilityMutateWeightRandom = Double.parseDouble(value);
+        break;
+      case "probabilityMutateToggleLink":
+        probabilityMutateToggleLink = Double.parseDouble(value);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown NEAT parameter " + key);
+    }
+  }
+
+  /**
+   * Gets the config as properties, in the form {@link #fromProperties(Properties)} reads.
+   *
+   * @return the properties
+   */
+  public Properties toProperties() {
+    Properties properties = new Properties();
+    properties.setProperty("inputSize", Integer.toString(inputSize));
+    properties.setProperty("outputSize", Integer.toString(outputSize));
+    properties.setProperty("clients", Integer.toString(clients));
+    properties.setProperty("c1", Double.toString(c1));
+    properties.setProperty("c2", Double.toString(c2));
+    properties.setProperty("c3", Double.toString(c3));
+    properties.setProperty("cp", Double.toString(cp));
+    properties.setProperty("weightShiftStrength", Double.toString(weightShiftStrength));
+    properties.setProperty("weightRandomStrength", Double.toString(weightRandomStrength));
+    properties.setProperty("survivorPercentage", Double.toString(survivorPercentage));
+    properties.setProperty("probabilityMutateLink", Double.toString(probabilityMutateLink));
+    properties.setProperty("probabilityMutateNode", Double.toString(probabilityMutateNode));
+    properties.setProperty("probabilityMutateWeightShift",
+        Double.toString(probabilityMutateWeightShift));
+    properties.setProperty("probabilityMutateWeightRandom",
+        Double.toString(probabilityMutateWeightRandom));
+    properties.setProperty("probabilityMutateToggleLink",
+        Double.toString(probabilityMutateToggleLink));
+    return properties;
+  }
+
+  public int getInputSize() {
+    return inputSize;
+  }
+
+  public void setInputSize(int inputSize) {
+    this.inputSize = inputSize;
+  }
+
+  public int getOutputSize() {
+    return outputSize;
+  }
+
+  public void setOutputSize(int outputSize) {
+    this.outputSize = outputSize;
+  }
+
+  public int getClients() {
+    return clients;
+  }
+
+  public void setClients(int clients) {
+    this.clients = clients;
+  }
+
+  public double getC1() {
+    return c1;
+  }
+
+  public void setC1(double c1) {
+    this.c1 = c1;
+  }
+
+  public double getC2() {
+    return c2;
+  }
+
+  public void setC2(double c2) {
+    this.c2 = c2;
+  }
+
+  public double getC3() {
+    return c3;
+  }
+
+  public void setC3(double c3) {
+    this.c3 = c3;
+  }
+
+  public double getCP() {
+    return cp;
+  }
+
+  public void setCP(double cp) {
+    this.cp = cp;
+  }
+
+  public double getWeightShiftStrength() {
+    return weightShiftStrength;
+  }
+
+  public void setWeightShiftStrength(double weightShiftStrength) {
+    this.weightShiftStrength = weightShiftStrength;
+  }
+
+  public double getWeightRandomStrength() {
+    return weightRandomStrength;
+  }
+
+  public void setWeightRandomStrength(double weightRandomStrength) {
+    this.weightRandomStrength = weightRandomStrength;
+  }
+
+  public double getSurvivorPercentage() {
+    return survivorPercentage;
+  }
+
+  public void setSurvivorPercentage(double survivorPercentage) {
+    this.survivorPercentage = survivorPercentage;
+  }
+
+  public double getProbabilityMutateLink() {
+    return probabilityMutateLink;
+  }
+
+  public void setProbabilityMutateLink(double probabilityMutateLink) {
+    this.probabilityMutateLink = probabilityMutateLink;
+  }
+
+  public double getProbabilityMutateNode() {
+    return probabilityMutateNode;
+  }
+
+  public void setProbabilityMutateNode(double probabilityMutateNode) {
+    this.probabilityMutateNode = probabilityMutateNode;
+  }
+
+  public double getProbabilityMutateWeightShift() {
+    return probabilityMutateWeightShift;
+  }
+
+  public void setProbabilityMutateWeightShift(double probabilityMutateWeightShift) {
+    this.probabilityMutateWeightShift = probabilityMutateWeightShift;
+  }
+
+  public double getProbabilityMutateWeightRandom() {
+    return probabilityMutateWeightRandom;
+  }
+
+  public void setProbabilityMutateWeightRandom(double probabilityMutateWeightRandom) {
+    this.probabilityMutateWeightRandom = probabilityMutateWeightRandom;
+  }
+
+  public double getProbabilityMutateToggleLink() {
+    return probabilityMutateToggleLink;
+  }
+
+  public void setProbabilityMutateToggleLink(double probabilityMutateToggleLink) {
+    this.probabilityMutateToggleLink = probabilityMutateToggleLink;
+  }
+}
@@ -0,0 +1,107 @@
+package neat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import neat.genomes.InnovationRegistry;
+import neat.genomes.NodeGene;
+import neat.genomes.PackedGenome;
+import neat.genomes.RandomHashSet;
+
+/**
+ * A copy of everything a {@link NeatCheckpoint} holds, taken so the neat can be written while
+ * it carries on evolving. The innovation tables, scores and species are copied into arrays, and
+ * the genomes are the clients' packed genomes, which are never modified, so taking a snapshot
+ * copies no genes that have not changed since they were last packed.
+ */
+public final class NeatSnapshot {
+  final int inputSize;
+  final int outputSize;
+  final int maxClients;
+  final boolean parallelSpeciation;
+  final NeatConfig config;
+  // the position of each node, the node with innovation number i at index i - 1
+  final double[] nodeX;
+  final double[] nodeY;
+  // the nodes and replace index of each connection innovation, in the same way
+  final int[] connectionFrom;
+  final int[] connectionTo;
+  final int[] replaceIndex;
+  final double[] clientScores;
+  final PackedGenome[] genomes;
+  final double[] speciesScores;
+  // the species' representatives and members as indices of the clients
+  final int[] representatives;
+  final int[][] members;
+
+  /**
+   * Takes a snapshot of a neat.
+   *
+   * @param neat the neat
+   */
+  public NeatSnapshot(Neat neat) {
+    inputSize = neat.getInputSize();
+    outputSize = neat.getOutputSize();
+    maxClients = neat.getMaxClients();
+    parallelSpeciation = neat.isParallelSpeciation();
+    config = neat.getConfig();
+
+    // the innovations may be shared with islands evolving on other threads
+    synchronized (neat.getInnovations()) {
+      RandomHashSet<NodeGene> nodes = neat.getAllNodes();
+      nodeX = new double[nodes.size()];
+      nodeY = new double[nodes.size()];
+      for (int i = 0; i < nodeX.length; i++) {
+        nodeX[i] = nodes.get(i).getX();
+        nodeY[i] = nodes.get(i).getY();
+      }
+
+      InnovationRegistry innovations = neat.getInnovations();
+      connectionFrom = new int[innovations.size()];
+      connectionTo = new int[innovations.size()];
+      replaceIndex = new int[innovations.size()];
+      for (int i = 0; i < connectionFrom.length; i++) {
+        connectionFrom[i] = innovations.getFrom(i + 1);
+        connectionTo[i] = innovations.getTo(i + 1);
+        replaceIndex[i] = innovations.getReplaceIndex(i + 1);
+      }
+    }
+
+    ArrayList<Client> clients = neat.getClients().getData();
+    HashMap<Client, Integer> clientIndex = new HashMap<>();
+    clientScores = new double[clients.size()];
+    genomes = new PackedGenome[clients.size()];
+    for (int i = 0; i < clientScores.length; i++) {
+      Client c = clients.get(i);
+      clientIndex.put(c, i);
+      clientScores[i] = c.getScore();
+      genomes[i] = c.getPackedGenome();
+    }
+
+    ArrayList<Species> species = neat.getSpecies().getData();
+    speciesScores = new double[species.size()];
+    representatives = new int[species.size()];
+    members = new int[species.size()][];
+    for (int i = 0; i < speciesScores.length; i++) {
+      Species s = species.get(i);
+      speciesScores[i] = s.getScore();
+      representatives[i] = indexOf(clientIndex, s.getRepresentative(), i, "representative");
+      ArrayList<Client> speciesClients = s.getClients().getData();
+      members[i] = new int[speciesClients.size()];
+      for (int j = 0; j < members[i].length; j++) {
+        members[i][j] = indexOf(clientIndex, speciesClients.get(j), i, "member");
+      }
+    }
+  }
+
+  // a species can only be saved as indices of the neat's clients, so fail here rather than
+  // write a checkpoint that cannot be read
+  private static int indexOf(HashMap<Client, Integer> clientIndex, Client client, int species,
+                             String role) {
+    Integer index = clientIndex.get(client);
+    if (index == null) {
+      throw new IllegalStateException(
+          "The " + role + " of species " + species + " is not a client of the neat");
+    }
+    return index;
+  }
+}
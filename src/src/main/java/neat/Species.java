@@ -2,7 +2,11 @@ package neat;
 
 import java.io.Serializable;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
 import neat.genomes.Genome;
+import neat.genomes.PackedGenome;
 import neat.genomes.RandomHashSet;
 
 public class Species implements Serializable {
@@ -10,9 +14,17 @@ public class Species implements Serializable {
   //default serialVersion id
   private static final long serialVersionUID = 1L;
 
+  // lowest score first, clients with the same score in the order they joined
+  private static final Comparator<Client> BY_SCORE = Comparator.comparingDouble(Client::getScore)
+      .thenComparingInt(Client::getJoinOrder);
+
   private RandomHashSet<Client> clients = new RandomHashSet<>();
   private Client representative;
   private double score;
+  // the clients ordered by score and the sum of their scores, kept up to date as scores change
+  private transient TreeSet<Client> ranking;
+  private transient double scoreSum;
+  private transient int joined;
 
   /**
    * Instantiates a new Species.
@@ -21,8 +33,18 @@ public class Species implements Serializable {
    */
   public Species(Client representative) {
     this.representative = representative;
-    this.representative.setSpecies(this);
-    clients.add(representative);
+    join(representative);
+  }
+
+  /**
+   * Instantiates a saved species, without any members until they are put back in.
+   *
+   * @param representative the representative
+   * @param score          the score
+   */
+  Species(Client representative, double score) {
+    this.representative = representative;
+    this.score = score;
   }
 
   /**
@@ -33,16 +55,62 @@ public class Species implements Serializable {
    */
   public boolean put(Client client) {
     if (client.distance(representative) < representative.getGenome().getNeat().getCP()) {
-      client.setSpecies(this);
-      clients.add(client);
+      join(client);
       return true;
     }
     return false;
   }
 
   public void forcePut(Client client) {
+    join(client);
+  }
+
+  private void join(Client client) {
+    if (clients.contains(client)) {
+      return;
+    }
     client.setSpecies(this);
     clients.add(client);
+    client.setJoinOrder(joined++);
+    rank(client);
+  }
+
+  /**
+   * Add a client to the ranking.
+   * Called whenever a member's score changes, after {@link #unrank(Client)}.
+   *
+   * @param client the client
+   */
+  void rank(Client client) {
+    if (getRanking().add(client)) {
+      scoreSum += client.getScore();
+    }
+  }
+
+  /**
+   * Remove a client from the ranking, before its score changes.
+   *
+   * @param client the client
+   */
+  void unrank(Client client) {
+    if (getRanking().remove(client)) {
+      scoreSum -= client.getScore();
+    }
+  }
+
+  // the ranking is not saved, so it is rebuilt from the clients when first needed after loading
+  private TreeSet<Client> getRanking() {
+    if (ranking == null) {
+      ranking = new TreeSet<>(BY_SCORE);
+      scoreSum = 0;
+      joined = 0;
+      for (Client c : clients.getData()) {
+        c.setJoinOrder(joined++);
+        ranking.add(c);
+        scoreSum += c.getScore();
+      }
+    }
+    return ranking;
   }
 
   /**
@@ -58,13 +126,9 @@ public class Species implements Serializable {
    * Evaluates the score of the species.
    */
   public void evaluateScore() {
-    double v = 0;
-    // For each client in this species add their score
-    for (Client c : clients.getData()) {
-      v += c.getScore();
-    }
-    // Return the average score
-    score = v / clients.size();
+    // The average score, the sum is kept up to date as clients join and their scores change
+    getRanking();
+    score = scoreSum / clients.size();
   }
 
   /**
@@ -72,17 +136,19 @@ public class Species implements Serializable {
    */
   public void reset() {
     // Select a random client to be a new representative
-    representative = clients.randomElement();
+    representative = clients.randomElement(representative.getGenome().getNeat().getRandom());
 
     // Reset all of the clients
     for (Client c : clients.getData()) {
       c.setSpecies(null);
     }
     clients.clear();
+    getRanking().clear();
+    scoreSum = 0;
+    joined = 0;
 
     // Add the representative
-    clients.add(representative);
-    representative.setSpecies(this);
+    join(representative);
     score = 0;
   }
 
@@ -92,12 +158,13 @@ public class Species implements Serializable {
    * @param percentage the percentage
    */
   public void kill(double percentage) {
-    clients.getData().sort(Comparator.comparingDouble(Client::getScore));
-
-    double amount = percentage * this.clients.size();
-    for (int i = 0; i < amount; i++) {
-      clients.get(0).setSpecies(null);
-      clients.remove(0);
+    int amount = (int) Math.ceil(percentage * this.clients.size());
+    TreeSet<Client> ranking = getRanking();
+    for (int i = 0; i < amount && !ranking.isEmpty(); i++) {
+      Client c = ranking.pollFirst();
+      scoreSum -= c.getScore();
+      clients.swapRemove(c);
+      c.setSpecies(null);
     }
   }
 
@@ -107,13 +174,36 @@ public class Species implements Serializable {
    * @return the genome
    */
   public Genome breed() {
-    Client c1 = clients.randomElement();
-    Client c2 = clients.randomElement();
+    SplittableRandom random = representative.getGenome().getNeat().getRandom();
+    Client c1 = clients.randomElement(random);
+    Client c2 = clients.randomElement(random);
 
     if (c1.getScore() > c2.getScore()) {
-      return Genome.crossOver(c1.getGenome(), c2.getGenome());
+      return PackedGenome.crossOver(c1.getPackedGenome(), c2.getPackedGenome()).toGenome();
+    }
+    return PackedGenome.crossOver(c2.getPackedGenome(), c1.getPackedGenome()).toGenome();
+  }
+
+  /**
+   * Gets the client with the highest score, the earliest to join if several share it.
+   *
+   * @return the best client
+   */
+  public Client getBestClient() {
+    TreeSet<Client> ranking = getRanking();
+    if (ranking.isEmpty()) {
+      return null;
+    }
+    Iterator<Client> descending = ranking.descendingIterator();
+    Client best = descending.next();
+    while (descending.hasNext()) {
+      Client c = descending.next();
+      if (c.getScore() < best.getScore()) {
+        break;
+      }
+      best = c;
     }
-    return Genome.crossOver(c2.getGenome(), c1.getGenome());
+    return best;
   }
 
   public int size() {
@@ -1,21 +1,37 @@
 package neat.calculations;
 
-import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import neat.genomes.ConnectionGene;
 import neat.genomes.Genome;
 import neat.genomes.NodeGene;
-import neat.genomes.RandomHashSet;
+import neat.metrics.TrainingMetrics;
 
-public class Calculator implements Serializable {
+/**
+ * A genome compiled into flat arrays for fast evaluation.
+ * The nodes are ordered inputs first, then hidden nodes by layer, then outputs. Every connection
+ * runs from a lower layer to a higher one, so this order is a topological order and each node's
+ * value can be computed in a single pass. The connections of each node are stored contiguously,
+ * with their source node index, weight and enabled flag held in parallel arrays.
+ * It is never saved; a client rebuilds it from its genome when it is next used.
+ */
+public class Calculator {
 
-  //default serialVersion id
-  private static final long serialVersionUID = 1L;
-
-  private ArrayList<Node> inputNodes = new ArrayList<>();
-  private ArrayList<Node> hiddenNodes = new ArrayList<>();
-  private ArrayList<Node> outputNodes = new ArrayList<>();
+  private final int inputSize;
+  private final int outputSize;
+  // connectionStart[i] is the first connection of the i-th node after the inputs
+  private final int[] connectionStart;
+  private final int[] sources;
+  private final double[] weights;
+  private final boolean[] enabled;
+  // the position in the genome's connections of the connection in each slot
+  private final int[] genes;
+  // the value of every node, reused between calculations
+  private final double[] values;
+  // the value of every node for each sample of a batch, node major, grown as needed
+  private double[] batchValues;
 
   /**
    * Instantiates a new Calculator.
@@ -23,48 +39,90 @@ public class Calculator implements Serializable {
    * @param g the g
    */
   public Calculator(Genome g) {
-    RandomHashSet<NodeGene> nodes = g.getNodes();
-    RandomHashSet<ConnectionGene> cons = g.getConnections();
-
-    HashMap<Integer, Node> nodeHashMap = new HashMap<>();
+    ArrayList<NodeGene> inputNodes = new ArrayList<>();
+    ArrayList<NodeGene> hiddenNodes = new ArrayList<>();
+    ArrayList<NodeGene> outputNodes = new ArrayList<>();
 
     // For each node in our genome
-    for (NodeGene n : nodes.getData()) {
-      // Make a new generic node
-      Node node = new Node(n.getX());
-      // map this nodes "layer" to itself for reference
-      nodeHashMap.put(n.getInnovationNumber(), node);
-
+    for (NodeGene n : g.getNodes().getData()) {
       if (n.getX() <= 0.1) {
-        inputNodes.add(node);
+        inputNodes.add(n);
       } else if (n.getX() >= 0.9) {
-        outputNodes.add(node);
+        outputNodes.add(n);
       } else {
-        hiddenNodes.add(node);
+        hiddenNodes.add(n);
       }
     }
 
     // Sort the hidden nodes by their layer
-    hiddenNodes.sort(Node::compareTo);
+    hiddenNodes.sort(Comparator.comparingDouble(NodeGene::getX));
+
+    inputSize = inputNodes.size();
+    outputSize = outputNodes.size();
+    values = new double[inputSize + hiddenNodes.size() + outputSize];
+
+    // map each node's innovation number to its position in the evaluation order
+    HashMap<Integer, Integer> nodeIndex = new HashMap<>();
+    int index = 0;
+    for (NodeGene n : inputNodes) {
+      nodeIndex.put(n.getInnovationNumber(), index++);
+    }
+    for (NodeGene n : hiddenNodes) {
+      nodeIndex.put(n.getInnovationNumber(), index++);
+    }
+    for (NodeGene n : outputNodes) {
+      nodeIndex.put(n.getInnovationNumber(), index++);
+    }
 
-    // For each connection
-    for (ConnectionGene c : cons.getData()) {
-      // Get the node coming from
-      NodeGene from = c.getFrom();
-      // Get the node going to
-      NodeGene to = c.getTo();
+    ArrayList<ConnectionGene> cons = g.getConnections().getData();
+    int evaluatedNodes = values.length - inputSize;
 
-      // Make two reference nodes for coming form and to
-      Node nodeFrom = nodeHashMap.get(from.getInnovationNumber());
-      Node nodeTo = nodeHashMap.get(to.getInnovationNumber());
+    // Count the connections going into each node, input nodes are never calculated
+    connectionStart = new int[evaluatedNodes + 1];
+    for (ConnectionGene c : cons) {
+      int to = nodeIndex.get(c.getTo().getInnovationNumber()) - inputSize;
+      if (to >= 0) {
+        connectionStart[to + 1]++;
+      }
+    }
+    for (int i = 0; i < evaluatedNodes; i++) {
+      connectionStart[i + 1] += connectionStart[i];
+    }
 
-      // Set up a new connection reference
-      Connection con = new Connection(nodeFrom, nodeTo);
-      con.setWeight(c.getWeight());
-      con.setEnabled(c.isEnabled());
+    // Place each connection in its node's range
+    int connectionCount = connectionStart[evaluatedNodes];
+    sources = new int[connectionCount];
+    weights = new double[connectionCount];
+    enabled = new boolean[connectionCount];
+    genes = new int[connectionCount];
+    int[] next = new int[evaluatedNodes];
+    System.arraycopy(connectionStart, 0, next, 0, evaluatedNodes);
+    for (int i = 0; i < cons.size(); i++) {
+      ConnectionGene c = cons.get(i);
+      int to = nodeIndex.get(c.getTo().getInnovationNumber()) - inputSize;
+      if (to >= 0) {
+        int slot = next[to]++;
+        sources[slot] = nodeIndex.get(c.getFrom().getInnovationNumber());
+        weights[slot] = c.getWeight();
+        enabled[slot] = c.isEnabled();
+        genes[slot] = i;
+      }
+    }
+  }
 
-      // Add connection reference to connection to
-      nodeTo.getConnections().add(con);
+  /**
+   * Copy the weights and enabled flags of the genome's connections into this calculator.
+   * The genome must have the same nodes and connections, in the same order, as when this
+   * calculator was built from it.
+   *
+   * @param g the genome
+   */
+  public synchronized void updateWeights(Genome g) {
+    ArrayList<ConnectionGene> cons = g.getConnections().getData();
+    for (int slot = 0; slot < genes.length; slot++) {
+      ConnectionGene c = cons.get(genes[slot]);
+      weights[slot] = c.getWeight();
+      enabled[slot] = c.isEnabled();
     }
   }
 
@@ -75,27 +133,136 @@ public class Calculator implements Serializable {
    * @return the double [ ]
    */
   public double[] calculate(double... input) {
+    double[] output = new double[outputSize];
+    calculate(input, output);
+    return output;
+  }
 
-    if (input.length != inputNodes.size()) {
+  /**
+   * Calculate the output for the given input, writing it into the given output array.
+   * Synchronized as the node values are shared, and opponents can be asked for moves by several
+   * simulations at once.
+   *
+   * @param input  the input
+   * @param output the array the outputs are written to, at least as long as the output size
+   */
+  public synchronized void calculate(double[] input, double[] output) {
+    boolean timed = TrainingMetrics.isTimingCalculations();
+    long start = timed ? System.nanoTime() : 0;
+    if (input.length != inputSize) {
       throw new RuntimeException("Data doesnt fit");
     }
-    // Set the output for the input nodes to be themselves
-    for (int i = 0; i < inputNodes.size(); i++) {
-      inputNodes.get(i).setOutput(input[i]);
+    if (output.length < outputSize) {
+      throw new RuntimeException("Output doesnt fit");
     }
+    // Set the value for the input nodes to be the input
+    System.arraycopy(input, 0, values, 0, inputSize);
 
-    // calculate the output for each hidden node
-    for (Node n : hiddenNodes) {
-      n.calculate();
+    // calculate the value of each hidden and output node in order
+    for (int node = inputSize; node < values.length; node++) {
+      int end = connectionStart[node - inputSize + 1];
+      double s = 0;
+      for (int c = connectionStart[node - inputSize]; c < end; c++) {
+        if (enabled[c]) {
+          s += weights[c] * values[sources[c]];
+        }
+      }
+      values[node] = activationFunction(s);
     }
 
-    // Calculate the outputs
-    double[] output = new double[outputNodes.size()];
-    for (int i = 0; i < outputNodes.size(); i++) {
-      outputNodes.get(i).calculate();
-      output[i] = outputNodes.get(i).getOutput();
+    // The output nodes are the last in the order
+    System.arraycopy(values, values.length - outputSize, output, 0, outputSize);
+    if (timed) {
+      TrainingMetrics.getInstance().recordCalculation(System.nanoTime() - start);
     }
-    return output;
   }
 
-}
\ No newline at end of file
+  /**
+   * Calculate the outputs for a batch of inputs.
+   *
+   * @param inputs the inputs, one row per sample
+   * @return the outputs of every sample, flattened row by row
+   * @see #calculateBatch(double[], double[]) #calculateBatch(double[], double[])
+   */
+  public double[] calculateBatch(double[][] inputs) {
+    double[] flatInputs = new double[inputs.length * inputSize];
+    for (int sample = 0; sample < inputs.length; sample++) {
+      if (inputs[sample].length != inputSize) {
+        throw new RuntimeException("Data doesnt fit");
+      }
+      System.arraycopy(inputs[sample], 0, flatInputs, sample * inputSize, inputSize);
+    }
+    double[] outputs = new double[inputs.length * outputSize];
+    calculateBatch(flatInputs, outputs);
+    return outputs;
+  }
+
+  /**
+   * Calculate the outputs for a batch of inputs stored row by row in a single array.
+   * The values of each node are held contiguously for the whole batch, so every connection's
+   * weight is read once and applied to all of the samples together.
+   *
+   * @param inputs  the inputs, a multiple of the input size long
+   * @param outputs the array the outputs are written to row by row
+   */
+  public synchronized void calculateBatch(double[] inputs, double[] outputs) {
+    if (inputSize == 0 || inputs.length % inputSize != 0) {
+      throw new RuntimeException("Data doesnt fit");
+    }
+    int batchSize = inputs.length / inputSize;
+    if (outputs.length < batchSize * outputSize) {
+      throw new RuntimeException("Output doesnt fit");
+    }
+    int required = values.length * batchSize;
+    if (batchValues == null || batchValues.length < required) {
+      batchValues = new double[required];
+    }
+    double[] batch = batchValues;
+
+    // Set the value for the input nodes to be the input, one node at a time
+    for (int sample = 0; sample < batchSize; sample++) {
+      for (int i = 0; i < inputSize; i++) {
+        batch[i * batchSize + sample] = inputs[sample * inputSize + i];
+      }
+    }
+
+    // calculate the value of each hidden and output node in order, across the whole batch
+    for (int node = inputSize; node < values.length; node++) {
+      int offset = node * batchSize;
+      Arrays.fill(batch, offset, offset + batchSize, 0);
+      int end = connectionStart[node - inputSize + 1];
+      for (int c = connectionStart[node - inputSize]; c < end; c++) {
+        if (enabled[c]) {
+          double weight = weights[c];
+          int source = sources[c] * batchSize;
+          for (int sample = 0; sample < batchSize; sample++) {
+            batch[offset + sample] += weight * batch[source + sample];
+          }
+        }
+      }
+      for (int sample = 0; sample < batchSize; sample++) {
+        batch[offset + sample] = activationFunction(batch[offset + sample]);
+      }
+    }
+
+    // The output nodes are the last in the order
+    int firstOutput = values.length - outputSize;
+    for (int sample = 0; sample < batchSize; sample++) {
+      for (int o = 0; o < outputSize; o++) {
+        outputs[sample * outputSize + o] = batch[(firstOutput + o) * batchSize + sample];
+      }
+    }
+  }
+
+  private static double activationFunction(double x) {
+    return 1d / (1 + Math.exp(-x));
+  }
+
+  public int getInputSize() {
+    return inputSize;
+  }
+
+  public int getOutputSize() {
+    return outputSize;
+  }
+}
@@ -14,8 +14,6 @@ public class ConnectionGene extends Gene implements Serializable {
   private double weight;
   private boolean enabled = true;
 
-  private int replaceIndex;
-
   public ConnectionGene(NodeGene from, NodeGene to) {
     this.from = from;
     this.to = to;
@@ -66,12 +64,4 @@ public class ConnectionGene extends Gene implements Serializable {
   public int hashCode() {
     return from.getInnovationNumber() * Neat.MAX_NODES + to.getInnovationNumber();
   }
-
-  public int getReplaceIndex() {
-    return replaceIndex;
-  }
-
-  public void setReplaceIndex(int replaceIndex) {
-    this.replaceIndex = replaceIndex;
-  }
 }
\ No newline at end of file
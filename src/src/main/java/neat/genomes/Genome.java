@@ -12,7 +12,9 @@ public class Genome implements Serializable {
   private RandomHashSet<NodeGene> nodes = new RandomHashSet<>();
 
   private Neat neat;
-
+  // bumped by every change to the genome, and by the changes to its nodes or connections
+  private transient int version;
+  private transient int structureVersion;
 
   public Genome(Neat neat) {
     this.neat = neat;
@@ -47,7 +49,7 @@ public class Genome implements Serializable {
       int in2 = gene2.getInnovationNumber();
 
       if (in1 == in2) {
-        if (Math.random() > 0.5) {
+        if (neat.getRandom().nextDouble() > 0.5) {
           genome.getConnections().add(Neat.getConnection(gene1));
         } else {
           genome.getConnections().add(Neat.getConnection(gene2));
@@ -156,19 +158,19 @@ public class Genome implements Serializable {
    * Mutate.
    */
   public void mutate() {
-    if (neat.getProbabilityMutateLink() > Math.random()) {
+    if (neat.getProbabilityMutateLink() > neat.getRandom().nextDouble()) {
       mutateLink();
     }
-    if (neat.getProbabilityMutateNode() > Math.random()) {
+    if (neat.getProbabilityMutateNode() > neat.getRandom().nextDouble()) {
       mutateNode();
     }
-    if (neat.getProbabilityMutateWeightShift() > Math.random()) {
+    if (neat.getProbabilityMutateWeightShift() > neat.getRandom().nextDouble()) {
       mutateWeightShift();
     }
-    if (neat.getProbabilityMutateWeightRandom() > Math.random()) {
+    if (neat.getProbabilityMutateWeightRandom() > neat.getRandom().nextDouble()) {
       mutateWeightRandom();
     }
-    if (neat.getProbabilityMutateToggleLink() > Math.random()) {
+    if (neat.getProbabilityMutateToggleLink() > neat.getRandom().nextDouble()) {
       mutateLinkToggle();
     }
   }
@@ -180,8 +182,8 @@ public class Genome implements Serializable {
 
     for (int i = 0; i < 100; i++) {
 
-      NodeGene a = nodes.randomElement();
-      NodeGene b = nodes.randomElement();
+      NodeGene a = nodes.randomElement(neat.getRandom());
+      NodeGene b = nodes.randomElement(neat.getRandom());
 
       if (a == null || b == null) {
         continue;
@@ -202,9 +204,10 @@ public class Genome implements Serializable {
       }
 
       con = neat.getConnection(con.getFrom(), con.getTo());
-      con.setWeight((Math.random() * 2 - 1) * neat.getWeightRandomStrength());
+      con.setWeight((neat.getRandom().nextDouble() * 2 - 1) * neat.getWeightRandomStrength());
 
       connections.addSorted(con);
+      structureChanged();
       return;
     }
   }
@@ -213,7 +216,7 @@ public class Genome implements Serializable {
    * Mutates a node.
    */
   public void mutateNode() {
-    ConnectionGene con = connections.randomElement();
+    ConnectionGene con = connections.randomElement(neat.getRandom());
     if (con == null) {
       return;
     }
@@ -221,16 +224,7 @@ public class Genome implements Serializable {
     NodeGene from = con.getFrom();
     NodeGene to = con.getTo();
 
-    int replaceIndex = neat.getReplaceIndex(from, to);
-    NodeGene middle;
-    if (replaceIndex == 0) {
-      middle = neat.getNode();
-      middle.setX((from.getX() + to.getX()) / 2);
-      middle.setY((from.getY() + to.getY()) / 2 + Math.random() * 0.1 - 0.05);
-      neat.setReplaceIndex(from, to, middle.getInnovationNumber());
-    } else {
-      middle = neat.getNode(replaceIndex);
-    }
+    NodeGene middle = neat.getMiddleNode(from, to);
 
     ConnectionGene con1 = neat.getConnection(from, middle);
     ConnectionGene con2 = neat.getConnection(middle, to);
@@ -239,20 +233,23 @@ public class Genome implements Serializable {
     con2.setWeight(con.getWeight());
     con2.setEnabled(con.isEnabled());
 
-    connections.remove(con);
-    connections.add(con1);
-    connections.add(con2);
+    connections.removeSorted(con);
+    connections.addSorted(con1);
+    connections.addSorted(con2);
 
     nodes.add(middle);
+    structureChanged();
   }
 
   /**
    * Mutates a weight by shifting its value.
    */
   public void mutateWeightShift() {
-    ConnectionGene con = connections.randomElement();
+    ConnectionGene con = connections.randomElement(neat.getRandom());
     if (con != null) {
-      con.setWeight(con.getWeight() + (Math.random() * 2 - 1) * neat.getWeightShiftStrength());
+      con.setWeight(con.getWeight()
+          + (neat.getRandom().nextDouble() * 2 - 1) * neat.getWeightShiftStrength());
+      version++;
     }
   }
 
@@ -260,9 +257,10 @@ public class Genome implements Serializable {
    * Mutates a weight by changing it value random;y.
    */
   public void mutateWeightRandom() {
-    ConnectionGene con = connections.randomElement();
+    ConnectionGene con = connections.randomElement(neat.getRandom());
     if (con != null) {
-      con.setWeight((Math.random() * 2 - 1) * neat.getWeightRandomStrength());
+      con.setWeight((neat.getRandom().nextDouble() * 2 - 1) * neat.getWeightRandomStrength());
+      version++;
     }
   }
 
@@ -270,12 +268,37 @@ public class Genome implements Serializable {
    * Mutates link ny toggling if it is enabled or disabled.
    */
   public void mutateLinkToggle() {
-    ConnectionGene con = connections.randomElement();
+    ConnectionGene con = connections.randomElement(neat.getRandom());
     if (con != null) {
       con.setEnabled(!con.isEnabled());
+      version++;
     }
   }
 
+  private void structureChanged() {
+    version++;
+    structureVersion++;
+  }
+
+  /**
+   * Gets the version of the genome, which changes whenever the genome does.
+   *
+   * @return the version
+   */
+  public int getVersion() {
+    return version;
+  }
+
+  /**
+   * Gets the version of the genome's structure, which changes whenever a node or connection is
+   * added or removed, but not when a connection's weight or enabled flag changes.
+   *
+   * @return the structure version
+   */
+  public int getStructureVersion() {
+    return structureVersion;
+  }
+
   public RandomHashSet<ConnectionGene> getConnections() {
     return connections;
   }
@@ -0,0 +1,154 @@
+package neat.genomes;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * The innovation number of every connection made so far, looked up by the nodes it connects.
+ * Each (from, to) pair of node innovation numbers is packed into a long and kept in an open
+ * addressing hash table, which maps it to the connection's innovation number. The nodes and
+ * replace index of each connection are held in arrays indexed by innovation number, so looking
+ * up or adding a connection never allocates anything but the occasional larger array.
+ */
+public class InnovationRegistry implements Serializable {
+
+  //default serialVersion id
+  private static final long serialVersionUID = 1L;
+
+  private static final int INITIAL_CAPACITY = 64;
+  // a key no pair can have, as node innovation numbers start from 1
+  private static final long EMPTY = 0;
+
+  // the hash table, a free slot holds the empty key
+  private long[] keys = new long[INITIAL_CAPACITY];
+  private int[] innovations = new int[INITIAL_CAPACITY];
+  // the nodes and replace index of each connection, the connection with innovation i at i - 1
+  private int[] from = new int[INITIAL_CAPACITY / 2];
+  private int[] to = new int[INITIAL_CAPACITY / 2];
+  private int[] replaceIndex = new int[INITIAL_CAPACITY / 2];
+  private int size;
+
+  private static long key(int from, int to) {
+    return ((long) from << 32) | (to & 0xFFFFFFFFL);
+  }
+
+  // the slot holding the key, or the free slot it would go in
+  private static int slot(long[] keys, long key) {
+    int mask = keys.length - 1;
+    // fibonacci hashing, spreading the bits of the key over the slot index
+    int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+    while (keys[slot] != EMPTY && keys[slot] != key) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * Gets the innovation number of the connection between two nodes.
+   *
+   * @param from the innovation number of the node the connection starts at
+   * @param to   the innovation number of the node the connection ends at
+   * @return the innovation number, or 0 if there is no such connection
+   */
+  public int getInnovation(int from, int to) {
+    int slot = slot(keys, key(from, to));
+    return keys[slot] == EMPTY ? 0 : innovations[slot];
+  }
+
+  /**
+   * Gets the innovation number of the connection between two nodes, adding the connection
+   * with the next innovation number if there is none.
+   *
+   * @param from the innovation number of the node the connection starts at
+   * @param to   the innovation number of the node the connection ends at
+   * @return the innovation number
+   */
+  public int register(int from, int to) {
+    long key = key(from, to);
+    int slot = slot(keys, key);
+    if (keys[slot] != EMPTY) {
+      return innovations[slot];
+    }
+    if (size == this.from.length) {
+      this.from = Arrays.copyOf(this.from, size * 2);
+      this.to = Arrays.copyOf(this.to, size * 2);
+      this.replaceIndex = Arrays.copyOf(this.replaceIndex, size * 2);
+    }
+    this.from[size] = from;
+    this.to[size] = to;
+    this.replaceIndex[size] = 0;
+    size++;
+    keys[slot] = key;
+    innovations[slot] = size;
+    // keep the table at most half full, so probes stay short
+    if (size * 2 > keys.length) {
+      grow();
+    }
+    return size;
+  }
+
+  private void grow() {
+    long[] newKeys = new long[keys.length * 2];
+    int[] newInnovations = new int[keys.length * 2];
+    for (int i = 0; i < keys.length; i++) {
+      if (keys[i] != EMPTY) {
+        int slot = slot(newKeys, keys[i]);
+        newKeys[slot] = keys[i];
+        newInnovations[slot] = innovations[i];
+      }
+    }
+    keys = newKeys;
+    innovations = newInnovations;
+  }
+
+  /**
+   * Gets the replace index of the connection between two nodes.
+   * This is the node that was placed in the middle of the connection when it was first split.
+   *
+   * @param from the innovation number of the node the connection starts at
+   * @param to   the innovation number of the node the connection ends at
+   * @return the replace index, or 0 if the connection has not been split or does not exist
+   */
+  public int getReplaceIndex(int from, int to) {
+    int innovation = getInnovation(from, to);
+    return innovation == 0 ? 0 : replaceIndex[innovation - 1];
+  }
+
+  public int getReplaceIndex(int innovation) {
+    return replaceIndex[innovation - 1];
+  }
+
+  /**
+   * Sets the replace index of the connection between two nodes, if the connection exists.
+   *
+   * @param from  the innovation number of the node the connection starts at
+   * @param to    the innovation number of the node the connection ends at
+   * @param index the replace index
+   */
+  public void setReplaceIndex(int from, int to, int index) {
+    int innovation = getInnovation(from, to);
+    if (innovation != 0) {
+      replaceIndex[innovation - 1] = index;
+    }
+  }
+
+  public int getFrom(int innovation) {
+    return from[innovation - 1];
+  }
+
+  public int getTo(int innovation) {
+    return to[innovation - 1];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Clear.
+   */
+  public void clear() {
+    Arrays.fill(keys, EMPTY);
+    size = 0;
+  }
+}
@@ -0,0 +1,271 @@
+package neat.genomes;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import neat.Neat;
+
+/**
+ * A genome's connections packed into parallel primitive arrays sorted by innovation number.
+ * Used for speciation and breeding, where two genomes are merged gene by gene, so that no
+ * objects are followed or created per gene. A packed genome is never modified, and converts
+ * back to an equivalent {@link Genome} with {@link #toGenome()}.
+ */
+public class PackedGenome {
+  private final Neat neat;
+  private final int size;
+  private final int[] innovation;
+  private final int[] from;
+  private final int[] to;
+  private final double[] weight;
+  private final BitSet enabled;
+  // the innovation numbers of the genome's nodes, in the genome's order
+  private final int[] nodes;
+
+  private PackedGenome(Neat neat, int size, int[] innovation, int[] from, int[] to,
+                       double[] weight, BitSet enabled, int[] nodes) {
+    this.neat = neat;
+    this.size = size;
+    this.innovation = innovation;
+    this.from = from;
+    this.to = to;
+    this.weight = weight;
+    this.enabled = enabled;
+    this.nodes = nodes;
+  }
+
+  /**
+   * Instantiates a new Packed genome from a genome.
+   *
+   * @param genome the genome
+   */
+  public PackedGenome(Genome genome) {
+    this.neat = genome.getNeat();
+    RandomHashSet<ConnectionGene> cons = genome.getConnections();
+    this.size = cons.size();
+    this.innovation = new int[size];
+    this.from = new int[size];
+    this.to = new int[size];
+    this.weight = new double[size];
+    this.enabled = new BitSet(size);
+    for (int i = 0; i < size; i++) {
+      ConnectionGene c = cons.get(i);
+      innovation[i] = c.getInnovationNumber();
+      from[i] = c.getFrom().getInnovationNumber();
+      to[i] = c.getTo().getInnovationNumber();
+      weight[i] = c.getWeight();
+      enabled.set(i, c.isEnabled());
+    }
+    RandomHashSet<NodeGene> nodeGenes = genome.getNodes();
+    this.nodes = new int[nodeGenes.size()];
+    for (int i = 0; i < nodes.length; i++) {
+      nodes[i] = nodeGenes.get(i).getInnovationNumber();
+    }
+  }
+
+  /**
+   * Creates a new genome.
+   * Follows the same rules as {@link Genome#crossOver(Genome, Genome)}, g1 should have the
+   * higher score.
+   *
+   * @param g1 the first genome
+   * @param g2 the second genome
+   * @return the child genome
+   */
+  public static PackedGenome crossOver(PackedGenome g1, PackedGenome g2) {
+    // the child can not have more connections than the first genome
+    int[] innovation = new int[g1.size];
+    int[] from = new int[g1.size];
+    int[] to = new int[g1.size];
+    double[] weight = new double[g1.size];
+    BitSet enabled = new BitSet(g1.size);
+    int size = 0;
+
+    int indexG1 = 0;
+    int indexG2 = 0;
+    while (indexG1 < g1.size && indexG2 < g2.size) {
+      int in1 = g1.innovation[indexG1];
+      int in2 = g2.innovation[indexG2];
+      if (in1 == in2) {
+        if (g1.neat.getRandom().nextDouble() > 0.5) {
+          g1.copyTo(indexG1, size, from, to, weight, enabled);
+        } else {
+          g2.copyTo(indexG2, size, from, to, weight, enabled);
+        }
+        innovation[size++] = in1;
+        indexG1++;
+        indexG2++;
+      } else if (in1 > in2) {
+        //disjoint gene of b
+        indexG2++;
+      } else {
+        //disjoint gene of a
+        g1.copyTo(indexG1, size, from, to, weight, enabled);
+        innovation[size++] = in1;
+        indexG1++;
+      }
+    }
+
+    while (indexG1 < g1.size) {
+      g1.copyTo(indexG1, size, from, to, weight, enabled);
+      innovation[size++] = g1.innovation[indexG1];
+      indexG1++;
+    }
+
+    // the child has every input and output node, then the nodes of its connections
+    Neat neat = g1.neat;
+    int fixedNodes = neat.getInputSize() + neat.getOutputSize();
+    int[] nodes = new int[fixedNodes + size * 2];
+    BitSet added = new BitSet();
+    int nodeCount = 0;
+    for (int i = 1; i <= fixedNodes; i++) {
+      nodes[nodeCount++] = i;
+      added.set(i);
+    }
+    for (int i = 0; i < size; i++) {
+      if (!added.get(from[i])) {
+        nodes[nodeCount++] = from[i];
+        added.set(from[i]);
+      }
+      if (!added.get(to[i])) {
+        nodes[nodeCount++] = to[i];
+        added.set(to[i]);
+      }
+    }
+
+    return new PackedGenome(neat, size, innovation, from, to, weight, enabled,
+        Arrays.copyOf(nodes, nodeCount));
+  }
+
+  private void copyTo(int index, int target, int[] from, int[] to, double[] weight,
+                      BitSet enabled) {
+    from[target] = this.from[index];
+    to[target] = this.to[index];
+    weight[target] = this.weight[index];
+    enabled.set(target, this.enabled.get(index));
+  }
+
+  /**
+   * calculated the distance between this genome and a second genome.
+   * Gives the same result as {@link Genome#distance(Genome)}.
+   *
+   * @param other the other genome
+   * @return the distance between this and the second genome
+   */
+  public double distance(PackedGenome other) {
+    PackedGenome g1 = this;
+    PackedGenome g2 = other;
+    if (g1.highestInnovation() < g2.highestInnovation()) {
+      g1 = other;
+      g2 = this;
+    }
+
+    int indexG1 = 0;
+    int indexG2 = 0;
+
+    int disjoint = 0;
+    double weightDiff = 0;
+    int similar = 0;
+
+    while (indexG1 < g1.size && indexG2 < g2.size) {
+      int in1 = g1.innovation[indexG1];
+      int in2 = g2.innovation[indexG2];
+      if (in1 == in2) {
+        //similar gene
+        similar++;
+        weightDiff += Math.abs(g1.weight[indexG1] - g2.weight[indexG2]);
+        indexG1++;
+        indexG2++;
+      } else if (in1 > in2) {
+        //disjoint gene of b
+        disjoint++;
+        indexG2++;
+      } else {
+        //disjoint gene of a
+        disjoint++;
+        indexG1++;
+      }
+    }
+
+    weightDiff /= Math.max(1, similar);
+    int excess = g1.size - indexG1;
+
+    double n = Math.max(g1.size, g2.size);
+    if (n < 20) {
+      n = 1;
+    }
+
+    return neat.getC1() * disjoint / n + neat.getC2() * excess / n + neat.getC3() * weightDiff / n;
+  }
+
+  private int highestInnovation() {
+    return size == 0 ? 0 : innovation[size - 1];
+  }
+
+  /**
+   * Convert this packed genome back into a genome.
+   * The nodes are the neat's shared node genes, and each connection is a new connection gene.
+   *
+   * @return the genome
+   */
+  public Genome toGenome() {
+    return toGenome(neat);
+  }
+
+  /**
+   * Convert this packed genome into a genome of another neat that shares its innovations, such
+   * as another island of an island model.
+   *
+   * @param neat the neat
+   * @return the genome
+   */
+  public Genome toGenome(Neat neat) {
+    Genome genome = new Genome(neat);
+    for (int node : nodes) {
+      genome.getNodes().add(neat.getNode(node));
+    }
+    for (int i = 0; i < size; i++) {
+      ConnectionGene c = new ConnectionGene(neat.getNode(from[i]), neat.getNode(to[i]));
+      c.setInnovationNumber(innovation[i]);
+      c.setWeight(weight[i]);
+      c.setEnabled(enabled.get(i));
+      genome.getConnections().add(c);
+    }
+    return genome;
+  }
+
+  public Neat getNeat() {
+    return neat;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int getNodeCount() {
+    return nodes.length;
+  }
+
+  public int getNode(int index) {
+    return nodes[index];
+  }
+
+  public int getInnovationNumber(int index) {
+    return innovation[index];
+  }
+
+  public int getFrom(int index) {
+    return from[index];
+  }
+
+  public int getTo(int index) {
+    return to[index];
+  }
+
+  public double getWeight(int index) {
+    return weight[index];
+  }
+
+  public boolean isEnabled(int index) {
+    return enabled.get(index);
+  }
+}
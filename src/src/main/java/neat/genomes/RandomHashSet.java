@@ -1,34 +1,55 @@
 package neat.genomes;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.SplittableRandom;
 
+/**
+ * A list with constant time membership checks and random access.
+ * Each element's position in the list is indexed, so an element can be found without a scan.
+ * Removing with {@link #swapRemove(Object)} takes constant time but does not keep the order,
+ * use {@link #remove(Object)} when the order matters.
+ * Inserting or removing in the middle of the list shifts the later elements, so their indexed
+ * positions are only brought up to date when one of them is next looked up. Lists of genes
+ * sorted by innovation number are instead searched by innovation number, see
+ * {@link #addSorted(Gene)} and {@link #removeSorted(Gene)}, and never need their positions.
+ *
+ * @param <T> the type of element
+ */
 public class RandomHashSet<T> implements Serializable {
 
   //default serialVersion id
   private static final long serialVersionUID = 1L;
 
-  HashSet<T> set;
+  // the position of each element in data, rebuilt when deserialized
+  transient HashMap<T, Integer> index;
+  // the indexed positions from this position onwards may be out of date
+  private transient int staleFrom = Integer.MAX_VALUE;
   ArrayList<T> data;
 
   public RandomHashSet() {
-    set = new HashSet<>();
+    index = new HashMap<>();
     data = new ArrayList<>();
   }
 
   public boolean contains(T object) {
-    return set.contains(object);
+    return index.containsKey(object);
   }
 
   /**
    * Gets a random element.
    *
+   * @param random the random
    * @return the t
    */
-  public T randomElement() {
-    if (set.size() > 0) {
-      return data.get((int) (Math.random() * size()));
+  public T randomElement(SplittableRandom random) {
+    if (!data.isEmpty()) {
+      return data.get(random.nextInt(size()));
     }
     return null;
   }
@@ -43,34 +64,61 @@ public class RandomHashSet<T> implements Serializable {
    * @param object the object
    */
   public void add(T object) {
-    if (!set.contains(object)) {
-      set.add(object);
+    if (!index.containsKey(object)) {
+      index.put(object, data.size());
       data.add(object);
     }
   }
 
   /**
    * Adds a new object to the data sorted by its innovation number.
+   * The data must already be sorted by innovation number.
    *
    * @param object the object
    */
   @SuppressWarnings("unchecked")
   public void addSorted(Gene object) {
-    for (int i = 0; i < this.size(); i++) {
-      int innovation = ((Gene) data.get(i)).getInnovationNumber();
-      if (object.getInnovationNumber() < innovation) {
-        data.add(i, (T) object);
-        set.add((T) object);
-        return;
+    if (index.containsKey(object)) {
+      return;
+    }
+    int position = sortedPosition(object);
+    data.add(position, (T) object);
+    index.put((T) object, position);
+    staleFrom = Math.min(staleFrom, position);
+  }
+
+  /**
+   * Removes an object from data sorted by innovation number, keeping the order.
+   * The object is found by its innovation number, so no positions need to be brought up to date.
+   *
+   * @param object the object
+   */
+  public void removeSorted(Gene object) {
+    int position = sortedPosition(object) - 1;
+    if (position >= 0 && object.equals(data.get(position))) {
+      remove(position);
+    }
+  }
+
+  // binary search for the first gene with a higher innovation number
+  private int sortedPosition(Gene object) {
+    int low = 0;
+    int high = data.size();
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (((Gene) data.get(middle)).getInnovationNumber() <= object.getInnovationNumber()) {
+        low = middle + 1;
+      } else {
+        high = middle;
       }
     }
-    data.add((T) object);
-    set.add((T) object);
+    return low;
   }
 
   public void clear() {
-    set.clear();
+    index.clear();
     data.clear();
+    staleFrom = Integer.MAX_VALUE;
   }
 
   /**
@@ -87,7 +135,7 @@ public class RandomHashSet<T> implements Serializable {
   }
 
   /**
-   * Remove.
+   * Remove, keeping the order of the remaining elements.
    *
    * @param index the index
    */
@@ -95,16 +143,116 @@ public class RandomHashSet<T> implements Serializable {
     if (index < 0 || index >= size()) {
       return;
     }
-    set.remove(data.get(index));
-    data.remove(index);
+    this.index.remove(data.remove(index));
+    staleFrom = Math.min(staleFrom, index);
   }
 
+  /**
+   * Remove, keeping the order of the remaining elements.
+   *
+   * @param object the object
+   */
   public void remove(T object) {
-    set.remove(object);
-    data.remove(object);
+    int position = positionOf(object);
+    if (position >= 0) {
+      remove(position);
+    }
+  }
+
+  /**
+   * Remove by moving the last element into the removed element's place.
+   *
+   * @param index the index
+   */
+  public void swapRemove(int index) {
+    if (index < 0 || index >= size()) {
+      return;
+    }
+    T last = data.remove(data.size() - 1);
+    if (index == data.size()) {
+      this.index.remove(last);
+      return;
+    }
+    this.index.remove(data.set(index, last));
+    this.index.put(last, index);
   }
 
+  /**
+   * Remove by moving the last element into the removed element's place.
+   *
+   * @param object the object
+   */
+  public void swapRemove(T object) {
+    int position = positionOf(object);
+    if (position >= 0) {
+      swapRemove(position);
+    }
+  }
+
+  /**
+   * Sort the elements.
+   *
+   * @param comparator the comparator
+   */
+  public void sort(Comparator<? super T> comparator) {
+    data.sort(comparator);
+    reindex(0);
+  }
+
+  /**
+   * Sort the elements and remove the lowest ones.
+   *
+   * @param count      the number of elements to remove
+   * @param comparator the comparator
+   * @return the removed elements
+   */
+  public List<T> removeLowest(int count, Comparator<? super T> comparator) {
+    data.sort(comparator);
+    count = Math.max(0, Math.min(count, data.size()));
+    List<T> lowest = data.subList(0, count);
+    ArrayList<T> removed = new ArrayList<>(lowest);
+    lowest.clear();
+    for (T object : removed) {
+      index.remove(object);
+    }
+    reindex(0);
+    return removed;
+  }
+
+  /**
+   * Gets the data.
+   * The list must not be modified directly, as the positions of the elements are indexed.
+   *
+   * @return the data
+   */
   public ArrayList<T> getData() {
     return data;
   }
-}
\ No newline at end of file
+
+  // the position of an object, or -1 if it is not in the list
+  private int positionOf(T object) {
+    Integer position = index.get(object);
+    if (position == null) {
+      return -1;
+    }
+    if (position >= staleFrom) {
+      reindex(staleFrom);
+      position = index.get(object);
+    }
+    return position;
+  }
+
+  // update the indexed position of every element from the given position onwards
+  private void reindex(int from) {
+    for (int i = from; i < data.size(); i++) {
+      index.put(data.get(i), i);
+    }
+    staleFrom = Integer.MAX_VALUE;
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    index = new HashMap<>();
+    reindex(0);
+  }
+}
@@ -2,17 +2,32 @@ package neat.genomes;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
 
+/**
+ * Selects random objects with a probability proportional to their score.
+ * An alias table (Vose's method) is built over the scores the first time an object is selected
+ * after one is added, after which each selection takes constant time. Negative scores count as
+ * zero, and if no object has a positive score every object is equally likely.
+ *
+ * @param <T> the type of object
+ */
 public class RandomSelector<T> implements Serializable {
 
   //default serialVersion id
   private static final long serialVersionUID = 1L;
 
   private ArrayList<T> objects = new ArrayList<>();
-  private ArrayList<Double> scores = new ArrayList<>();
+  private double[] scores = new double[8];
 
   private double totalScore = 0;
 
+  // the alias table, rebuilt when an object has been added since it was last built
+  private transient double[] probability;
+  private transient int[] alias;
+  private transient boolean uniform;
+
   /**
    * Add.
    *
@@ -20,26 +35,83 @@ public class RandomSelector<T> implements Serializable {
    * @param score   the score
    */
   public void add(T element, double score) {
+    // a score that can not be weighted is never selected over a positive one
+    double weight = score > 0 && score < Double.POSITIVE_INFINITY ? score : 0;
+    if (objects.size() == scores.length) {
+      scores = Arrays.copyOf(scores, scores.length * 2);
+    }
+    scores[objects.size()] = weight;
     objects.add(element);
-    scores.add(score);
-    totalScore += score;
+    totalScore += weight;
+    probability = null;
   }
 
   /**
    * Get a random object.
    *
-   * @return the t
+   * @param random the random
+   * @return the t, or null if there are no objects
    */
-  public T random() {
-    double v = Math.random() * totalScore;
-    double c = 0;
-    for (int i = 0; i < objects.size(); i++) {
-      c += scores.get(i);
-      if (c >= v) {
-        return objects.get(i);
+  public T random(SplittableRandom random) {
+    int size = objects.size();
+    if (size == 0) {
+      return null;
+    }
+    if (probability == null) {
+      buildAliasTable();
+    }
+    int i = random.nextInt(size);
+    if (uniform || random.nextDouble() < probability[i]) {
+      return objects.get(i);
+    }
+    return objects.get(alias[i]);
+  }
+
+  // Vose's alias method, each column holds the chance of keeping its own object and the
+  // object to choose otherwise
+  private void buildAliasTable() {
+    int size = objects.size();
+    probability = new double[size];
+    alias = new int[size];
+    uniform = !(totalScore > 0) || totalScore == Double.POSITIVE_INFINITY;
+    if (uniform) {
+      return;
+    }
+
+    // scale the scores so the average is 1, then split them into those below and above it
+    int[] small = new int[size];
+    int[] large = new int[size];
+    int smallCount = 0;
+    int largeCount = 0;
+    for (int i = 0; i < size; i++) {
+      probability[i] = scores[i] * size / totalScore;
+      if (probability[i] < 1) {
+        small[smallCount++] = i;
+      } else {
+        large[largeCount++] = i;
+      }
+    }
+
+    // fill each small column up to 1 with part of a large one
+    while (smallCount > 0 && largeCount > 0) {
+      int less = small[--smallCount];
+      int more = large[--largeCount];
+      alias[less] = more;
+      probability[more] = probability[more] + probability[less] - 1;
+      if (probability[more] < 1) {
+        small[smallCount++] = more;
+      } else {
+        large[largeCount++] = more;
       }
     }
-    return null;
+
+    // whatever is left is 1 apart from rounding errors
+    while (largeCount > 0) {
+      probability[large[--largeCount]] = 1;
+    }
+    while (smallCount > 0) {
+      probability[small[--smallCount]] = 1;
+    }
   }
 
   /**
@@ -47,8 +119,8 @@ public class RandomSelector<T> implements Serializable {
    */
   public void reset() {
     objects.clear();
-    scores.clear();
     totalScore = 0;
+    probability = null;
   }
 
-}
\ No newline at end of file
+}
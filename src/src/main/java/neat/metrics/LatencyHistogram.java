@@ -0,0 +1,121 @@
+package neat.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of durations in nanoseconds, which many threads can record into at once.
+ * Durations are counted in power of two buckets, so percentiles are only accurate to within a
+ * factor of two, but recording is a few uncontended additions.
+ */
+public class LatencyHistogram {
+  private static final int BUCKETS = 64;
+  // bucket b counts the durations whose highest set bit is bit b - 1, bucket 0 counts zeros
+  private final LongAdder[] counts = new LongAdder[BUCKETS];
+  private final LongAdder total = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Instantiates a new empty Latency histogram.
+   */
+  public LatencyHistogram() {
+    for (int i = 0; i < BUCKETS; i++) {
+      counts[i] = new LongAdder();
+    }
+  }
+
+  static int bucket(long nanos) {
+    return Long.SIZE - Long.numberOfLeadingZeros(nanos);
+  }
+
+  // the longest duration counted by a bucket
+  private static long upperBound(int bucket) {
+    return bucket == BUCKETS - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+  }
+
+  /**
+   * Record a duration, negative durations are recorded as zero.
+   *
+   * @param nanos the duration in nanoseconds
+   */
+  public void record(long nanos) {
+    long duration = Math.max(0, nanos);
+    counts[bucket(duration)].increment();
+    total.add(duration);
+    max.accumulate(duration);
+  }
+
+  /**
+   * Move everything recorded so far into a new histogram, leaving this one empty.
+   * A duration recorded while this runs may be missed, which is fine for sampled metrics.
+   *
+   * @return the histogram of everything recorded before it was taken
+   */
+  public LatencyHistogram snapshotAndReset() {
+    LatencyHistogram snapshot = new LatencyHistogram();
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot.counts[i].add(counts[i].sumThenReset());
+    }
+    snapshot.total.add(total.sumThenReset());
+    snapshot.max.accumulate(max.getThenReset());
+    return snapshot;
+  }
+
+  /**
+   * Gets the number of durations recorded.
+   *
+   * @return the count
+   */
+  public long getCount() {
+    long count = 0;
+    for (LongAdder c : counts) {
+      count += c.sum();
+    }
+    return count;
+  }
+
+  public long getTotal() {
+    return total.sum();
+  }
+
+  public long getMax() {
+    return max.get();
+  }
+
+  /**
+   * Gets the mean duration.
+   *
+   * @return the mean in nanoseconds, or 0 if nothing was recorded
+   */
+  public double getMean() {
+    long count = getCount();
+    return count == 0 ? 0 : (double) getTotal() / count;
+  }
+
+  /**
+   * Gets an upper bound of a percentile of the durations, no more than twice the true value.
+   *
+   * @param percentile the percentile, between 0 and 1
+   * @return the percentile in nanoseconds, or 0 if nothing was recorded
+   */
+  public long getPercentile(double percentile) {
+    long[] snapshot = new long[BUCKETS];
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts[i].sum();
+      count += snapshot[i];
+    }
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile * count));
+    long seen = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      seen += snapshot[i];
+      if (seen >= rank) {
+        return Math.min(upperBound(i), getMax());
+      }
+    }
+    return getMax();
+  }
+}
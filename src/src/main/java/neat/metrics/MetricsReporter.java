@@ -0,0 +1,83 @@
+package neat.metrics;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dumps a {@link TrainingMetrics} sample to a file periodically, on a background thread.
+ * Files ending in .json get a JSON object per line, anything else gets CSV with a header.
+ * Calculations are timed for as long as a reporter is open.
+ */
+public class MetricsReporter implements Closeable {
+  private final TrainingMetrics metrics;
+  private final BufferedWriter writer;
+  private final boolean json;
+  private final ScheduledExecutorService executor;
+
+  /**
+   * Instantiates a new Metrics reporter and starts its thread.
+   *
+   * @param metrics the metrics to report
+   * @param path    the file the samples are written to, replacing anything already in it
+   * @param seconds the time between samples
+   * @throws IOException the io exception
+   */
+  public MetricsReporter(TrainingMetrics metrics, Path path, long seconds) throws IOException {
+    this.metrics = metrics;
+    this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+    this.json = path.getFileName().toString().endsWith(".json");
+    if (!json) {
+      writer.write(TrainingMetrics.Sample.csvHeader());
+      writer.newLine();
+      writer.flush();
+    }
+    // start each sample from when reporting began
+    metrics.sample();
+    TrainingMetrics.setTimingCalculations(true);
+    this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "metrics-reporter");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.scheduleAtFixedRate(this::report, seconds, seconds, TimeUnit.SECONDS);
+  }
+
+  private synchronized void report() {
+    TrainingMetrics.Sample sample = metrics.sample();
+    try {
+      writer.write(json ? sample.toJson() : sample.toCsv());
+      writer.newLine();
+      writer.flush();
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+
+  /**
+   * Stop reporting, once whatever was recorded since the last sample is written.
+   */
+  @Override
+  public void close() {
+    // a sample being written is finished, the periodic ones after it are cancelled
+    executor.shutdown();
+    try {
+      executor.awaitTermination(1, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    TrainingMetrics.setTimingCalculations(false);
+    report();
+    try {
+      writer.close();
+    } catch (IOException e) {
+      e.printStackTrace();
+    }
+  }
+}
@@ -0,0 +1,263 @@
+package neat.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and histograms of where training time goes, recorded from every training thread.
+ * Each {@link #sample()} covers the time since the previous one, so a {@link MetricsReporter}
+ * can dump the rates periodically.
+ */
+public class TrainingMetrics {
+  private static final TrainingMetrics INSTANCE = new TrainingMetrics();
+  // timing every calculation costs two clock reads each, so it is only done while reporting
+  private static volatile boolean timingCalculations;
+
+  /**
+   * The phases of {@link neat.Neat#evolve()}, and bringing the calculators up to date after it.
+   */
+  public enum Phase {
+    SPECIATE, KILL, REPRODUCE, MUTATE, CALCULATOR_REBUILD
+  }
+
+  private final LongAdder games = new LongAdder();
+  private final LongAdder turns = new LongAdder();
+  private final LongAdder allocatedBytes = new LongAdder();
+  private final LatencyHistogram calculations = new LatencyHistogram();
+  private final LatencyHistogram generations = new LatencyHistogram();
+  private final LatencyHistogram[] phases = new LatencyHistogram[Phase.values().length];
+  private long lastSample = System.nanoTime();
+
+  /**
+   * Instantiates a new Training metrics, with nothing recorded.
+   */
+  public TrainingMetrics() {
+    for (int i = 0; i < phases.length; i++) {
+      phases[i] = new LatencyHistogram();
+    }
+  }
+
+  /**
+   * Gets the metrics every part of training records into.
+   *
+   * @return the training metrics
+   */
+  public static TrainingMetrics getInstance() {
+    return INSTANCE;
+  }
+
+  public static boolean isTimingCalculations() {
+    return timingCalculations;
+  }
+
+  public static void setTimingCalculations(boolean timingCalculations) {
+    TrainingMetrics.timingCalculations = timingCalculations;
+  }
+
+  /**
+   * Gets the number of bytes allocated so far by the live threads of this JVM.
+   *
+   * @return the bytes allocated, or -1 if the JVM cannot measure it
+   */
+  public static long allocatedBytes() {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (!(threads instanceof com.sun.management.ThreadMXBean)) {
+      return -1;
+    }
+    com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+    if (!allocations.isThreadAllocatedMemorySupported()
+        || !allocations.isThreadAllocatedMemoryEnabled()) {
+      return -1;
+    }
+    long total = 0;
+    for (long bytes : allocations.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+      // threads that have died since their ids were listed are -1
+      if (bytes > 0) {
+        total += bytes;
+      }
+    }
+    return total;
+  }
+
+  public void recordGame() {
+    games.increment();
+  }
+
+  public void recordTurn() {
+    turns.increment();
+  }
+
+  public void recordCalculation(long nanos) {
+    calculations.record(nanos);
+  }
+
+  public void recordPhase(Phase phase, long nanos) {
+    phases[phase.ordinal()].record(nanos);
+  }
+
+  /**
+   * Record a trained generation.
+   *
+   * @param nanos          how long the generation took to play and evolve
+   * @param allocatedBytes the bytes allocated while it did, or a negative number if unknown
+   */
+  public void recordGeneration(long nanos, long allocatedBytes) {
+    generations.record(nanos);
+    if (allocatedBytes > 0) {
+      this.allocatedBytes.add(allocatedBytes);
+    }
+  }
+
+  /**
+   * Take everything recorded since the last sample, and start recording the next.
+   *
+   * @return the sample
+   */
+  public synchronized Sample sample() {
+    long now = System.nanoTime();
+    Sample sample = new Sample(now - lastSample);
+    lastSample = now;
+    sample.games = games.sumThenReset();
+    sample.turns = turns.sumThenReset();
+    sample.allocatedBytes = allocatedBytes.sumThenReset();
+    sample.calculations = calculations.snapshotAndReset();
+    sample.generations = generations.snapshotAndReset();
+    for (int i = 0; i < phases.length; i++) {
+      sample.phases[i] = phases[i].snapshotAndReset();
+    }
+    return sample;
+  }
+
+  /**
+   * What was recorded over one interval, written as a CSV row or a line of JSON.
+   */
+  public static class Sample {
+    private final long nanos;
+    private final LatencyHistogram[] phases = new LatencyHistogram[Phase.values().length];
+    private long games;
+    private long turns;
+    private long allocatedBytes;
+    private LatencyHistogram calculations;
+    private LatencyHistogram generations;
+
+    Sample(long nanos) {
+      this.nanos = nanos;
+    }
+
+    /**
+     * Gets the header naming the columns of {@link #toCsv()}.
+     *
+     * @return the header
+     */
+    public static String csvHeader() {
+      StringBuilder header = new StringBuilder("timestamp,seconds,generations,gamesPerSecond,"
+          + "turnsPerSecond,calculations,calculateMeanNanos,calculateP50Nanos,calculateP99Nanos,"
+          + "calculateMaxNanos");
+      for (Phase phase : Phase.values()) {
+        header.append(',').append(columnName(phase)).append("MeanMillis");
+      }
+      return header.append(",allocatedBytesPerGeneration,allocatedBytesPerSecond").toString();
+    }
+
+    // e.g. CALCULATOR_REBUILD is calculatorRebuild
+    private static String columnName(Phase phase) {
+      StringBuilder name = new StringBuilder();
+      for (String word : phase.name().toLowerCase(Locale.ROOT).split("_")) {
+        name.append(name.length() == 0 ? word
+            : Character.toUpperCase(word.charAt(0)) + word.substring(1));
+      }
+      return name.toString();
+    }
+
+    private double perSecond(long count) {
+      return nanos == 0 ? 0 : count / (nanos / 1e9);
+    }
+
+    public double getSeconds() {
+      return nanos / 1e9;
+    }
+
+    public long getGenerations() {
+      return generations.getCount();
+    }
+
+    public double getGamesPerSecond() {
+      return perSecond(games);
+    }
+
+    public double getTurnsPerSecond() {
+      return perSecond(turns);
+    }
+
+    public LatencyHistogram getCalculations() {
+      return calculations;
+    }
+
+    public LatencyHistogram getPhase(Phase phase) {
+      return phases[phase.ordinal()];
+    }
+
+    /**
+     * Gets the mean bytes allocated per generation trained.
+     *
+     * @return the bytes, or 0 if no generations were trained
+     */
+    public double getAllocatedBytesPerGeneration() {
+      long count = generations.getCount();
+      return count == 0 ? 0 : (double) allocatedBytes / count;
+    }
+
+    public double getAllocatedBytesPerSecond() {
+      return perSecond(allocatedBytes);
+    }
+
+    /**
+     * Write the sample as a CSV row, in the columns of {@link #csvHeader()}.
+     *
+     * @return the row
+     */
+    public String toCsv() {
+      StringBuilder row = new StringBuilder();
+      row.append(System.currentTimeMillis()).append(',')
+          .append(format(getSeconds())).append(',')
+          .append(getGenerations()).append(',')
+          .append(format(getGamesPerSecond())).append(',')
+          .append(format(getTurnsPerSecond())).append(',')
+          .append(calculations.getCount()).append(',')
+          .append(format(calculations.getMean())).append(',')
+          .append(calculations.getPercentile(0.5)).append(',')
+          .append(calculations.getPercentile(0.99)).append(',')
+          .append(calculations.getMax());
+      for (Phase phase : Phase.values()) {
+        row.append(',').append(format(getPhase(phase).getMean() / 1e6));
+      }
+      row.append(',').append(format(getAllocatedBytesPerGeneration()))
+          .append(',').append(format(getAllocatedBytesPerSecond()));
+      return row.toString();
+    }
+
+    /**
+     * Write the sample as a single line JSON object, with the names of {@link #csvHeader()}.
+     *
+     * @return the json
+     */
+    public String toJson() {
+      String[] names = csvHeader().split(",");
+      String[] values = toCsv().split(",");
+      StringBuilder json = new StringBuilder("{");
+      for (int i = 0; i < names.length; i++) {
+        if (i > 0) {
+          json.append(',');
+        }
+        json.append('"').append(names[i]).append("\":").append(values[i]);
+      }
+      return json.append('}').toString();
+    }
+
+    private static String format(double value) {
+      return String.format(Locale.ROOT, "%.3f", value);
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package society;
+
+import java.util.Arrays;
+
+/**
+ * A set of the indices of cells of a world grid, kept in a list that can be read by position.
+ * Cells are removed by moving the last cell into their place, and the position of each cell is
+ * held in an open addressing table, so adding, removing and checking for a cell take constant
+ * time without boxing the indices.
+ */
+public class CellSet {
+  private static final int DEFAULT_CAPACITY = 8;
+  // marks an empty slot of the table
+  private static final int EMPTY = -1;
+
+  private int[] cells;
+  private int size;
+  // the cell held in each slot of the table and that cell's position in the list
+  private int[] slotCells;
+  private int[] slotPositions;
+  private int mask;
+
+  /**
+   * Instantiates a new empty Cell set.
+   */
+  public CellSet() {
+    cells = new int[DEFAULT_CAPACITY];
+    createTable(DEFAULT_CAPACITY * 2);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Gets the cell at a position of the list.
+   *
+   * @param position the position
+   * @return the index of the cell
+   */
+  public int get(int position) {
+    if (position < 0 || position >= size) {
+      throw new IndexOutOfBoundsException("Index: " + position + ", Size: " + size);
+    }
+    return cells[position];
+  }
+
+  public boolean contains(int cell) {
+    return slotCells[find(cell)] != EMPTY;
+  }
+
+  /**
+   * Add a cell to the end of the list if it is not in the set.
+   *
+   * @param cell the index of the cell
+   * @return whether the cell was added
+   */
+  public boolean add(int cell) {
+    if (cell < 0) {
+      throw new IllegalArgumentException("Invalid cell: " + cell);
+    }
+    int slot = find(cell);
+    if (slotCells[slot] != EMPTY) {
+      return false;
+    }
+    if (size == cells.length) {
+      cells = Arrays.copyOf(cells, size * 2);
+    }
+    cells[size] = cell;
+    slotCells[slot] = cell;
+    slotPositions[slot] = size;
+    size++;
+    if (size * 2 > slotCells.length) {
+      createTable(slotCells.length * 2);
+    }
+    return true;
+  }
+
+  /**
+   * Remove a cell by moving the last cell of the list into its place.
+   *
+   * @param cell the index of the cell
+   * @return whether the cell was in the set
+   */
+  public boolean swapRemove(int cell) {
+    int slot = find(cell);
+    if (slotCells[slot] == EMPTY) {
+      return false;
+    }
+    int position = slotPositions[slot];
+    removeSlot(slot);
+    size--;
+    if (position != size) {
+      int last = cells[size];
+      cells[position] = last;
+      slotPositions[find(last)] = position;
+    }
+    return true;
+  }
+
+  /**
+   * Remove every cell.
+   */
+  public void clear() {
+    Arrays.fill(slotCells, EMPTY);
+    size = 0;
+  }
+
+  // the slot holding a cell, or the empty slot it would be put in
+  private int find(int cell) {
+    int slot = slotOf(cell);
+    while (slotCells[slot] != EMPTY && slotCells[slot] != cell) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private int slotOf(int cell) {
+    return (cell * 0x9E3779B9 >>> 16 ^ cell) & mask;
+  }
+
+  // empty a slot, moving back any later cells of the run that would no longer be found
+  private void removeSlot(int slot) {
+    slotCells[slot] = EMPTY;
+    int next = (slot + 1) & mask;
+    while (slotCells[next] != EMPTY) {
+      int home = slotOf(slotCells[next]);
+      if (((next - home) & mask) >= ((next - slot) & mask)) {
+        slotCells[slot] = slotCells[next];
+        slotPositions[slot] = slotPositions[next];
+        slotCells[next] = EMPTY;
+        slot = next;
+      }
+      next = (next + 1) & mask;
+    }
+  }
+
+  private void createTable(int capacity) {
+    slotCells = new int[capacity];
+    slotPositions = new int[capacity];
+    mask = capacity - 1;
+    Arrays.fill(slotCells, EMPTY);
+    for (int i = 0; i < size; i++) {
+      int slot = find(cells[i]);
+      slotCells[slot] = cells[i];
+      slotPositions[slot] = i;
+    }
+  }
+}
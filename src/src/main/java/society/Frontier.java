@@ -0,0 +1,169 @@
+package society;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import map.WorldGrid;
+
+/**
+ * The edges of a society's territory, kept up to date as tiles change hands, so the moves a
+ * society can make are known without scanning its territory.
+ * A frontier holds the unclaimed tiles its society can claim, its society's border tiles that
+ * touch another society's territory, and how many pairs of adjacent tiles it shares with each
+ * neighbouring society.
+ */
+public class Frontier {
+  // the offsets of the tiles left, right, above and below a tile
+  private static final int[] ROW_OFFSETS = {0, 0, -1, 1};
+  private static final int[] COLUMN_OFFSETS = {-1, 1, 0, 0};
+
+  private final Society society;
+  private final CellSet claimable = new CellSet();
+  private final CellSet border = new CellSet();
+  private final HashMap<Society, Integer> contacts = new HashMap<>();
+  private final ArrayList<Society> neighbours = new ArrayList<>();
+
+  Frontier(Society society) {
+    this.society = society;
+  }
+
+  /**
+   * Update the frontiers of every society around a cell that has just changed hands.
+   * Only the cell and the four cells beside it are looked at.
+   *
+   * @param grid     the grid of the cell
+   * @param index    the index of the cell, already claimed by its new owner
+   * @param previous the society that held the cell before, or null if it was unclaimed
+   */
+  static void tileClaimed(WorldGrid grid, int index, Society previous) {
+    Society owner = grid.getOwner(index);
+    if (previous != null) {
+      previous.getFrontier().border.swapRemove(index);
+    }
+    for (int i = 0; i < ROW_OFFSETS.length; i++) {
+      int next = grid.step(index, ROW_OFFSETS[i], COLUMN_OFFSETS[i]);
+      if (next < 0) {
+        continue;
+      }
+      if (!grid.isClaimed(next)) {
+        // The new owner can now claim this tile, the previous one only if it still touches it
+        owner.getFrontier().updateClaimable(grid, next);
+        if (previous != null) {
+          previous.getFrontier().updateClaimable(grid, next);
+        }
+        continue;
+      }
+      Society other = grid.getOwner(next);
+      // The tile is no longer free for any society beside it to claim
+      other.getFrontier().claimable.swapRemove(index);
+      // The contact between the two tiles moves from the previous owner to the new one
+      if (previous != null && other != previous) {
+        previous.getFrontier().removeContact(other);
+        other.getFrontier().removeContact(previous);
+      }
+      if (other != owner) {
+        owner.getFrontier().addContact(other);
+        other.getFrontier().addContact(owner);
+      }
+      other.getFrontier().updateBorder(grid, next);
+    }
+    owner.getFrontier().claimable.swapRemove(index);
+    owner.getFrontier().updateBorder(grid, index);
+  }
+
+  // an unclaimed cell can be claimed if it is beside this society's territory
+  private void updateClaimable(WorldGrid grid, int index) {
+    short id = grid.ownerId(society);
+    boolean touches = false;
+    for (int i = 0; i < ROW_OFFSETS.length && !touches; i++) {
+      int next = grid.step(index, ROW_OFFSETS[i], COLUMN_OFFSETS[i]);
+      touches = next >= 0 && grid.getOwnerId(next) == id;
+    }
+    if (touches && grid.isInterior(index)) {
+      claimable.add(index);
+    } else {
+      claimable.swapRemove(index);
+    }
+  }
+
+  // a cell of this society is on the border if it is beside another society's territory
+  private void updateBorder(WorldGrid grid, int index) {
+    if (hasEnemyBeside(grid, index, false)) {
+      border.add(index);
+    } else {
+      border.swapRemove(index);
+    }
+  }
+
+  private void addContact(Society other) {
+    if (contacts.merge(other, 1, Integer::sum) == 1) {
+      neighbours.add(other);
+    }
+  }
+
+  private void removeContact(Society other) {
+    if (contacts.merge(other, -1, Integer::sum) == 0) {
+      contacts.remove(other);
+      neighbours.remove(other);
+    }
+  }
+
+  /**
+   * Whether a cell is beside a cell claimed by another society.
+   *
+   * @param grid          the grid
+   * @param index         the index of the cell
+   * @param excludeTrades whether societies this frontier's society trades with are ignored
+   * @return the boolean
+   */
+  boolean hasEnemyBeside(WorldGrid grid, int index, boolean excludeTrades) {
+    short id = grid.ownerId(society);
+    for (int i = 0; i < ROW_OFFSETS.length; i++) {
+      int next = grid.step(index, ROW_OFFSETS[i], COLUMN_OFFSETS[i]);
+      if (next >= 0 && grid.isClaimed(next) && grid.getOwnerId(next) != id
+          && !(excludeTrades && society.inTradeWith(grid.getOwner(next)))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Gets the unclaimed cells beside the territory.
+   * The set must not be modified, it is kept up to date as tiles change hands.
+   *
+   * @return the claimable cells
+   */
+  public CellSet getClaimable() {
+    return claimable;
+  }
+
+  /**
+   * Gets the cells of the territory that are beside another society's territory.
+   * The set must not be modified, it is kept up to date as tiles change hands.
+   *
+   * @return the border cells
+   */
+  public CellSet getBorder() {
+    return border;
+  }
+
+  /**
+   * Gets the societies whose territory is beside this one's.
+   * The list must not be modified, it is kept up to date as tiles change hands.
+   *
+   * @return the neighbours
+   */
+  public ArrayList<Society> getNeighbours() {
+    return neighbours;
+  }
+
+  /**
+   * Gets the number of pairs of adjacent tiles shared with another society.
+   *
+   * @param other the other society
+   * @return the number of contacts
+   */
+  public int getContacts(Society other) {
+    return contacts.getOrDefault(other, 0);
+  }
+}
@@ -2,15 +2,19 @@ package society;
 
 import engine.graphics.model.dimension.two.RectangleModel;
 import engine.objects.world.TileWorldObject;
+import engine.utils.RandomUtils;
 import game.Game;
 import game.menu.data.TradeDeal;
-import game.world.Hud;
+import game.world.SimulationContext;
 import game.world.World;
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import map.WorldGrid;
 import math.Vector3f;
 import neat.Client;
 import society.person.Person;
+import society.person.Population;
 
 public class Society {
   private static final float MINIMUM_ARMY_AGE = 18;
@@ -28,24 +32,34 @@ public class Society {
   private static final float MIN_MUTATION_FACTOR = 0.10f;
   public ArrayList<TradeDeal> activeTradeDeals = new ArrayList<>();
   private Vector3f societyColor;
-  private ArrayList<Person> population;
+  private Population population;
   private int societyId;
   private int totalFoodResource = 0;
   private int totalRawMaterialResource = 0;
-  private ArrayList<TileWorldObject> territory = new ArrayList<>();
-  private ArrayList<TileWorldObject> claimableTerritory = new ArrayList<>();
-  private ArrayList<TileWorldObject> defendingTiles = new ArrayList<>();
-  private ArrayList<TileWorldObject> attackingTiles = new ArrayList<>();
+  // the grid the territory is on and the cells of the territory
+  private WorldGrid grid;
+  private final CellSet territory = new CellSet();
+  // the edges of the territory, updated whenever a tile changes hands
+  private final Frontier frontier = new Frontier(this);
+  private final CellSet defendingTiles = new CellSet();
+  private final CellSet attackingTiles = new CellSet();
   private float score;
   private boolean endTurn = false;
-  private ArrayList<Society> neighbouringSocieties = new ArrayList<>();
   private boolean madeMove = false;
   private int foodFromDeals;
   private int rawMatsFromDeals;
-  private ArrayList<Person> army = new ArrayList<>();
+  // the size and total aggressiveness of the army when it was last created
+  private int armySize;
+  private float armyAggression;
+  // the fitness and index of each person old enough to reproduce, reused every reproduction
+  private long[] candidates = new long[0];
   private float happiness = 0.5f;
   private Client decisionClient;
   private int wrongMoves = 0;
+  private SimulationContext context;
+  // the id this society owns cells under in the grid that last gave it one
+  private WorldGrid ownerGrid;
+  private short ownerId;
 
   /**
    * Instantiates a new Society.
@@ -54,6 +68,7 @@ public class Society {
    * @param societyId             the society id
    */
   public Society(int initialPopulationSize, int societyId, Vector3f societyColor) {
+    this.context = World.getContext();
     this.societyId = societyId;
     this.societyColor = societyColor;
     this.score = 0;
@@ -68,11 +83,27 @@ public class Society {
    * @param societyColor the society color
    */
   public Society(int societyId, Vector3f societyColor) {
+    this(World.getContext(), societyId, societyColor);
+  }
+
+  /**
+   * Instantiates a new Society belonging to a given simulation.
+   *
+   * @param context      the simulation context
+   * @param societyId    the society id
+   * @param societyColor the society color
+   */
+  public Society(SimulationContext context, int societyId, Vector3f societyColor) {
+    this.context = context;
     this.societyId = societyId;
     this.societyColor = societyColor;
     generateInitialPopulation(DEFAULT_POPULATION_SIZE);
   }
 
+  public SimulationContext getContext() {
+    return context;
+  }
+
   public static int getOffspringAmount() {
     return OFFSPRING_AMOUNT;
   }
@@ -137,8 +168,8 @@ public class Society {
     this.happiness = happiness;
   }
 
-  public ArrayList<Person> getArmy() {
-    return army;
+  public int getArmySize() {
+    return armySize;
   }
 
   public ArrayList<TradeDeal> getActiveTradeDeals() {
@@ -173,28 +204,24 @@ public class Society {
     this.madeMove = madeMove;
   }
 
-  public ArrayList<TileWorldObject> getClaimableTerritory() {
-    return claimableTerritory;
+  public CellSet getClaimableTerritory() {
+    return frontier.getClaimable();
   }
 
-  public ArrayList<TileWorldObject> getDefendingTiles() {
+  public CellSet getDefendingTiles() {
     return defendingTiles;
   }
 
-  public ArrayList<TileWorldObject> getAttackingTiles() {
+  public CellSet getAttackingTiles() {
     return attackingTiles;
   }
 
-  public void setAttackingTiles(ArrayList<TileWorldObject> attackingTiles) {
-    this.attackingTiles = attackingTiles;
-  }
-
   public ArrayList<Society> getNeighbouringSocieties() {
-    return neighbouringSocieties;
+    return frontier.getNeighbours();
   }
 
-  public void setNeighbouringSocieties(ArrayList<Society> neighbouringSocieties) {
-    this.neighbouringSocieties = neighbouringSocieties;
+  Frontier getFrontier() {
+    return frontier;
   }
 
   public boolean isEndTurn() {
@@ -217,10 +244,12 @@ public class Society {
    * Create army.
    */
   public void createArmy() {
-    army.clear();
-    for (Person citizen : getPopulation()) {
-      if (citizen.getAge() >= MINIMUM_ARMY_AGE) {
-        army.add(citizen);
+    armySize = 0;
+    armyAggression = 0;
+    for (int i = 0; i < population.size(); i++) {
+      if (population.getAge(i) >= MINIMUM_ARMY_AGE) {
+        armySize++;
+        armyAggression += population.getAggressiveness(i);
       }
     }
   }
@@ -231,11 +260,7 @@ public class Society {
    * @return the average aggressiveness
    */
   public float getAverageAggressiveness() {
-    float averageAggressiveness = 0;
-    for (Person person : population) {
-      averageAggressiveness += person.getAggressiveness();
-    }
-    return averageAggressiveness / population.size();
+    return population.getAverageAggressiveness();
   }
 
   /**
@@ -244,11 +269,7 @@ public class Society {
    * @return the average productivity
    */
   public float getAverageProductivity() {
-    float averageProductivity = 0;
-    for (Person person : population) {
-      averageProductivity += person.getProductiveness();
-    }
-    return averageProductivity / population.size();
+    return population.getAverageProductiveness();
   }
 
   public int getTotalFoodResource() {
@@ -278,7 +299,8 @@ public class Society {
    */
   public void updateBorders(RectangleModel tileModel) {
     calculateResources();
-    for (TileWorldObject worldTile : this.territory) {
+    for (int i = 0; i < territory.size(); i++) {
+      TileWorldObject worldTile = context.getWorldTile(territory.get(i));
       if (worldTile.getBorderMesh() == null
           || worldTile.getBorderMesh().getMaterial().getColorOffsetRgb() != societyColor) {
         worldTile.setBorderMesh(this.societyColor, tileModel);
@@ -292,9 +314,9 @@ public class Society {
   public void calculateResources() {
     int foodTotal = 0;
     int rawMaterials = 0;
-    for (TileWorldObject worldTile : this.territory) {
-      foodTotal += worldTile.getFoodResource();
-      rawMaterials += worldTile.getRawMaterialResource();
+    for (int i = 0; i < territory.size(); i++) {
+      foodTotal += grid.getFood(territory.get(i));
+      rawMaterials += grid.getRawMaterials(territory.get(i));
     }
     foodTotal += foodFromDeals;
     rawMaterials += rawMatsFromDeals;
@@ -304,119 +326,103 @@ public class Society {
   }
 
   /**
-   * This society claims a tile.
+   * This society claims a tile, taking it from the society that held it if there is one.
    *
    * @param claimedTile the world tile
    */
   public void claimTile(TileWorldObject claimedTile) {
-    claimedTile.setClaimed(true);
-    claimedTile.setClaimedBy(this);
-    this.territory.add(claimedTile);
+    claimCell(claimedTile.getGrid(), claimedTile.getIndex());
   }
 
-  public ArrayList<TileWorldObject> getTerritory() {
-    return territory;
+  /**
+   * This society claims a cell of a grid, taking it from the society that held it if there is
+   * one.
+   *
+   * @param grid  the grid, which must be the grid of any territory this society already has
+   * @param index the index of the cell
+   */
+  public void claimCell(WorldGrid grid, int index) {
+    Society previous = grid.getOwner(index);
+    if (previous == this) {
+      return;
+    }
+    if (this.grid != grid && !territory.isEmpty()) {
+      throw new IllegalArgumentException("A society's territory must be on a single grid");
+    }
+    this.grid = grid;
+    if (previous != null) {
+      previous.territory.swapRemove(index);
+    }
+    grid.setOwner(index, this);
+    territory.add(index);
+    Frontier.tileClaimed(grid, index, previous);
   }
 
   /**
-   * Claim tiles.
+   * Gets the cells of the territory.
+   * The set must not be modified, it is kept up to date as tiles change hands.
+   *
+   * @return the territory
    */
-  public void calculateClaimableTerritory() {
-    claimableTerritory.clear();
-    for (TileWorldObject worldTile : territory) {
-      addClaimableTiles(worldTile.getRow(), worldTile.getColumn());
-    }
+  public CellSet getTerritory() {
+    return territory;
+  }
+
+  public WorldGrid getGrid() {
+    return grid;
   }
 
   /**
-   * Calculate warring tiles.
+   * Calculate warring tiles, the border tiles beside a society we are not trading with.
    */
   public void calculateAttackingTiles() {
     attackingTiles.clear();
-    for (TileWorldObject worldTile : territory) {
-      addWarringTiles(worldTile.getRow(), worldTile.getColumn());
+    CellSet border = frontier.getBorder();
+    for (int i = 0; i < border.size(); i++) {
+      if (frontier.hasEnemyBeside(grid, border.get(i), true)) {
+        attackingTiles.add(border.get(i));
+      }
     }
   }
 
   /**
-   * Calculate defending tiles.
+   * Whether this society has a tile it can attack from, without building the list of them.
    *
-   * @param attackingTile the attacking tile
+   * @return the boolean
    */
-  public void calculateDefendingTiles(TileWorldObject attackingTile) {
-    defendingTiles.clear();
-    int row = attackingTile.getRow();
-    int column = attackingTile.getColumn();
-    TileWorldObject[][] map = World.getWorldMap();
-    // Check left side of the territory
-    if (map[row][column - 1].isClaimed() && column - 1 != 0
-        && map[row][column - 1].getClaimedBy().getSocietyId() != societyId) {
-      if (!defendingTiles.add(map[row][column - 1]) && checkForPeace(map[row][column - 1])) {
-        defendingTiles.add(map[row][column - 1]);
-      }
-    }
-    // Check right side of the territory
-    if (map[row][column + 1].isClaimed() && column + 1 != map.length - 1
-        && map[row][column + 1].getClaimedBy().getSocietyId() != societyId) {
-      if (!defendingTiles.add(map[row][column + 1]) && checkForPeace(map[row][column + 1])) {
-        defendingTiles.add(map[row][column + 1]);
-      }
-    }
-    // Check top of territory
-    if (map[row - 1][column].isClaimed() && row - 1 != 0
-        && map[row - 1][column].getClaimedBy().getSocietyId() != societyId) {
-      if (!defendingTiles.contains(map[row - 1][column])
-          && checkForPeace(map[row - 1][column])) {
-        defendingTiles.add(map[row - 1][column]);
-      }
-    }
-    // check bottom of territory
-    if (map[row + 1][column].isClaimed() && row + 1 != map.length - 1
-        && map[row + 1][column].getClaimedBy().getSocietyId() != societyId) {
-      if (!defendingTiles.contains(map[row + 1][column])
-          && checkForPeace(map[row + 1][column])) {
-        defendingTiles.add(map[row + 1][column]);
+  public boolean canAttack() {
+    for (Society neighbour : frontier.getNeighbours()) {
+      if (!inTradeWith(neighbour)) {
+        return true;
       }
     }
+    return false;
   }
 
-  private void addWarringTiles(int row, int column) {
-    TileWorldObject[][] map = World.getWorldMap();
-    // Check left side of the territory
-    if (map[row][column - 1].isClaimed() && column - 1 != 0
-        && map[row][column - 1].getClaimedBy() != this
-        && !inTradeWith(map[row][column - 1].getClaimedBy())) {
-      if (!attackingTiles.contains(map[row][column])) {
-        attackingTiles.add(map[row][column]);
-      }
-    }
-    // Check right side of the territory
-    if (map[row][column + 1].isClaimed() && column + 1 != map.length - 1
-        && map[row][column + 1].getClaimedBy() != this
-        && !inTradeWith(map[row][column + 1].getClaimedBy())) {
-      if (!attackingTiles.contains(map[row][column])) {
-        attackingTiles.add(map[row][column]);
-      }
-    }
-    // Check top of territory
-    if (map[row - 1][column].isClaimed() && row - 1 != 0
-        && map[row - 1][column].getClaimedBy() != this
-        && !inTradeWith(map[row - 1][column].getClaimedBy())) {
-      if (!attackingTiles.contains(map[row][column])) {
-        attackingTiles.add(map[row][column]);
-      }
-    }
-    // check bottom of territory
-    if (map[row + 1][column].isClaimed() && row + 1 != map.length - 1
-        && map[row + 1][column].getClaimedBy() != this
-        && !inTradeWith(map[row + 1][column].getClaimedBy())) {
-      if (!attackingTiles.contains(map[row][column])) {
-        attackingTiles.add(map[row][column]);
-      }
+  /**
+   * Calculate defending tiles, the tiles of other societies beside a tile we can attack from.
+   *
+   * @param attackingTile the index of the cell attacked from
+   */
+  public void calculateDefendingTiles(int attackingTile) {
+    defendingTiles.clear();
+    // Check the left and right sides of the territory
+    addDefendingTile(grid.step(attackingTile, 0, -1), false);
+    addDefendingTile(grid.step(attackingTile, 0, 1), false);
+    // Check the top and bottom of the territory, where societies at peace are not attacked
+    addDefendingTile(grid.step(attackingTile, -1, 0), true);
+    addDefendingTile(grid.step(attackingTile, 1, 0), true);
+  }
+
+  private void addDefendingTile(int index, boolean checkPeace) {
+    if (index >= 0 && grid.isClaimed(index) && grid.isInterior(index)
+        && grid.getOwner(index).getSocietyId() != societyId
+        && (!checkPeace || checkForPeace(index))) {
+      defendingTiles.add(index);
     }
   }
 
-  private boolean inTradeWith(Society society) {
+  boolean inTradeWith(Society society) {
     boolean isTradingWith = false;
     for (TradeDeal deal : activeTradeDeals) {
       if (deal.getSocietyA() == society || deal.getSocietyB() == society) {
@@ -427,53 +433,53 @@ public class Society {
     return isTradingWith;
   }
 
-  private boolean checkForPeace(TileWorldObject warringTile) {
+  private boolean checkForPeace(int warringTile) {
+    Society owner = grid.getOwner(warringTile);
     for (TradeDeal tradeDeal : activeTradeDeals) {
-      return warringTile.getClaimedBy() != tradeDeal.getSocietyB()
-          && warringTile.getClaimedBy() != tradeDeal.getSocietyA();
+      return owner != tradeDeal.getSocietyB() && owner != tradeDeal.getSocietyA();
     }
     return true;
   }
 
-  private void addClaimableTiles(int row, int column) {
-
-    TileWorldObject[][] map = World.getWorldMap();
-    // Check left side of the territory
-    if (!map[row][column - 1].isClaimed() & column - 1 != 0) {
-      claimableTerritory.add(map[row][column - 1]);
-    }
-    // Check right side of the territory
-    if (!map[row][column + 1].isClaimed() & column + 1 != map.length - 1) {
-      claimableTerritory.add(map[row][column + 1]);
-    }
-    // Check top of territory
-    if (!map[row - 1][column].isClaimed() & row - 1 != 0) {
-      claimableTerritory.add(map[row - 1][column]);
-    }
-    // check bottom of territory
-    if (!map[row + 1][column].isClaimed() & row + 1 != map.length - 1) {
-      claimableTerritory.add(map[row + 1][column]);
-    }
-  }
-
-
   private void generateInitialPopulation(int initialPopulationSize) {
-    population = new ArrayList<>();
+    population = new Population(initialPopulationSize);
     for (int i = 0; i < initialPopulationSize; i++) {
-      Person person = new Person();
+      Person person = new Person(context.getRandom());
       person.setAge(DEFAULT_AGE);
       population.add(person);
     }
   }
 
-  public ArrayList<Person> getPopulation() {
+  public Population getPopulation() {
     return population;
   }
 
-  public void setPopulation(ArrayList<Person> population) {
+  public void setPopulation(Population population) {
     this.population = population;
   }
 
+  /**
+   * Gets the owner id this society was given by a grid.
+   *
+   * @param grid the grid
+   * @return the owner id, or 0 if the grid has not given this society one
+   * @see WorldGrid#ownerId(Society)
+   */
+  public short getOwnerId(WorldGrid grid) {
+    return grid == ownerGrid ? ownerId : 0;
+  }
+
+  /**
+   * Sets the owner id this society was given by a grid.
+   *
+   * @param grid    the grid
+   * @param ownerId the owner id
+   */
+  public void setOwnerId(WorldGrid grid, short ownerId) {
+    this.ownerGrid = grid;
+    this.ownerId = ownerId;
+  }
+
   public int getSocietyId() {
     return societyId;
   }
@@ -488,26 +494,13 @@ public class Society {
    * @return the average age
    */
   public float getAverageAge() {
-    float age = 0;
-    for (Person person : population) {
-      age += person.getAge();
-    }
-    return age / population.size();
+    return population.getAverageAge();
   }
 
   private int calculateLifeExpectancy() {
     return 0;
   }
 
-  /**
-   * Calculate possible trading societies.
-   */
-  public void calculateNeighbouringSocieties() {
-    for (TileWorldObject worldTile : territory) {
-      checkNeighbouringTiles(worldTile.getRow(), worldTile.getColumn());
-    }
-  }
-
   /**
    * Gets all the societies with whom we have a trade deal.
    *
@@ -527,38 +520,6 @@ public class Society {
     return tradingSocieties;
   }
 
-  private void checkNeighbouringTiles(int row, int column) {
-    TileWorldObject[][] map = World.getWorldMap();
-    // Check left side of the territory
-    if (map[row][column - 1].isClaimed()
-        && map[row][column - 1].getClaimedBy().getSocietyId() != societyId) {
-      if (!neighbouringSocieties.contains(map[row][column - 1].getClaimedBy())) {
-        neighbouringSocieties.add(map[row][column - 1].getClaimedBy());
-      }
-    }
-    // Check right side of the territory
-    if (map[row][column + 1].isClaimed()
-        && map[row][column + 1].getClaimedBy().getSocietyId() != societyId) {
-      if (!neighbouringSocieties.contains(map[row][column + 1].getClaimedBy())) {
-        neighbouringSocieties.add(map[row][column + 1].getClaimedBy());
-      }
-    }
-    // Check top of territory
-    if (map[row - 1][column].isClaimed()
-        && map[row - 1][column].getClaimedBy().getSocietyId() != societyId) {
-      if (!neighbouringSocieties.contains(map[row - 1][column].getClaimedBy())) {
-        neighbouringSocieties.add(map[row - 1][column].getClaimedBy());
-      }
-    }
-    // check bottom of territory
-    if (map[row + 1][column].isClaimed()
-        && map[row + 1][column].getClaimedBy().getSocietyId() != societyId) {
-      if (!neighbouringSocieties.contains(map[row + 1][column].getClaimedBy())) {
-        neighbouringSocieties.add(map[row + 1][column].getClaimedBy());
-      }
-    }
-  }
-
   /**
    * Examine trade deal boolean.
    *
@@ -659,7 +620,7 @@ public class Society {
   public void checkTradeDeal() {
     ArrayList<TradeDeal> newTradeDeals = new ArrayList<>();
     for (TradeDeal tradeDeal : activeTradeDeals) {
-      if (!(tradeDeal.getEndTurnOfDeal() == Hud.getTurn())) {
+      if (!(tradeDeal.getEndTurnOfDeal() == context.getTurn())) {
         newTradeDeals.add(tradeDeal);
       } else {
         terminateTradeDeal(tradeDeal);
@@ -690,13 +651,17 @@ public class Society {
    */
   public void reproduce() {
     // Select the valid population
-    ArrayList<Person> validPeople = new ArrayList<>();
-    for (Person person : population) {
-      if (person.getAge() >= DEFAULT_REPRODUCTION_AGE) {
-        validPeople.add(person);
+    int validPeople = 0;
+    for (int i = 0; i < population.size(); i++) {
+      if (population.getAge(i) >= DEFAULT_REPRODUCTION_AGE) {
+        if (validPeople == candidates.length) {
+          candidates = Arrays.copyOf(candidates, Math.max(16, candidates.length * 2));
+        }
+        // sorting by fitness then index orders people by fitness, keeping ties in order
+        candidates[validPeople++] = (long) sortableBits(population.fitnessScore(i)) << 32 | i;
       }
     }
-    if (validPeople.size() >= 2) {
+    if (validPeople >= 2) {
       float reproductionRatio = DEFAULT_POPULATION_REPRODUCTION_RATIO;
       float foodRatio = (totalFoodResource * FOOD_PER_PERSON) / population.size();
       // Multiply the rate to get an amount based on the prosperity of the population
@@ -708,7 +673,7 @@ public class Society {
       if (!(Math.abs(reproductionRatio - MAX_REPRODUCTION_RATIO) < .0000001)) {
         reproductionRatio = Math.min(reproductionRatio, MAX_REPRODUCTION_RATIO);
       }
-      int reproducingPopulationSize = (int) Math.floor(validPeople.size() * reproductionRatio);
+      int reproducingPopulationSize = (int) Math.floor(validPeople * reproductionRatio);
       // Ensure that the reproducing population is even
       if (reproducingPopulationSize % 2 != 0) {
         reproducingPopulationSize = reproducingPopulationSize - 1;
@@ -718,38 +683,41 @@ public class Society {
         reproducingPopulationSize = 2;
       }
       // Apply a fitness function to the valid population and sort
-      validPeople.sort((person1, person2) ->
-          Float.compare(person1.fitnessScore(), person2.fitnessScore()));
+      Arrays.sort(candidates, 0, validPeople);
 
-      // Crossover to get the initial children
-      ArrayList<Person> offspring = new ArrayList<>();
+      // Crossover to get the initial children, added to the end of the population
+      int firstChild = population.size();
       for (int i = 0; i < reproducingPopulationSize; i = i + 2) {
-        offspring.addAll(crossover(validPeople.get(i), validPeople.get(i + 1)));
+        crossover((int) candidates[i], (int) candidates[i + 1]);
       }
       // Apply Mutation
-      mutate(offspring);
-      // Add to population
-      population.addAll(offspring);
+      mutate(firstChild);
     }
   }
 
-  private void mutate(ArrayList<Person> people) {
-    for (Person person : people) {
-      person.setProductiveness(calculateMutation(person.getProductiveness()));
-      person.setAggressiveness(calculateMutation(person.getAggressiveness()));
-      person.setAttractiveness(calculateMutation(person.getAttractiveness()));
+  // the bits of a float as an int that sorts in the same order as Float.compare
+  private static int sortableBits(float value) {
+    int bits = Float.floatToIntBits(value);
+    return bits ^ ((bits >> 31) & Integer.MAX_VALUE);
+  }
+
+  private void mutate(int firstChild) {
+    for (int i = firstChild; i < population.size(); i++) {
+      population.setProductiveness(i, calculateMutation(population.getProductiveness(i)));
+      population.setAggressiveness(i, calculateMutation(population.getAggressiveness(i)));
+      population.setAttractiveness(i, calculateMutation(population.getAttractiveness(i)));
     }
   }
 
   private float calculateMutation(float gene) {
-    Random r = new Random();
+    SplittableRandom r = context.getRandom();
     // Check if a mutation should occur
     int randomInt = r.nextInt(100);
     if (randomInt <= (MUTATION_PROBABILITY * 100)) {
       // Apply Mutation
       boolean mutationDirection = r.nextBoolean();
       // select a mutation between the min and the max mutation impact
-      float mutationFactor = MIN_MUTATION_FACTOR + r.nextFloat()
+      float mutationFactor = MIN_MUTATION_FACTOR + RandomUtils.nextFloat(r)
           * (MAX_MUTATION_FACTOR - MIN_MUTATION_FACTOR);
       // if gene is zero just add the factor
       if (gene == 0) {
@@ -770,24 +738,15 @@ public class Society {
     return gene;
   }
 
-  private ArrayList<Person> crossover(Person parent1, Person parent2) {
-    ArrayList<Person> offspring = new ArrayList<>();
-    ArrayList<Person> parents = new ArrayList<>();
-    parents.add(parent1);
-    parents.add(parent2);
-    Random r = new Random();
+  private void crossover(int parent1, int parent2) {
+    SplittableRandom r = context.getRandom();
     for (int i = 0; i < OFFSPRING_AMOUNT; i++) {
       // Select the attributes for the child
-      Person parentToInherit = parents.get(r.nextInt(parents.size()));
-      float productiveness = parentToInherit.getProductiveness();
-      parentToInherit = parents.get(r.nextInt(parents.size()));
-      float aggressiveness = parentToInherit.getAggressiveness();
-      parentToInherit = parents.get(r.nextInt(parents.size()));
-      float attractiveness = parentToInherit.getAttractiveness();
-      Person child = new Person(0, aggressiveness, attractiveness, productiveness);
-      offspring.add(child);
+      float productiveness = population.getProductiveness(r.nextInt(2) == 0 ? parent1 : parent2);
+      float aggressiveness = population.getAggressiveness(r.nextInt(2) == 0 ? parent1 : parent2);
+      float attractiveness = population.getAttractiveness(r.nextInt(2) == 0 ? parent1 : parent2);
+      population.add(0, Person.getMaxHealth(), aggressiveness, attractiveness, productiveness);
     }
-    return offspring;
   }
 
   /**
@@ -796,25 +755,15 @@ public class Society {
    * @return the float
    */
   public float calcArmyAggression() {
-    float totalAggression = 0;
-    for (Person soldier : army) {
-      totalAggression += soldier.getAggressiveness();
-    }
-    return totalAggression;
+    return armyAggression;
   }
 
   /**
    * Age the population.
    */
   public void agePopulation() {
-    ArrayList<Person> passedAway = new ArrayList<>();
-    for (Person person : population) {
-      if (person.age()) {
-        passedAway.add(person);
-      }
-    }
-    // Remove everyone from the population who has died
-    population.removeAll(passedAway);
+    // Remove everyone from the population who has died as they age
+    population.age(context.getRandom());
   }
 
   /**
@@ -850,9 +799,9 @@ public class Society {
    */
   public void updateScore() {
     if (Game.isTraining() && Game.getTrainingMode() == 0) {
-      score = (Hud.getTurn() * 0.2f) + territory.size() - wrongMoves;
+      score = (context.getTurn() * 0.2f) + territory.size() - wrongMoves;
     } else {
-      score = (Hud.getTurn() * 0.2f)
+      score = (context.getTurn() * 0.2f)
           + ((population.size() + territory.size() + totalFoodResource + totalRawMaterialResource))
           * happiness
           - wrongMoves;
@@ -860,22 +809,19 @@ public class Society {
   }
 
   /**
-   * Gets an array of all valid tiles that our society can attack at any point in time.
+   * Gets all valid tiles that our society can attack at any point in time.
    *
-   * @return the valid tiles to attack
+   * @return the cells of the valid tiles to attack
    */
-  public ArrayList<TileWorldObject> getValidTilesToAttack() {
+  public CellSet getValidTilesToAttack() {
     // Calculate valid tiles that we can attack with
     calculateAttackingTiles();
-    ArrayList<TileWorldObject> validTiles = new ArrayList<>();
+    CellSet validTiles = new CellSet();
     // For each tile that we can attack with calculate its defending tiles
-    for (TileWorldObject tile : attackingTiles) {
-      calculateDefendingTiles(tile);
-      // for each defending tile if it is nto present in our return array add it
-      for (TileWorldObject defendingTile : defendingTiles) {
-        if (!validTiles.contains(defendingTile)) {
-          validTiles.add(defendingTile);
-        }
+    for (int i = 0; i < attackingTiles.size(); i++) {
+      calculateDefendingTiles(attackingTiles.get(i));
+      for (int j = 0; j < defendingTiles.size(); j++) {
+        validTiles.add(defendingTiles.get(j));
       }
     }
     return validTiles;
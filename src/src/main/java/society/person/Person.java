@@ -1,6 +1,7 @@
 package society.person;
 
-import java.util.Random;
+import engine.utils.RandomUtils;
+import java.util.SplittableRandom;
 
 public class Person {
   private static final float MIN_DEFAULT_INDEX = 0.35f;
@@ -18,14 +19,23 @@ public class Person {
   private float productiveness;
 
   /**
-   * Instantiates a new Person.
+   * Instantiates a new Person with an unseeded random.
    */
   public Person() {
+    this(new SplittableRandom());
+  }
+
+  /**
+   * Instantiates a new Person with random default attributes.
+   *
+   * @param random the random the attributes are drawn from
+   */
+  public Person(SplittableRandom random) {
     this.health = MAX_HEALTH;
     this.age = 0;
-    this.productiveness = generateRandomFloatInRange(MAX_DEFAULT_INDEX, MIN_DEFAULT_INDEX);
-    this.aggressiveness = generateRandomFloatInRange(MAX_DEFAULT_INDEX, MIN_DEFAULT_INDEX);
-    this.attractiveness = generateRandomFloatInRange(MAX_DEFAULT_INDEX, MIN_DEFAULT_INDEX);
+    this.productiveness = generateDefaultIndex(random);
+    this.aggressiveness = generateDefaultIndex(random);
+    this.attractiveness = generateDefaultIndex(random);
   }
 
   /**
@@ -67,9 +77,9 @@ public class Person {
     return PRIME_AGE;
   }
 
-  private float generateRandomFloatInRange(float maxNo, float minNo) {
-    Random r = new Random();
-    return minNo + r.nextFloat() * (maxNo - minNo);
+  private static float generateDefaultIndex(SplittableRandom random) {
+    return MIN_DEFAULT_INDEX
+        + RandomUtils.nextFloat(random) * (MAX_DEFAULT_INDEX - MIN_DEFAULT_INDEX);
   }
 
   public float getProductiveness() {
@@ -112,12 +122,28 @@ public class Person {
     this.attractiveness = attractiveness;
   }
 
+  public static int getAgeAmount() {
+    return AGE_AMOUNT;
+  }
+
   /**
    * Fitness score for the person.
    *
    * @return the float
    */
   public float fitnessScore() {
+    return fitnessScore(age, health, attractiveness);
+  }
+
+  /**
+   * Fitness score for a person with the given attributes.
+   *
+   * @param age            the age
+   * @param health         the health
+   * @param attractiveness the attractiveness
+   * @return the float
+   */
+  public static float fitnessScore(int age, float health, float attractiveness) {
     float ageDifference = Math.abs(age - PRIME_AGE);
     float ageSubtraction = ageDifference / PRIME_AGE;
     float healthWeight = health / MAX_HEALTH;
@@ -127,12 +153,24 @@ public class Person {
   }
 
   /**
-   * Age a person a return whether they are still alive.
+   * Age a person a return whether they have died.
    *
+   * @param random the random deciding if they die
    * @return the boolean
    */
-  public boolean age() {
+  public boolean age(SplittableRandom random) {
     age += AGE_AMOUNT;
+    return diesAgedTo(age, random);
+  }
+
+  /**
+   * Whether a person who has just aged {@link #getAgeAmount()} years to an age has died.
+   *
+   * @param age    the age they have reached
+   * @param random the random deciding if they die
+   * @return the boolean
+   */
+  public static boolean diesAgedTo(int age, SplittableRandom random) {
     // Check for death probabilities from http://www.bandolier.org.uk/booth/Risk/dyingage.html
     // Get the probability based on age bracket
     float probability = 0;
@@ -154,7 +192,7 @@ public class Person {
     // Check if the person has died, compensate for the age amount by checking that many times
     boolean hasDied = false;
     for (int i = 0; i < AGE_AMOUNT; i++) {
-      hasDied = checkProbability(probability);
+      hasDied = checkProbability(random, probability);
       if (hasDied) {
         break;
       }
@@ -163,9 +201,8 @@ public class Person {
     return hasDied;
   }
 
-  private boolean checkProbability(float probability) {
-    Random r = new Random();
-    float randomFloat = r.nextFloat() * 100f;
+  private static boolean checkProbability(SplittableRandom random, float probability) {
+    float randomFloat = RandomUtils.nextFloat(random) * 100f;
     return randomFloat <= probability * 100f;
   }
 }
@@ -0,0 +1,240 @@
+package society.person;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * The people of a society, held as one primitive array per attribute instead of a
+ * {@link Person} object each. A person is an index into the arrays, and people who die are
+ * replaced by the last person, so indices are only stable until someone is removed.
+ * The totals behind the society's averages are kept up to date as people are added, changed and
+ * removed, so reading an average does not walk the population.
+ */
+public class Population {
+  private static final int DEFAULT_CAPACITY = 16;
+  private int size;
+  private int[] ages;
+  private float[] health;
+  private float[] aggressiveness;
+  private float[] attractiveness;
+  private float[] productiveness;
+  private long totalAge;
+  private double totalAggressiveness;
+  private double totalProductiveness;
+
+  /**
+   * Instantiates a new empty Population.
+   */
+  public Population() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  /**
+   * Instantiates a new empty Population with room for a number of people.
+   *
+   * @param capacity the number of people it can hold before growing
+   */
+  public Population(int capacity) {
+    ages = new int[capacity];
+    health = new float[capacity];
+    aggressiveness = new float[capacity];
+    attractiveness = new float[capacity];
+    productiveness = new float[capacity];
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Add a person to the end of the population.
+   *
+   * @param person the person, whose attributes are copied
+   */
+  public void add(Person person) {
+    add(person.getAge(), person.getHealth(), person.getAggressiveness(),
+        person.getAttractiveness(), person.getProductiveness());
+  }
+
+  /**
+   * Add a person to the end of the population.
+   *
+   * @param age            the age
+   * @param health         the health
+   * @param aggressiveness the aggressiveness
+   * @param attractiveness the attractiveness
+   * @param productiveness the productiveness
+   */
+  public void add(int age, float health, float aggressiveness, float attractiveness,
+                  float productiveness) {
+    if (size == ages.length) {
+      grow();
+    }
+    ages[size] = age;
+    this.health[size] = health;
+    this.aggressiveness[size] = aggressiveness;
+    this.attractiveness[size] = attractiveness;
+    this.productiveness[size] = productiveness;
+    size++;
+    totalAge += age;
+    totalAggressiveness += aggressiveness;
+    totalProductiveness += productiveness;
+  }
+
+  private void grow() {
+    int capacity = Math.max(DEFAULT_CAPACITY, ages.length * 2);
+    ages = Arrays.copyOf(ages, capacity);
+    health = Arrays.copyOf(health, capacity);
+    aggressiveness = Arrays.copyOf(aggressiveness, capacity);
+    attractiveness = Arrays.copyOf(attractiveness, capacity);
+    productiveness = Arrays.copyOf(productiveness, capacity);
+  }
+
+  /**
+   * Remove a person by moving the last person into their place.
+   *
+   * @param index the index of the person
+   */
+  public void swapRemove(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    totalAge -= ages[index];
+    totalAggressiveness -= aggressiveness[index];
+    totalProductiveness -= productiveness[index];
+    size--;
+    ages[index] = ages[size];
+    health[index] = health[size];
+    aggressiveness[index] = aggressiveness[size];
+    attractiveness[index] = attractiveness[size];
+    productiveness[index] = productiveness[size];
+    if (size == 0) {
+      // nothing is left for rounding in the totals to build up on
+      totalAggressiveness = 0;
+      totalProductiveness = 0;
+    }
+  }
+
+  /**
+   * Age everyone and remove those who die, in a single pass.
+   *
+   * @param random the random deciding who dies
+   */
+  public void age(SplittableRandom random) {
+    int years = Person.getAgeAmount();
+    int index = 0;
+    while (index < size) {
+      ages[index] += years;
+      totalAge += years;
+      if (Person.diesAgedTo(ages[index], random)) {
+        // the last person, not yet aged, takes their place and is aged next
+        swapRemove(index);
+      } else {
+        index++;
+      }
+    }
+  }
+
+  public int getAge(int index) {
+    return ages[index];
+  }
+
+  /**
+   * Sets the age of a person.
+   *
+   * @param index the index of the person
+   * @param age   the age
+   */
+  public void setAge(int index, int age) {
+    totalAge += age - ages[index];
+    ages[index] = age;
+  }
+
+  public float getHealth(int index) {
+    return health[index];
+  }
+
+  public void setHealth(int index, float health) {
+    this.health[index] = health;
+  }
+
+  public float getAggressiveness(int index) {
+    return aggressiveness[index];
+  }
+
+  /**
+   * Sets the aggressiveness of a person.
+   *
+   * @param index          the index of the person
+   * @param aggressiveness the aggressiveness
+   */
+  public void setAggressiveness(int index, float aggressiveness) {
+    totalAggressiveness += aggressiveness - this.aggressiveness[index];
+    this.aggressiveness[index] = aggressiveness;
+  }
+
+  public float getAttractiveness(int index) {
+    return attractiveness[index];
+  }
+
+  public void setAttractiveness(int index, float attractiveness) {
+    this.attractiveness[index] = attractiveness;
+  }
+
+  public float getProductiveness(int index) {
+    return productiveness[index];
+  }
+
+  /**
+   * Sets the productiveness of a person.
+   *
+   * @param index          the index of the person
+   * @param productiveness the productiveness
+   */
+  public void setProductiveness(int index, float productiveness) {
+    totalProductiveness += productiveness - this.productiveness[index];
+    this.productiveness[index] = productiveness;
+  }
+
+  /**
+   * Fitness score for a person.
+   *
+   * @param index the index of the person
+   * @return the float
+   * @see Person#fitnessScore()
+   */
+  public float fitnessScore(int index) {
+    return Person.fitnessScore(ages[index], health[index], attractiveness[index]);
+  }
+
+  /**
+   * Gets average age.
+   *
+   * @return the average age, NaN if the population is empty
+   */
+  public float getAverageAge() {
+    return size == 0 ? Float.NaN : (float) ((double) totalAge / size);
+  }
+
+  /**
+   * Gets average aggressiveness.
+   *
+   * @return the average aggressiveness, NaN if the population is empty
+   */
+  public float getAverageAggressiveness() {
+    return size == 0 ? Float.NaN : (float) (totalAggressiveness / size);
+  }
+
+  /**
+   * Gets average productiveness.
+   *
+   * @return the average productiveness, NaN if the population is empty
+   */
+  public float getAverageProductiveness() {
+    return size == 0 ? Float.NaN : (float) (totalProductiveness / size);
+  }
+}
@@ -8,6 +8,7 @@ import engine.graphics.Material;
 import engine.graphics.Vertex3D;
 import engine.graphics.mesh.Mesh;
 import engine.graphics.model.Model;
+import map.WorldGrid;
 import map.tiles.AridTile;
 import map.tiles.FertileTile;
 import map.tiles.PlainTile;
@@ -26,7 +27,6 @@ public class TileWorldObjectsTests {
   private static final Vertex3D TOP_RIGHT = new Vertex3D(new Vector3f(1, 1, 0));
   private static final Vertex3D BOTTOM_RIGHT = new Vertex3D(new Vector3f(1, -1, 0));
   private static final int DEFAULT_ROW = 0;
-  private static final int DEFAULT_COLUMN = 0;
   private static final int[] INDICES = {0, 1, 2, 3};
   private Mesh defaultMesh;
   private TileWorldObject waterTile;
@@ -49,21 +49,23 @@ public class TileWorldObjectsTests {
     window.setVisible(false);
     window.create();
 
+    // each tile views its own cell of one grid, which holds its type
+    WorldGrid grid = new WorldGrid(4, 1);
     waterTile = new TileWorldObject(
-        DEFAULT_POSITION, DEFAULT_ROTATION, DEFAULT_SCALE, defaultMesh, new WaterTile(),
-        DEFAULT_ROW, DEFAULT_COLUMN);
+        DEFAULT_POSITION, DEFAULT_ROTATION, DEFAULT_SCALE, defaultMesh, WaterTile.getInstance(),
+        grid, DEFAULT_ROW, 0);
 
     fertileTile = new TileWorldObject(
-        DEFAULT_POSITION, DEFAULT_ROTATION, DEFAULT_SCALE, defaultMesh, new FertileTile(),
-        DEFAULT_ROW, DEFAULT_COLUMN);
+        DEFAULT_POSITION, DEFAULT_ROTATION, DEFAULT_SCALE, defaultMesh, FertileTile.getInstance(),
+        grid, DEFAULT_ROW, 1);
 
     aridTile = new TileWorldObject(
-        DEFAULT_POSITION, DEFAULT_ROTATION, DEFAULT_SCALE, defaultMesh, new AridTile(),
-        DEFAULT_ROW, DEFAULT_COLUMN);
+        DEFAULT_POSITION, DEFAULT_ROTATION, DEFAULT_SCALE, defaultMesh, AridTile.getInstance(),
+        grid, DEFAULT_ROW, 2);
 
     plainTile = new TileWorldObject(
-        DEFAULT_POSITION, DEFAULT_ROTATION, DEFAULT_SCALE, defaultMesh, new PlainTile(),
-        DEFAULT_ROW, DEFAULT_COLUMN);
+        DEFAULT_POSITION, DEFAULT_ROTATION, DEFAULT_SCALE, defaultMesh, PlainTile.getInstance(),
+        grid, DEFAULT_ROW, 3);
   }
 
   @Test
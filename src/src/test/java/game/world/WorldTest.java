@@ -19,6 +19,7 @@ import org.jfree.chart.ChartColor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import society.CellSet;
 import society.Society;
 
 public class WorldTest {
@@ -111,14 +112,16 @@ public class WorldTest {
   void updateSocietiesBordersTest() {
     World.create(window, camera);
     for (Society society : World.getSocieties()) {
-      for (TileWorldObject worldTile : society.getTerritory()) {
-        assertNull(worldTile.getBorderObject());
+      CellSet territory = society.getTerritory();
+      for (int i = 0; i < territory.size(); i++) {
+        assertNull(World.getWorldTile(territory.get(i)).getBorderObject());
       }
     }
     World.updateBorders(window);
     for (Society society : World.getSocieties()) {
-      for (TileWorldObject worldTile : society.getTerritory()) {
-        assertNotNull(worldTile.getBorderObject());
+      CellSet territory = society.getTerritory();
+      for (int i = 0; i < territory.size(); i++) {
+        assertNotNull(World.getWorldTile(territory.get(i)).getBorderObject());
       }
     }
   }
@@ -1,10 +1,15 @@
 package map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Random;
+import java.util.SplittableRandom;
+import map.tiles.Tile;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
@@ -37,4 +42,66 @@ public class MapGenerationTest {
     MapGeneration.setAmountOfWaterTiles(generateRandomInt());
     assertThrows(AssertionError.class, MapGeneration::createMap);
   }
+
+  @Test
+  public void seededMapsMatchTest() {
+    Tile[][] first = MapGeneration.createMap(new SplittableRandom(1)).getSimulationMap();
+    Tile[][] second = MapGeneration.createMap(new SplittableRandom(1)).getSimulationMap();
+    assertEquals(first.length, second.length);
+    for (int row = 0; row < first.length; row++) {
+      for (int column = 0; column < first[row].length; column++) {
+        // the maps share the tile of each type, laid out in the same order
+        assertSame(first[row][column], second[row][column]);
+      }
+    }
+  }
+
+  @Test
+  public void nonSquareMapTest() {
+    MapGeneration.setValues(7, 3, 1, 1, 1, 1);
+    MapGeneration mapGeneration = MapGeneration.createMap(new SplittableRandom(1));
+    WorldGrid grid = mapGeneration.getGrid();
+    assertEquals(9, mapGeneration.getMapSizeX());
+    assertEquals(5, mapGeneration.getMapSizeY());
+    assertEquals(9, grid.getWidth());
+    assertEquals(5, grid.getHeight());
+    Tile[][] map = mapGeneration.getSimulationMap();
+    assertEquals(5, map.length);
+    assertEquals(9, map[0].length);
+    for (int index = 0; index < grid.size(); index++) {
+      // the land mass is surrounded by water
+      if (!grid.isInterior(index)) {
+        assertEquals(WorldGrid.WATER, grid.getTileType(index));
+      }
+    }
+  }
+
+  @Test
+  public void tileProportionsTest() {
+    MapGeneration.setValues(300, 200, 30, 30, 25, 15);
+    WorldGrid grid = MapGeneration.createMap(new SplittableRandom(1)).getGrid();
+    int[] counts = new int[4];
+    for (int index = 0; index < grid.size(); index++) {
+      if (grid.isInterior(index)) {
+        counts[grid.getTileType(index)]++;
+      }
+    }
+    double landMass = 300 * 200;
+    assertEquals(0.30, counts[WorldGrid.ARID] / landMass, 0.02);
+    assertEquals(0.30, counts[WorldGrid.FERTILE] / landMass, 0.02);
+    assertEquals(0.25, counts[WorldGrid.PLAIN] / landMass, 0.02);
+    assertEquals(0.15, counts[WorldGrid.WATER] / landMass, 0.02);
+  }
+
+  @Test
+  public void seededLargeMapsMatchTest() {
+    // large enough to be filled in parallel
+    MapGeneration.setValues(500, 300, 30, 30, 25, 15);
+    WorldGrid first = MapGeneration.createMap(new SplittableRandom(2)).getGrid();
+    WorldGrid second = MapGeneration.createMap(new SplittableRandom(2)).getGrid();
+    assertTrue(first.size() > 1 << 16);
+    for (int index = 0; index < first.size(); index++) {
+      assertEquals(first.getTileType(index), second.getTileType(index));
+    }
+  }
 }
@@ -0,0 +1,82 @@
+package map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import society.Society;
+
+public class WorldGridTest {
+
+  @Test
+  public void layoutTest() {
+    // wider than it is tall, so rows and columns cannot be mixed up
+    WorldGrid grid = new WorldGrid(7, 4);
+    assertEquals(28, grid.size());
+    int index = grid.index(2, 5);
+    assertEquals(19, index);
+    assertEquals(2, grid.getRow(index));
+    assertEquals(5, grid.getColumn(index));
+    assertEquals(grid.index(1, 5), grid.step(index, -1, 0));
+    assertEquals(grid.index(2, 6), grid.step(index, 0, 1));
+    assertEquals(-1, grid.step(grid.index(2, 6), 0, 1));
+    assertEquals(-1, grid.step(grid.index(3, 0), 1, 0));
+    assertTrue(grid.isInterior(grid.index(2, 5)));
+    assertFalse(grid.isInterior(grid.index(2, 6)));
+    assertFalse(grid.isInterior(grid.index(3, 3)));
+  }
+
+  @Test
+  public void ownersTest() {
+    WorldGrid grid = new WorldGrid(3, 3);
+    Society first = new Society(0, null);
+    Society second = new Society(1, null);
+    assertFalse(grid.isClaimed(4));
+    assertNull(grid.getOwner(4));
+    grid.setOwner(4, second);
+    grid.setOwner(5, first);
+    grid.setOwner(6, second);
+    assertTrue(grid.isClaimed(4));
+    assertEquals(second, grid.getOwner(4));
+    assertEquals(first, grid.getOwner(5));
+    assertEquals(grid.getOwnerId(4), grid.getOwnerId(6));
+    assertEquals(grid.ownerId(first), grid.getOwnerId(5));
+    grid.setOwner(4, null);
+    assertFalse(grid.isClaimed(4));
+  }
+
+  @Test
+  public void ownerIdsOnTwoGridsTest() {
+    WorldGrid firstGrid = new WorldGrid(2, 1);
+    WorldGrid secondGrid = new WorldGrid(2, 1);
+    Society first = new Society(0, null);
+    Society second = new Society(1, null);
+    firstGrid.setOwner(0, first);
+    secondGrid.setOwner(0, second);
+    secondGrid.setOwner(1, first);
+    // going back to the first grid keeps the id it gave, not the one cached for the second
+    firstGrid.setOwner(1, first);
+    assertEquals(firstGrid.getOwnerId(0), firstGrid.getOwnerId(1));
+    assertEquals(first, secondGrid.getOwner(1));
+    assertEquals(second, secondGrid.getOwner(0));
+  }
+
+  @Test
+  public void resourcesTest() {
+    WorldGrid grid = new WorldGrid(2, 2);
+    grid.setFood(3, 9);
+    grid.setRawMaterials(3, 4);
+    grid.setTileType(3, WorldGrid.WATER);
+    assertEquals(9, grid.getFood(3));
+    assertEquals(4, grid.getRawMaterials(3));
+    assertEquals(WorldGrid.WATER, grid.getTileType(3));
+    assertEquals(0, grid.getFood(0));
+    grid.setTerrainHealth(2, 0.5f);
+    assertEquals(0.5f, grid.getTerrainHealth(2));
+    assertEquals(0f, grid.getTerrainHealth(0));
+    assertThrows(IllegalArgumentException.class, () -> grid.setFood(0, 1000));
+  }
+}
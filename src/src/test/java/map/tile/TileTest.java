@@ -1,10 +1,10 @@
 package map.tile;
 
-import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
-import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
+import map.WorldGrid;
 import map.tiles.AridTile;
 import map.tiles.FertileTile;
 import map.tiles.PlainTile;
@@ -13,73 +13,42 @@ import map.tiles.WaterTile;
 import org.junit.jupiter.api.Test;
 
 public class TileTest {
-  private static final float[] VALUES = new float[] {0.5f, 0.3f, 0.25f, 0.7f};
-  public Tile aridTile;
-  public Tile waterTile;
-  public Tile plainTile;
-  public Tile fertileTile;
-  public float[] positionsX = {2.0f, 3.0f, 1.0f, 5.0f, 6.0f};
-  public float[] positionsY = {7.0f, 1.0f, 2.5f, 3.7f, 8.1f};
 
   @Test
   public void aridTileTest() {
-    assertNull(aridTile);
-    aridTile = new AridTile();
+    Tile aridTile = AridTile.getInstance();
     assertNotNull(aridTile);
+    assertEquals(WorldGrid.ARID, aridTile.getType());
   }
 
   @Test
   public void waterTileTest() {
-    assertNull(waterTile);
-    waterTile = new WaterTile();
+    Tile waterTile = WaterTile.getInstance();
     assertNotNull(waterTile);
+    assertEquals(WorldGrid.WATER, waterTile.getType());
   }
 
   @Test
   public void plainTileTest() {
-    assertNull(plainTile);
-    plainTile = new PlainTile();
+    Tile plainTile = PlainTile.getInstance();
     assertNotNull(plainTile);
+    assertEquals(WorldGrid.PLAIN, plainTile.getType());
   }
 
   @Test
   public void fertileTileTest() {
-    assertNull(fertileTile);
-    fertileTile = new FertileTile();
+    Tile fertileTile = FertileTile.getInstance();
     assertNotNull(fertileTile);
+    assertEquals(WorldGrid.FERTILE, fertileTile.getType());
   }
 
   @Test
-  public void positionsTest() {
-    aridTile = new AridTile();
-    waterTile = new WaterTile();
-    plainTile = new PlainTile();
-    fertileTile = new FertileTile();
-    Tile[] tiles = new Tile[] {fertileTile, aridTile, plainTile, waterTile};
+  public void sharedTilesTest() {
+    Tile[] tiles = new Tile[] {AridTile.getInstance(), FertileTile.getInstance(),
+        PlainTile.getInstance(), WaterTile.getInstance()};
     for (Tile tile : tiles) {
-      for (int i = 0; i < positionsX.length; i++) {
-        tile.setPositionX(positionsX[i]);
-        tile.setPositionY(positionsY[i]);
-        assertEquals(tile.getPositionX(), positionsX[i]);
-        assertEquals(tile.getPositionY(), positionsY[i]);
-        tile.setPositions(positionsX[i], positionsY[i]);
-        assertArrayEquals(tile.getPositions(), new float[] {positionsX[i], positionsY[i]});
-      }
-    }
-  }
-
-  @Test
-  public void terrainHealthTest() {
-    aridTile = new AridTile();
-    waterTile = new WaterTile();
-    plainTile = new PlainTile();
-    fertileTile = new FertileTile();
-    Tile[] tiles = new Tile[] {fertileTile, aridTile, plainTile, waterTile};
-    for (Tile tile : tiles) {
-      for (float value : VALUES) {
-        tile.setTerrainHealth(value);
-        assertEquals(tile.getTerrainHealth(), value);
-      }
+      // every cell of a type shares the one tile
+      assertSame(tile, Tile.of(tile.getType()));
     }
   }
 }
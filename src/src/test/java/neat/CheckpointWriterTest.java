@@ -0,0 +1,91 @@
+package neat;
+
+import static neat.NeatTestUtils.checkpoint;
+import static neat.NeatTestUtils.evolve;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CheckpointWriterTest {
+  private static final int GENERATIONS = 8;
+
+  private Path directory;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    directory = Files.createTempDirectory("checkpoints");
+  }
+
+  /**
+   * Deletes the files written by a test.
+   */
+  @AfterEach
+  public void tearDown() throws IOException {
+    for (String name : new String[] {"Neat.txt", "Neat.txt.tmp", "history.log"}) {
+      Files.deleteIfExists(directory.resolve(name));
+    }
+    Files.delete(directory);
+  }
+
+  @Test
+  public void writesEverySnapshotTest() throws IOException, InterruptedException {
+    Path path = directory.resolve("Neat.txt");
+    Neat neat = new Neat(3, 2, 30, new SplittableRandom(5));
+    SplittableRandom scores = new SplittableRandom(5);
+    ArrayList<byte[]> expected = new ArrayList<>();
+    try (GenerationLog history = new GenerationLog(directory.resolve("history.log"))) {
+      CheckpointWriter writer = new CheckpointWriter(path, history, 2);
+      for (int i = 0; i < GENERATIONS; i++) {
+        evolve(neat, scores, 1);
+        expected.add(checkpoint(neat));
+        // the neat carries on evolving while the snapshot is written
+        writer.submit(neat);
+      }
+      writer.close();
+
+      assertArrayEquals(expected.get(GENERATIONS - 1), Files.readAllBytes(path));
+      assertFalse(Files.exists(directory.resolve("Neat.txt.tmp")));
+      assertEquals(GENERATIONS, history.size());
+      for (int i = 0; i < GENERATIONS; i++) {
+        assertArrayEquals(expected.get(i), checkpoint(history.read(i + 1)));
+      }
+    }
+  }
+
+  @Test
+  public void failedWriteTest() throws IOException, InterruptedException {
+    Path path = directory.resolve("Neat.txt");
+    Neat neat = new Neat(3, 2, 30, new SplittableRandom(5));
+    IllegalStateException cause = new IllegalStateException("disk full");
+    try (GenerationLog history = new GenerationLog(directory.resolve("history.log")) {
+      @Override
+      public synchronized int append(NeatSnapshot snapshot) {
+        throw cause;
+      }
+    }) {
+      CheckpointWriter writer = new CheckpointWriter(path, history, 2);
+      writer.submit(neat);
+      writer.submit(neat);
+      // the writer carries on after the failure, and reports it once every snapshot is done
+      IOException failure = assertThrows(IOException.class, writer::flush);
+      assertSame(cause, failure.getCause());
+      assertTrue(Files.exists(path));
+      writer.flush();
+
+      writer.submit(neat);
+      assertThrows(IOException.class, writer::close);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package neat;
+
+import static neat.NeatTestUtils.checkpoint;
+import static neat.NeatTestUtils.evolve;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class GenerationLogTest {
+  private static final int GENERATIONS = 6;
+
+  private Path path;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    path = Files.createTempFile("generations", ".log");
+    Files.delete(path);
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(path);
+  }
+
+  /**
+   * Evolves a neat, recording each generation, and returns the checkpoint of each generation.
+   */
+  private static ArrayList<byte[]> record(Neat neat, GenerationLog log) throws IOException {
+    ArrayList<byte[]> recorded = new ArrayList<>();
+    SplittableRandom scores = new SplittableRandom(3);
+    for (int i = 0; i < GENERATIONS; i++) {
+      evolve(neat, scores, 1);
+      log.append(neat);
+      recorded.add(checkpoint(neat));
+    }
+    return recorded;
+  }
+
+  @Test
+  public void readsAnyGenerationTest() throws IOException {
+    try (GenerationLog log = new GenerationLog(path)) {
+      ArrayList<byte[]> recorded = record(new Neat(3, 2, 30, new SplittableRandom(3)), log);
+      assertEquals(GENERATIONS, log.size());
+      assertEquals(1, log.getFirstGeneration());
+      assertEquals(GENERATIONS, log.getLastGeneration());
+      for (int generation : new int[] {4, 1, GENERATIONS, 2}) {
+        assertArrayEquals(recorded.get(generation - 1), checkpoint(log.read(generation)));
+      }
+      assertFalse(log.contains(0));
+      assertThrows(IOException.class, () -> log.read(GENERATIONS + 1));
+    }
+  }
+
+  @Test
+  public void reopenedLogContinuesTest() throws IOException {
+    Neat neat = new Neat(3, 2, 30, new SplittableRandom(3));
+    ArrayList<byte[]> recorded;
+    try (GenerationLog log = new GenerationLog(path)) {
+      recorded = record(neat, log);
+    }
+    try (GenerationLog log = new GenerationLog(path)) {
+      assertEquals(GENERATIONS, log.size());
+      assertArrayEquals(recorded.get(2), checkpoint(log.read(3)));
+      assertEquals(GENERATIONS + 1, log.append(neat));
+      assertTrue(log.contains(GENERATIONS + 1));
+    }
+    try (GenerationLog log = new GenerationLog(path)) {
+      assertEquals(GENERATIONS + 1, log.size());
+      assertArrayEquals(recorded.get(GENERATIONS - 1), checkpoint(log.read(GENERATIONS + 1)));
+    }
+  }
+
+  @Test
+  public void rejectsOtherFilesTest() throws IOException {
+    Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+    assertThrows(IOException.class, () -> new GenerationLog(path));
+  }
+}
@@ -0,0 +1,90 @@
+package neat;
+
+import static neat.NeatTestUtils.assertSameClients;
+import static neat.NeatTestUtils.assertSameGenome;
+import static neat.NeatTestUtils.evolve;
+import static neat.NeatTestUtils.score;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.SplittableRandom;
+import neat.genomes.ConnectionGene;
+import neat.genomes.InnovationRegistry;
+import neat.genomes.PackedGenome;
+import org.junit.jupiter.api.Test;
+
+public class IslandModelTest {
+  private static final long SEED = 21;
+  private static final int GENERATIONS = 12;
+
+  @Test
+  public void singleIslandMatchesNeatTest() {
+    Neat neat = new Neat(3, 2, 40, new SplittableRandom(SEED));
+    IslandModel islands = new IslandModel(new Neat(3, 2, 40, new SplittableRandom(SEED)), 1, 2,
+        2);
+    SplittableRandom neatScores = new SplittableRandom(SEED);
+    SplittableRandom islandScores = new SplittableRandom(SEED);
+    for (int i = 0; i < GENERATIONS; i++) {
+      evolve(neat, neatScores, 1);
+      score(islands.getIsland(0), islandScores);
+      islands.evolve();
+    }
+    assertSameClients(neat, islands.getIsland(0));
+    islands.shutdown();
+  }
+
+  @Test
+  public void islandsShareInnovationsTest() {
+    IslandModel islands = new IslandModel(new Neat(3, 2, 40, new SplittableRandom(SEED)), 4, 3,
+        2);
+    SplittableRandom scores = new SplittableRandom(SEED);
+    for (int i = 0; i < GENERATIONS; i++) {
+      for (int j = 0; j < islands.size(); j++) {
+        score(islands.getIsland(j), scores);
+      }
+      islands.evolve();
+    }
+    Neat first = islands.getIsland(0);
+    InnovationRegistry innovations = first.getInnovations();
+    for (int j = 0; j < islands.size(); j++) {
+      Neat island = islands.getIsland(j);
+      assertSame(innovations, island.getInnovations());
+      for (Client c : island.getClients().getData()) {
+        for (ConnectionGene gene : c.getGenome().getConnections().getData()) {
+          assertSame(first.getNode(gene.getFrom().getInnovationNumber()), gene.getFrom());
+          assertEquals(gene.getInnovationNumber(), innovations.getInnovation(
+              gene.getFrom().getInnovationNumber(), gene.getTo().getInnovationNumber()));
+        }
+      }
+    }
+    islands.shutdown();
+  }
+
+  @Test
+  public void migrationTest() {
+    IslandModel islands = new IslandModel(new Neat(3, 2, 10, new SplittableRandom(SEED)), 2, 1,
+        2);
+    SplittableRandom scores = new SplittableRandom(SEED);
+    for (int j = 0; j < islands.size(); j++) {
+      evolve(islands.getIsland(j), scores, 1);
+      score(islands.getIsland(j), scores);
+    }
+    Neat from = islands.getIsland(0);
+    Neat to = islands.getIsland(1);
+    from.getClient(3).setScore(10);
+    from.getClient(5).setScore(9);
+    to.getClient(0).setScore(-2);
+    to.getClient(7).setScore(-1);
+    PackedGenome best = from.getClient(3).getPackedGenome();
+    PackedGenome second = from.getClient(5).getPackedGenome();
+
+    islands.migrate();
+    assertSameGenome(best, to.getClient(0).getPackedGenome());
+    assertSameGenome(second, to.getClient(7).getPackedGenome());
+    assertArrayEquals(new double[] {10, 9},
+        new double[] {to.getClient(0).getScore(), to.getClient(7).getScore()});
+    assertSame(to, to.getClient(0).getGenome().getNeat());
+    islands.shutdown();
+  }
+}
@@ -0,0 +1,90 @@
+package neat;
+
+import static neat.NeatTestUtils.assertSameClients;
+import static neat.NeatTestUtils.checkpoint;
+import static neat.NeatTestUtils.evolve;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import engine.utils.ObjectFileIO;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.SplittableRandom;
+import neat.genomes.ConnectionGene;
+import neat.genomes.InnovationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class LegacyNeatTest {
+  // the Neat.txt bundled before checkpoints, saved with java serialization
+  private static final String FIXTURE = "/objects/legacyNeat.txt";
+  private static final long SEED = 11;
+
+  private Path path;
+
+  /**
+   * Copies the fixture to a file, as neats are read from a path.
+   */
+  @BeforeEach
+  public void setUp() throws IOException {
+    path = Files.createTempFile("legacyNeat", ".txt");
+    try (InputStream in = LegacyNeatTest.class.getResourceAsStream(FIXTURE)) {
+      Files.copy(in, path, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
+  @AfterEach
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(path);
+  }
+
+  @Test
+  public void readsLegacyNeatTest() throws IOException, ClassNotFoundException {
+    Neat neat = ObjectFileIO.readNeatFromFile(path.toString());
+    assertEquals(9, neat.getInputSize());
+    assertEquals(4, neat.getOutputSize());
+    assertEquals(50, neat.getClients().size());
+    // saved before the hyperparameters could be configured, so it is given the defaults
+    assertEquals(new NeatConfig().toProperties(), neat.getConfig().toProperties());
+    // the saved calculators are skipped, and rebuilt from the genomes when first used
+    assertNull(neat.getClient(0).getCalculator());
+    assertEquals(4, neat.getClient(0).calculate(new double[9]).length);
+
+    InnovationRegistry innovations = neat.getInnovations();
+    for (Client c : neat.getClients().getData()) {
+      for (ConnectionGene gene : c.getGenome().getConnections().getData()) {
+        assertEquals(gene.getInnovationNumber(), innovations.getInnovation(
+            gene.getFrom().getInnovationNumber(), gene.getTo().getInnovationNumber()));
+      }
+    }
+    // every hidden node was placed by splitting a connection, which is split through it again
+    int split = 0;
+    for (int i = 1; i <= innovations.size(); i++) {
+      int middle = innovations.getReplaceIndex(i);
+      if (middle != 0) {
+        split++;
+        assertNotEquals(0, innovations.getInnovation(innovations.getFrom(i), middle));
+        assertNotEquals(0, innovations.getInnovation(middle, innovations.getTo(i)));
+      }
+    }
+    assertEquals(neat.getAllNodes().size() - neat.getInputSize() - neat.getOutputSize(), split);
+  }
+
+  @Test
+  public void legacyNeatEvolvesTest() throws IOException, ClassNotFoundException {
+    Neat neat = ObjectFileIO.readNeatFromFile(path.toString());
+    neat.setRandom(new SplittableRandom(SEED));
+    evolve(neat, new SplittableRandom(SEED), 10);
+    // once evolved it is saved as a checkpoint
+    Neat loaded = NeatCheckpoint.read(
+        Channels.newChannel(new ByteArrayInputStream(checkpoint(neat))));
+    assertSameClients(neat, loaded);
+  }
+}
@@ -0,0 +1,86 @@
+package neat;
+
+import static neat.NeatTestUtils.assertSameClients;
+import static neat.NeatTestUtils.checkpoint;
+import static neat.NeatTestUtils.evolve;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+public class NeatCheckpointTest {
+  private static final long SEED = 7;
+
+  private static Neat read(byte[] bytes) throws IOException {
+    return NeatCheckpoint.read(Channels.newChannel(new ByteArrayInputStream(bytes)));
+  }
+
+  private static void assertSameNeat(Neat expected, Neat actual) {
+    assertEquals(expected.getInputSize(), actual.getInputSize());
+    assertEquals(expected.getOutputSize(), actual.getOutputSize());
+    assertEquals(expected.getMaxClients(), actual.getMaxClients());
+    assertSameClients(expected, actual);
+    ArrayList<Client> expectedClients = expected.getClients().getData();
+    ArrayList<Client> actualClients = actual.getClients().getData();
+    for (int i = 0; i < expectedClients.size(); i++) {
+      assertEquals(expectedClients.get(i).getScore(), actualClients.get(i).getScore());
+    }
+    assertEquals(expected.getSpecies().size(), actual.getSpecies().size());
+    for (int i = 0; i < expected.getSpecies().size(); i++) {
+      Species e = expected.getSpecies().get(i);
+      Species a = actual.getSpecies().get(i);
+      assertEquals(e.getScore(), a.getScore());
+      assertEquals(e.size(), a.size());
+      assertEquals(expectedClients.indexOf(e.getRepresentative()),
+          actualClients.indexOf(a.getRepresentative()));
+    }
+  }
+
+  @Test
+  public void roundTripTest() throws IOException {
+    Neat neat = new Neat(3, 2, 40, new SplittableRandom(SEED));
+    evolve(neat, new SplittableRandom(SEED), 20);
+    Neat loaded = read(checkpoint(neat));
+    assertSameNeat(neat, loaded);
+    // the loaded clients build their calculators when first used
+    assertNull(read(checkpoint(neat)).getClient(0).getCalculator());
+  }
+
+  @Test
+  public void loadedNeatEvolvesTheSameTest() throws IOException {
+    Neat neat = new Neat(3, 2, 40, new SplittableRandom(SEED));
+    evolve(neat, new SplittableRandom(SEED), 10);
+    Neat loaded = read(checkpoint(neat));
+    neat.setRandom(new SplittableRandom(SEED));
+    loaded.setRandom(new SplittableRandom(SEED));
+    evolve(neat, new SplittableRandom(SEED), 10);
+    evolve(loaded, new SplittableRandom(SEED), 10);
+    assertSameNeat(neat, loaded);
+  }
+
+  @Test
+  public void rejectsOtherDataTest() {
+    assertThrows(IOException.class, () -> read(new byte[] {1, 2, 3, 4, 5, 6, 7, 8}));
+    assertThrows(IOException.class, () -> read(new byte[] {0x4E, 0x45, 0x41}));
+  }
+
+  @Test
+  public void rejectsStrayRepresentativeTest() {
+    Neat neat = new Neat(3, 2, 10, new SplittableRandom(SEED));
+    evolve(neat, new SplittableRandom(SEED), 2);
+    Client stranger = new Client();
+    stranger.setGenome(neat.emptyGenome());
+    neat.getSpecies().add(new Species(stranger));
+    // caught when the snapshot is taken, not when the checkpoint is read back
+    IllegalStateException e = assertThrows(IllegalStateException.class, () -> checkpoint(neat));
+    assertTrue(e.getMessage().contains(
+        "representative of species " + (neat.getSpecies().size() - 1)));
+  }
+}
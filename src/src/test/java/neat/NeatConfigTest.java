@@ -0,0 +1,83 @@
+package neat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+public class NeatConfigTest {
+
+  private static NeatConfig sweepConfig() {
+    NeatConfig config = new NeatConfig();
+    config.setInputSize(3);
+    config.setOutputSize(2);
+    config.setClients(30);
+    config.setCP(2.5);
+    config.setC3(0.4);
+    config.setSurvivorPercentage(0.6);
+    config.setProbabilityMutateNode(0.1);
+    return config;
+  }
+
+  private static void assertSameConfig(NeatConfig expected, NeatConfig actual) {
+    assertEquals(expected.toProperties(), actual.toProperties());
+  }
+
+  @Test
+  public void propertiesRoundTripTest() {
+    NeatConfig config = sweepConfig();
+    assertSameConfig(config, NeatConfig.fromProperties(config.toProperties()));
+  }
+
+  @Test
+  public void missingKeysKeepDefaultsTest() {
+    Properties properties = new Properties();
+    properties.setProperty("cp", " 3.5 ");
+    NeatConfig config = NeatConfig.fromProperties(properties);
+    NeatConfig expected = new NeatConfig();
+    expected.setCP(3.5);
+    assertSameConfig(expected, config);
+  }
+
+  @Test
+  public void rejectsBadPropertiesTest() {
+    Properties unknown = new Properties();
+    unknown.setProperty("probabilityMutateEverything", "1");
+    assertThrows(IllegalArgumentException.class, () -> NeatConfig.fromProperties(unknown));
+    Properties notNumber = new Properties();
+    notNumber.setProperty("clients", "many");
+    assertThrows(IllegalArgumentException.class, () -> NeatConfig.fromProperties(notNumber));
+  }
+
+  @Test
+  public void neatUsesConfigTest() {
+    NeatConfig config = sweepConfig();
+    Neat neat = new Neat(config, new SplittableRandom(3));
+    assertEquals(3, neat.getInputSize());
+    assertEquals(2, neat.getOutputSize());
+    assertEquals(30, neat.getClients().size());
+    assertEquals(2.5, neat.getCP());
+    assertEquals(0.1, neat.getProbabilityMutateNode());
+    assertSameConfig(config, neat.getConfig());
+    // the config is copied, so later changes to it do not reach the neat
+    config.setCP(9);
+    assertEquals(2.5, neat.getCP());
+  }
+
+  @Test
+  public void checkpointKeepsConfigTest() throws IOException {
+    NeatConfig config = sweepConfig();
+    Neat neat = new Neat(config, new SplittableRandom(3));
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    NeatCheckpoint.write(Channels.newChannel(bytes), neat);
+    Neat loaded = NeatCheckpoint.read(
+        Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+    assertSameConfig(config, loaded.getConfig());
+  }
+}
@@ -0,0 +1,56 @@
+package neat;
+
+import static neat.NeatTestUtils.assertSameClients;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+import java.util.SplittableRandom;
+import neat.calculations.Calculator;
+import org.junit.jupiter.api.Test;
+
+public class NeatTest {
+  private static final long SEED = 42;
+  private static final int GENERATIONS = 25;
+
+  private static Neat evolve(boolean parallelSpeciation) {
+    Neat neat = new Neat(4, 2, 60, new SplittableRandom(SEED));
+    neat.setParallelSpeciation(parallelSpeciation);
+    NeatTestUtils.evolve(neat, new SplittableRandom(SEED), GENERATIONS);
+    return neat;
+  }
+
+  private static int[] speciesSizes(Neat neat) {
+    int[] sizes = new int[neat.getSpecies().size()];
+    for (int i = 0; i < sizes.length; i++) {
+      sizes[i] = neat.getSpecies().get(i).size();
+    }
+    return sizes;
+  }
+
+  @Test
+  public void seededRunsMatchTest() {
+    assertSameClients(evolve(false), evolve(false));
+  }
+
+  @Test
+  public void parallelSpeciationMatchesSerialTest() {
+    Neat serial = evolve(false);
+    Neat parallel = evolve(true);
+    assertSameClients(serial, parallel);
+    assertArrayEquals(speciesSizes(serial), speciesSizes(parallel));
+  }
+
+  @Test
+  public void calculatorsFollowGenomesTest() {
+    Neat neat = new Neat(4, 2, 60, new SplittableRandom(SEED));
+    SplittableRandom scores = new SplittableRandom(SEED);
+    double[] input = {0.1, 0.2, 0.3, 0.4};
+    for (int i = 0; i < GENERATIONS; i++) {
+      for (Client c : neat.getClients().getData()) {
+        // the client's calculator is updated or rebuilt only as its genome changes
+        assertArrayEquals(new Calculator(c.getGenome()).calculate(input), c.calculate(input));
+        c.setScore(scores.nextDouble());
+      }
+      neat.evolve();
+    }
+  }
+}
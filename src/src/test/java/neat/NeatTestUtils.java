@@ -0,0 +1,99 @@
+package neat;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import neat.genomes.PackedGenome;
+
+/**
+ * Helpers shared by the neat tests to evolve neats and compare the results.
+ */
+final class NeatTestUtils {
+
+  private NeatTestUtils() {
+  }
+
+  /**
+   * Give every client of a neat a random score.
+   *
+   * @param neat   the neat
+   * @param scores the random the scores are drawn from
+   */
+  static void score(Neat neat, SplittableRandom scores) {
+    for (Client c : neat.getClients().getData()) {
+      c.setScore(scores.nextDouble());
+    }
+  }
+
+  /**
+   * Score every client at random and then evolve the neat, for a number of generations.
+   *
+   * @param neat        the neat
+   * @param scores      the random the scores are drawn from
+   * @param generations the number of generations
+   */
+  static void evolve(Neat neat, SplittableRandom scores, int generations) {
+    for (int i = 0; i < generations; i++) {
+      score(neat, scores);
+      neat.evolve();
+    }
+  }
+
+  /**
+   * Write the checkpoint of a neat to memory.
+   *
+   * @param neat the neat
+   * @return the bytes of the checkpoint
+   * @throws IOException if the checkpoint cannot be written
+   */
+  static byte[] checkpoint(Neat neat) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    NeatCheckpoint.write(Channels.newChannel(bytes), neat);
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Assert that two genomes hold the same genes, in the same order.
+   *
+   * @param expected the expected genome
+   * @param actual   the actual genome
+   */
+  static void assertSameGenome(PackedGenome expected, PackedGenome actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.getInnovationNumber(i), actual.getInnovationNumber(i));
+      assertEquals(expected.getFrom(i), actual.getFrom(i));
+      assertEquals(expected.getTo(i), actual.getTo(i));
+      assertEquals(expected.getWeight(i), actual.getWeight(i));
+      assertEquals(expected.isEnabled(i), actual.isEnabled(i));
+    }
+  }
+
+  /**
+   * Assert that two neats have the same genomes, in the same order, and that each pair of clients
+   * calculates the same outputs.
+   *
+   * @param expected the expected neat
+   * @param actual   the actual neat
+   */
+  static void assertSameClients(Neat expected, Neat actual) {
+    ArrayList<Client> expectedClients = expected.getClients().getData();
+    ArrayList<Client> actualClients = actual.getClients().getData();
+    assertEquals(expectedClients.size(), actualClients.size());
+    double[] input = new double[expected.getInputSize()];
+    for (int i = 0; i < input.length; i++) {
+      input[i] = (i + 1) / (input.length + 1.0);
+    }
+    for (int i = 0; i < expectedClients.size(); i++) {
+      assertSameGenome(expectedClients.get(i).getPackedGenome(),
+          actualClients.get(i).getPackedGenome());
+      assertArrayEquals(expectedClients.get(i).calculate(input),
+          actualClients.get(i).calculate(input));
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package neat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+public class SpeciesTest {
+
+  private static Species speciesOf(Neat neat, double... scores) {
+    Species species = new Species(neat.getClient(0));
+    for (int i = 1; i < scores.length; i++) {
+      species.forcePut(neat.getClient(i));
+    }
+    for (int i = 0; i < scores.length; i++) {
+      neat.getClient(i).setScore(scores[i]);
+    }
+    return species;
+  }
+
+  @Test
+  public void scoreFollowsClientScoresTest() {
+    Neat neat = new Neat(2, 1, 4, new SplittableRandom(1));
+    Species species = speciesOf(neat, 1, 2, 3, 4);
+    species.evaluateScore();
+    assertEquals(2.5, species.getScore(), 1e-9);
+
+    neat.getClient(0).setScore(9);
+    species.evaluateScore();
+    assertEquals(4.5, species.getScore(), 1e-9);
+    assertSame(neat.getClient(0), species.getBestClient());
+  }
+
+  @Test
+  public void killRemovesLowestScoresTest() {
+    Neat neat = new Neat(2, 1, 4, new SplittableRandom(1));
+    Species species = speciesOf(neat, 3, 1, 4, 2);
+    species.kill(0.5);
+    assertEquals(2, species.size());
+    assertFalse(species.getClients().contains(neat.getClient(1)));
+    assertFalse(species.getClients().contains(neat.getClient(3)));
+    assertNull(neat.getClient(1).getSpecies());
+    species.evaluateScore();
+    assertEquals(3.5, species.getScore(), 1e-9);
+
+    // a killed client's score no longer counts towards the species
+    neat.getClient(1).setScore(100);
+    species.evaluateScore();
+    assertEquals(3.5, species.getScore(), 1e-9);
+  }
+
+  @Test
+  public void bestClientPrefersEarliestOnTiesTest() {
+    Neat neat = new Neat(2, 1, 3, new SplittableRandom(1));
+    Species species = speciesOf(neat, 5, 7, 7);
+    assertSame(neat.getClient(1), species.getBestClient());
+    species.reset();
+    assertEquals(1, species.size());
+    assertTrue(species.getClients().contains(species.getRepresentative()));
+  }
+}
@@ -0,0 +1,141 @@
+package neat.calculations;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import neat.Client;
+import neat.Neat;
+import neat.genomes.ConnectionGene;
+import neat.genomes.Genome;
+import neat.genomes.NodeGene;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CalculatorTest {
+  private static final double DELTA = 1e-12;
+  private Genome genome;
+  private Calculator calculator;
+
+  private static double sigmoid(double x) {
+    return 1d / (1 + Math.exp(-x));
+  }
+
+  private static void connect(Neat neat, Genome genome, NodeGene from, NodeGene to,
+                              double weight, boolean enabled) {
+    ConnectionGene con = neat.getConnection(from, to);
+    con.setWeight(weight);
+    con.setEnabled(enabled);
+    genome.getConnections().add(con);
+  }
+
+  /**
+   * Builds a network with two inputs, one output and two chained hidden nodes.
+   */
+  @BeforeEach
+  public void setUp() {
+    Neat neat = new Neat(2, 1, 1);
+    genome = neat.emptyGenome();
+    NodeGene firstInput = neat.getNode(1);
+    NodeGene secondInput = neat.getNode(2);
+    NodeGene output = neat.getNode(3);
+    NodeGene firstHidden = neat.getNode();
+    firstHidden.setX(0.3);
+    NodeGene secondHidden = neat.getNode();
+    secondHidden.setX(0.6);
+    // add the deeper node first so the order of the genome differs from the evaluation order
+    genome.getNodes().add(secondHidden);
+    genome.getNodes().add(firstHidden);
+
+    connect(neat, genome, secondHidden, output, 2, true);
+    connect(neat, genome, firstHidden, secondHidden, -1.5, true);
+    connect(neat, genome, firstInput, firstHidden, 1, true);
+    connect(neat, genome, secondInput, output, -1, true);
+    connect(neat, genome, secondInput, firstHidden, 5, false);
+    calculator = new Calculator(genome);
+  }
+
+  private double expected(double first, double second) {
+    double firstHidden = sigmoid(first);
+    double secondHidden = sigmoid(-1.5 * firstHidden);
+    return sigmoid(2 * secondHidden - second);
+  }
+
+  @Test
+  public void sizeTest() {
+    assertEquals(2, calculator.getInputSize());
+    assertEquals(1, calculator.getOutputSize());
+  }
+
+  @Test
+  public void calculateTest() {
+    assertEquals(expected(0.25, 0.75), calculator.calculate(0.25, 0.75)[0], DELTA);
+    assertEquals(expected(-1, 2), calculator.calculate(-1, 2)[0], DELTA);
+  }
+
+  @Test
+  public void calculateIntoOutputTest() {
+    double[] output = new double[1];
+    calculator.calculate(new double[] {0.5, 0.1}, output);
+    assertArrayEquals(calculator.calculate(0.5, 0.1), output, DELTA);
+  }
+
+  @Test
+  public void wrongInputSizeTest() {
+    assertThrows(RuntimeException.class, () -> calculator.calculate(1));
+    assertThrows(RuntimeException.class,
+        () -> calculator.calculate(new double[] {1, 1}, new double[0]));
+  }
+
+  @Test
+  public void calculateBatchTest() {
+    double[][] inputs = {{0.25, 0.75}, {-1, 2}, {0, 0}};
+    double[] outputs = calculator.calculateBatch(inputs);
+    assertEquals(inputs.length, outputs.length);
+    for (int i = 0; i < inputs.length; i++) {
+      assertEquals(expected(inputs[i][0], inputs[i][1]), outputs[i], DELTA);
+    }
+  }
+
+  @Test
+  public void calculateFlatBatchTest() {
+    double[] outputs = new double[2];
+    calculator.calculateBatch(new double[] {0.25, 0.75, -1, 2}, outputs);
+    assertArrayEquals(new double[] {expected(0.25, 0.75), expected(-1, 2)}, outputs, DELTA);
+    assertThrows(RuntimeException.class,
+        () -> calculator.calculateBatch(new double[] {1, 1, 1}, outputs));
+  }
+
+  @Test
+  public void updateWeightsTest() {
+    for (ConnectionGene c : genome.getConnections().getData()) {
+      c.setWeight(c.getWeight() * -0.5);
+      c.setEnabled(!c.isEnabled());
+    }
+    calculator.updateWeights(genome);
+    Calculator rebuilt = new Calculator(genome);
+    assertArrayEquals(rebuilt.calculate(0.25, 0.75), calculator.calculate(0.25, 0.75), DELTA);
+    assertArrayEquals(rebuilt.calculate(-1, 2), calculator.calculate(-1, 2), DELTA);
+  }
+
+  @Test
+  public void serializedClientTest() throws IOException, ClassNotFoundException {
+    Client client = new Client();
+    client.setGenome(genome);
+    double[] expected = client.calculate(0.25, 0.75);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(client);
+    }
+    try (ObjectInputStream in =
+             new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      // the calculator is not saved, so it is rebuilt from the genome
+      assertArrayEquals(expected, ((Client) in.readObject()).calculate(0.25, 0.75), DELTA);
+    }
+  }
+}
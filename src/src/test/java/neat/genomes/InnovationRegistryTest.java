@@ -0,0 +1,60 @@
+package neat.genomes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+public class InnovationRegistryTest {
+
+  @Test
+  public void registerTest() {
+    InnovationRegistry registry = new InnovationRegistry();
+    assertEquals(0, registry.getInnovation(1, 2));
+    assertEquals(1, registry.register(1, 2));
+    assertEquals(2, registry.register(2, 1));
+    assertEquals(1, registry.register(1, 2));
+    assertEquals(1, registry.getInnovation(1, 2));
+    assertEquals(2, registry.size());
+    assertEquals(2, registry.getFrom(2));
+    assertEquals(1, registry.getTo(2));
+  }
+
+  @Test
+  public void matchesHashMapTest() {
+    InnovationRegistry registry = new InnovationRegistry();
+    HashMap<Long, Integer> expected = new HashMap<>();
+    SplittableRandom random = new SplittableRandom(11);
+    // enough pairs for the table to grow several times, with plenty of repeats
+    for (int i = 0; i < 20000; i++) {
+      int from = 1 + random.nextInt(300);
+      int to = 1 + random.nextInt(300);
+      Integer innovation = expected.computeIfAbsent(((long) from << 32) | to,
+          key -> expected.size() + 1);
+      assertEquals((int) innovation, registry.register(from, to));
+    }
+    assertEquals(expected.size(), registry.size());
+    for (int innovation = 1; innovation <= registry.size(); innovation++) {
+      long key = ((long) registry.getFrom(innovation) << 32) | registry.getTo(innovation);
+      assertEquals(innovation, (int) expected.get(key));
+    }
+  }
+
+  @Test
+  public void replaceIndexTest() {
+    InnovationRegistry registry = new InnovationRegistry();
+    registry.register(3, 4);
+    assertEquals(0, registry.getReplaceIndex(3, 4));
+    registry.setReplaceIndex(3, 4, 9);
+    assertEquals(9, registry.getReplaceIndex(3, 4));
+    assertEquals(9, registry.getReplaceIndex(1));
+    // connections that were never made have no replace index
+    registry.setReplaceIndex(4, 3, 5);
+    assertEquals(0, registry.getReplaceIndex(4, 3));
+    registry.clear();
+    assertEquals(0, registry.size());
+    assertEquals(0, registry.getInnovation(3, 4));
+    assertEquals(1, registry.register(4, 3));
+  }
+}
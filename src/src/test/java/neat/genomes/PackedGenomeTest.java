@@ -0,0 +1,81 @@
+package neat.genomes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import neat.Client;
+import neat.Neat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class PackedGenomeTest {
+  private static final int GENERATIONS = 10;
+  private ArrayList<Client> clients;
+
+  /**
+   * Evolves a small population so the genomes have hidden nodes and differing connections.
+   */
+  @BeforeEach
+  public void setUp() {
+    Neat neat = new Neat(3, 2, 20);
+    for (int i = 0; i < GENERATIONS; i++) {
+      for (Client c : neat.getClients().getData()) {
+        c.setScore(Math.random());
+      }
+      neat.evolve();
+    }
+    clients = neat.getClients().getData();
+  }
+
+  private static void assertSameGenome(Genome expected, Genome actual) {
+    assertEquals(expected.getNodes().getData(), actual.getNodes().getData());
+    assertEquals(expected.getConnections().size(), actual.getConnections().size());
+    for (int i = 0; i < expected.getConnections().size(); i++) {
+      ConnectionGene e = expected.getConnections().get(i);
+      ConnectionGene a = actual.getConnections().get(i);
+      assertEquals(e.getInnovationNumber(), a.getInnovationNumber());
+      assertSame(e.getFrom(), a.getFrom());
+      assertSame(e.getTo(), a.getTo());
+      assertEquals(e.getWeight(), a.getWeight());
+      assertEquals(e.isEnabled(), a.isEnabled());
+    }
+  }
+
+  @Test
+  public void roundTripTest() {
+    for (Client c : clients) {
+      assertSameGenome(c.getGenome(), new PackedGenome(c.getGenome()).toGenome());
+    }
+  }
+
+  @Test
+  public void distanceTest() {
+    for (Client a : clients) {
+      for (Client b : clients) {
+        assertEquals(a.getGenome().distance(b.getGenome()),
+            new PackedGenome(a.getGenome()).distance(new PackedGenome(b.getGenome())), 1e-12);
+      }
+    }
+  }
+
+  @Test
+  public void crossOverWithSelfTest() {
+    // crossing a genome with itself has only matching genes, so the result is deterministic
+    for (Client c : clients) {
+      PackedGenome packed = new PackedGenome(c.getGenome());
+      assertSameGenome(Genome.crossOver(c.getGenome(), c.getGenome()),
+          PackedGenome.crossOver(packed, packed).toGenome());
+    }
+  }
+
+  @Test
+  public void crossOverWithEmptyTest() {
+    Genome empty = clients.get(0).getGenome().getNeat().emptyGenome();
+    for (Client c : clients) {
+      assertSameGenome(Genome.crossOver(c.getGenome(), empty),
+          PackedGenome.crossOver(new PackedGenome(c.getGenome()), new PackedGenome(empty))
+              .toGenome());
+    }
+  }
+}
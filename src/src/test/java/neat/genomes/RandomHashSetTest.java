@@ -0,0 +1,127 @@
+package neat.genomes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class RandomHashSetTest {
+  private RandomHashSet<String> set;
+
+  /**
+   * Fills the set with five elements.
+   */
+  @BeforeEach
+  public void setUp() {
+    set = new RandomHashSet<>();
+    for (String s : new String[] {"d", "b", "e", "a", "c"}) {
+      set.add(s);
+    }
+  }
+
+  @Test
+  public void addTest() {
+    set.add("a");
+    assertEquals(5, set.size());
+    assertTrue(set.contains("c"));
+    assertFalse(set.contains("f"));
+  }
+
+  @Test
+  public void removeKeepsOrderTest() {
+    set.remove("b");
+    set.remove(0);
+    assertEquals(Arrays.asList("e", "a", "c"), set.getData());
+    assertFalse(set.contains("b"));
+    assertFalse(set.contains("d"));
+    // the positions of the remaining elements must still be correct
+    set.remove("a");
+    assertEquals(Arrays.asList("e", "c"), set.getData());
+  }
+
+  @Test
+  public void swapRemoveTest() {
+    set.swapRemove("b");
+    assertEquals(Arrays.asList("d", "c", "e", "a"), set.getData());
+    set.swapRemove("a");
+    assertEquals(Arrays.asList("d", "c", "e"), set.getData());
+    set.swapRemove("c");
+    assertEquals(Arrays.asList("d", "e"), set.getData());
+    assertFalse(set.contains("c"));
+    assertTrue(set.contains("e"));
+  }
+
+  @Test
+  public void removeLowestTest() {
+    List<String> removed = set.removeLowest(2, Comparator.naturalOrder());
+    assertEquals(Arrays.asList("a", "b"), removed);
+    assertEquals(Arrays.asList("c", "d", "e"), set.getData());
+    set.remove("d");
+    assertEquals(Arrays.asList("c", "e"), set.getData());
+    assertEquals(2, set.removeLowest(5, Comparator.naturalOrder()).size());
+    assertEquals(0, set.size());
+  }
+
+  @Test
+  public void addSortedTest() {
+    RandomHashSet<NodeGene> genes = new RandomHashSet<>();
+    for (int innovation : new int[] {4, 1, 3, 5, 2, 3}) {
+      genes.addSorted(new NodeGene(innovation));
+    }
+    assertEquals(5, genes.size());
+    for (int i = 0; i < genes.size(); i++) {
+      assertEquals(i + 1, genes.get(i).getInnovationNumber());
+    }
+    genes.remove(new NodeGene(2));
+    assertEquals(3, genes.get(1).getInnovationNumber());
+    genes.removeSorted(new NodeGene(4));
+    genes.removeSorted(new NodeGene(6));
+    assertEquals(3, genes.size());
+    assertFalse(genes.contains(new NodeGene(4)));
+    assertEquals(5, genes.get(2).getInnovationNumber());
+  }
+
+  @Test
+  public void positionsAfterInsertsTest() {
+    RandomHashSet<NodeGene> genes = new RandomHashSet<>();
+    for (int innovation : new int[] {10, 30, 20, 50, 40}) {
+      genes.addSorted(new NodeGene(innovation));
+    }
+    // the positions shifted by the inserts are brought up to date when looked up
+    genes.remove(new NodeGene(30));
+    genes.addSorted(new NodeGene(5));
+    assertEquals(5, genes.size());
+    genes.swapRemove(new NodeGene(20));
+    assertEquals(4, genes.size());
+    assertEquals(5, genes.get(0).getInnovationNumber());
+    assertEquals(10, genes.get(1).getInnovationNumber());
+    assertEquals(50, genes.get(2).getInnovationNumber());
+    assertEquals(40, genes.get(3).getInnovationNumber());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void serializationTest() throws IOException, ClassNotFoundException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(set);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(
+        new ByteArrayInputStream(bytes.toByteArray()))) {
+      set = (RandomHashSet<String>) in.readObject();
+    }
+    assertTrue(set.contains("e"));
+    set.remove("e");
+    assertEquals(Arrays.asList("d", "b", "a", "c"), set.getData());
+  }
+}
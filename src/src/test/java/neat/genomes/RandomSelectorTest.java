@@ -0,0 +1,65 @@
+package neat.genomes;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+public class RandomSelectorTest {
+  private static final int DRAWS = 100000;
+
+  private static int[] draw(RandomSelector<Integer> selector, int size) {
+    SplittableRandom random = new SplittableRandom(7);
+    int[] counts = new int[size];
+    for (int i = 0; i < DRAWS; i++) {
+      counts[selector.random(random)]++;
+    }
+    return counts;
+  }
+
+  @Test
+  public void selectsInProportionToScoreTest() {
+    RandomSelector<Integer> selector = new RandomSelector<>();
+    double[] scores = {1, 2, 3, 4};
+    for (int i = 0; i < scores.length; i++) {
+      selector.add(i, scores[i]);
+    }
+    int[] counts = draw(selector, scores.length);
+    for (int i = 0; i < scores.length; i++) {
+      assertEquals(scores[i] / 10, (double) counts[i] / DRAWS, 0.01);
+    }
+  }
+
+  @Test
+  public void neverSelectsNonPositiveScoresTest() {
+    RandomSelector<Integer> selector = new RandomSelector<>();
+    selector.add(0, -5);
+    selector.add(1, 3);
+    selector.add(2, 0);
+    selector.add(3, Double.NaN);
+    assertEquals(DRAWS, draw(selector, 4)[1]);
+  }
+
+  @Test
+  public void selectsUniformlyWithoutPositiveScoresTest() {
+    RandomSelector<Integer> selector = new RandomSelector<>();
+    for (int i = 0; i < 4; i++) {
+      selector.add(i, -i);
+    }
+    for (int count : draw(selector, 4)) {
+      assertEquals(0.25, (double) count / DRAWS, 0.01);
+    }
+  }
+
+  @Test
+  public void emptySelectorTest() {
+    RandomSelector<Integer> selector = new RandomSelector<>();
+    assertNull(selector.random(new SplittableRandom(1)));
+    selector.add(1, 0);
+    assertNotNull(selector.random(new SplittableRandom(1)));
+    selector.reset();
+    assertNull(selector.random(new SplittableRandom(1)));
+  }
+}
@@ -0,0 +1,51 @@
+package neat.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+  @Test
+  public void bucketTest() {
+    assertEquals(0, LatencyHistogram.bucket(0));
+    assertEquals(1, LatencyHistogram.bucket(1));
+    assertEquals(2, LatencyHistogram.bucket(2));
+    assertEquals(2, LatencyHistogram.bucket(3));
+    assertEquals(11, LatencyHistogram.bucket(1024));
+    assertEquals(63, LatencyHistogram.bucket(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void summaryTest() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (int i = 1; i <= 100; i++) {
+      histogram.record(i * 10);
+    }
+    histogram.record(-5);
+    assertEquals(101, histogram.getCount());
+    assertEquals(50500, histogram.getTotal());
+    assertEquals(1000, histogram.getMax());
+    assertEquals(50500 / 101.0, histogram.getMean());
+    // each percentile is the top of its bucket, so within a factor of two above the true value
+    long median = histogram.getPercentile(0.5);
+    assertTrue(median >= 500 && median < 1000, "median " + median);
+    assertEquals(1000, histogram.getPercentile(0.99));
+    assertEquals(0, histogram.getPercentile(0));
+  }
+
+  @Test
+  public void snapshotAndResetTest() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    histogram.record(100);
+    histogram.record(300);
+    LatencyHistogram snapshot = histogram.snapshotAndReset();
+    assertEquals(2, snapshot.getCount());
+    assertEquals(300, snapshot.getMax());
+    assertEquals(0, histogram.getCount());
+    assertEquals(0, histogram.getMax());
+    assertEquals(0, histogram.getMean());
+    assertEquals(0, histogram.getPercentile(0.5));
+  }
+}
@@ -0,0 +1,70 @@
+package neat.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import neat.Client;
+import neat.Neat;
+import org.junit.jupiter.api.Test;
+
+public class TrainingMetricsTest {
+
+  @Test
+  public void sampleTest() {
+    TrainingMetrics metrics = new TrainingMetrics();
+    metrics.recordGame();
+    metrics.recordGame();
+    for (int i = 0; i < 10; i++) {
+      metrics.recordTurn();
+    }
+    metrics.recordPhase(TrainingMetrics.Phase.KILL, 2_000_000);
+    metrics.recordGeneration(1_000_000_000, 4096);
+    metrics.recordGeneration(1_000_000_000, 1024);
+    TrainingMetrics.Sample sample = metrics.sample();
+    assertEquals(2, sample.getGenerations());
+    assertEquals(2560, sample.getAllocatedBytesPerGeneration());
+    assertEquals(10 / 2.0, sample.getTurnsPerSecond() / sample.getGamesPerSecond(), 1e-9);
+    assertEquals(2_000_000, sample.getPhase(TrainingMetrics.Phase.KILL).getMax());
+    assertEquals(0, sample.getPhase(TrainingMetrics.Phase.MUTATE).getCount());
+
+    // the next sample only covers what was recorded after this one
+    TrainingMetrics.Sample next = metrics.sample();
+    assertEquals(0, next.getGenerations());
+    assertEquals(0, next.getGamesPerSecond());
+    assertEquals(0, next.getPhase(TrainingMetrics.Phase.KILL).getCount());
+  }
+
+  @Test
+  public void formatsTest() {
+    TrainingMetrics metrics = new TrainingMetrics();
+    metrics.recordCalculation(250);
+    TrainingMetrics.Sample sample = metrics.sample();
+    String[] header = TrainingMetrics.Sample.csvHeader().split(",");
+    String[] row = sample.toCsv().split(",");
+    assertEquals(header.length, row.length);
+    assertTrue(TrainingMetrics.Sample.csvHeader().contains("calculatorRebuildMeanMillis"));
+    String json = sample.toJson();
+    assertTrue(json.startsWith("{\"timestamp\":"), json);
+    assertTrue(json.contains("\"calculations\":1,"), json);
+    assertTrue(json.contains("\"calculateMaxNanos\":250,"), json);
+  }
+
+  @Test
+  public void evolveRecordsPhasesTest() {
+    TrainingMetrics metrics = TrainingMetrics.getInstance();
+    metrics.sample();
+    Neat neat = new Neat(3, 2, 30, new SplittableRandom(5));
+    for (Client c : neat.getClients().getData()) {
+      c.setScore(1);
+    }
+    neat.evolve();
+    neat.evolve();
+    TrainingMetrics.Sample sample = metrics.sample();
+    for (TrainingMetrics.Phase phase : TrainingMetrics.Phase.values()) {
+      // calculators are brought up to date by the trainer, not by evolving
+      long expected = phase == TrainingMetrics.Phase.CALCULATOR_REBUILD ? 0 : 2;
+      assertEquals(expected, sample.getPhase(phase).getCount(), phase.name());
+    }
+  }
+}
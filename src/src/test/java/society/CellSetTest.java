@@ -0,0 +1,71 @@
+package society;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class CellSetTest {
+
+  @Test
+  void addTest() {
+    CellSet cells = new CellSet();
+    assertTrue(cells.isEmpty());
+    assertTrue(cells.add(7));
+    assertTrue(cells.add(0));
+    assertFalse(cells.add(7));
+    assertEquals(2, cells.size());
+    assertEquals(7, cells.get(0));
+    assertEquals(0, cells.get(1));
+    assertTrue(cells.contains(0));
+    assertFalse(cells.contains(1));
+  }
+
+  @Test
+  void swapRemoveTest() {
+    CellSet cells = new CellSet();
+    cells.add(3);
+    cells.add(5);
+    cells.add(9);
+    assertTrue(cells.swapRemove(3));
+    assertFalse(cells.swapRemove(3));
+    // the last cell takes the place of the one removed
+    assertEquals(9, cells.get(0));
+    assertEquals(5, cells.get(1));
+    assertFalse(cells.contains(3));
+    cells.clear();
+    assertTrue(cells.isEmpty());
+    assertFalse(cells.contains(9));
+  }
+
+  @Test
+  void matchesListTest() {
+    SplittableRandom random = new SplittableRandom(1);
+    CellSet cells = new CellSet();
+    ArrayList<Integer> expected = new ArrayList<>();
+    for (int i = 0; i < 20000; i++) {
+      int cell = random.nextInt(500);
+      if (random.nextBoolean()) {
+        assertEquals(!expected.contains(cell), cells.add(cell));
+        if (!expected.contains(cell)) {
+          expected.add(cell);
+        }
+      } else {
+        int position = expected.indexOf(cell);
+        assertEquals(position >= 0, cells.swapRemove(cell));
+        if (position >= 0) {
+          expected.set(position, expected.get(expected.size() - 1));
+          expected.remove(expected.size() - 1);
+        }
+      }
+    }
+    assertEquals(expected.size(), cells.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals((int) expected.get(i), cells.get(i));
+      assertTrue(cells.contains(expected.get(i)));
+    }
+  }
+}
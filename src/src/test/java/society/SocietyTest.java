@@ -1,8 +1,11 @@
 package society;
 
 import static java.lang.Math.abs;
-import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import engine.graphics.Material;
 import engine.graphics.image.Image;
@@ -11,8 +14,8 @@ import engine.graphics.model.dimension.two.RectangleModel;
 import engine.objects.world.TileWorldObject;
 import engine.utils.ColourUtils;
 import game.world.World;
-import java.util.ArrayList;
 import java.util.Random;
+import map.WorldGrid;
 import map.tiles.AridTile;
 import map.tiles.Tile;
 import math.Vector3f;
@@ -22,6 +25,7 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import society.person.Person;
+import society.person.Population;
 
 class SocietyTest {
   static final int SIZE_OF_ARRAYS = 5;
@@ -41,6 +45,7 @@ class SocietyTest {
   int[] differentValues;
   float[] differentIndexValues;
   private TileWorldObject temp;
+  private WorldGrid grid;
 
   private int generateRandomInt() {
     Random r = new Random();
@@ -60,10 +65,11 @@ class SocietyTest {
 
   @BeforeEach
   public void setUp() {
+    grid = new WorldGrid(1, 1);
     temp = new TileWorldObject(new Vector3f(0, 0, 0), new Vector3f(0, 0, 0),
         new Vector3f(0, 0, 0), new Mesh(tileModel,
         new Material(new Image("resources/images/default_texture.png"))),
-        new AridTile(), 0, 0);
+        AridTile.getInstance(), grid, 0, 0);
     society = new Society(1, BASIC_SOCIETY_COLORS[0]);
     differentValues = new int[SIZE_OF_ARRAYS];
     for (int i = 0; i < SIZE_OF_ARRAYS; i++) {
@@ -77,6 +83,7 @@ class SocietyTest {
 
   @AfterEach
   public void restart() {
+    World.getContext().setWorldMap(null);
     society = new Society(1, BASIC_SOCIETY_COLORS[0]);
   }
 
@@ -89,14 +96,13 @@ class SocietyTest {
   void setPopulation() {
     assertEquals(society.getPopulation().size(), Society.getDefaultPopulationSize());
     for (int i = 0; i < SIZE_OF_ARRAYS; i++) {
-      ArrayList<Person> newPopulation = new ArrayList<>();
+      Population newPopulation = new Population();
       for (int j = 0; j < SIZE_OF_ARRAYS; j++) {
         Person newPerson = new Person();
         newPopulation.add(newPerson);
       }
       society.setPopulation(newPopulation);
-      assertArrayEquals(new ArrayList[] {newPopulation},
-          new ArrayList[] {society.getPopulation()});
+      assertSame(newPopulation, society.getPopulation());
     }
   }
 
@@ -114,10 +120,10 @@ class SocietyTest {
     assertEquals(society.getTerritory().size(), 0);
     Material borderMaterial = new Material(new Image("/images/tileBorder.png"),
         new Vector4f(society.getSocietyColor(), BORDER_ALPHA));
-    Tile tile = new AridTile();
+    Tile tile = AridTile.getInstance();
     society.claimTile(new TileWorldObject(new Vector3f(0, 0, 0),
         new Vector3f(0, 0, 0), new Vector3f(0, 0, 0),
-        new Mesh(tileModel, borderMaterial), tile, DEFAULT_ROW, DEFAULT_COLUMN));
+        new Mesh(tileModel, borderMaterial), tile, grid, DEFAULT_ROW, DEFAULT_COLUMN));
     assertEquals(society.getTerritory().size(), 1);
   }
 
@@ -133,4 +139,37 @@ class SocietyTest {
     assertEquals(society.getTotalFoodResource(), randomIntOne);
     assertEquals(society.getTotalRawMaterialResource(), randomIntTwo);
   }
-}
\ No newline at end of file
+
+  @Test
+  void frontierTest() {
+    // a 5 by 5 map, where only the middle 3 by 3 tiles can be claimed
+    WorldGrid grid = new WorldGrid(5, 5);
+    Society other = new Society(2, BASIC_SOCIETY_COLORS[1]);
+    society.claimCell(grid, grid.index(2, 2));
+    assertEquals(4, society.getClaimableTerritory().size());
+    assertFalse(society.canAttack());
+
+    other.claimCell(grid, grid.index(2, 3));
+    assertEquals(3, society.getClaimableTerritory().size());
+    assertEquals(1, society.getNeighbouringSocieties().size());
+    assertTrue(society.canAttack());
+    society.calculateAttackingTiles();
+    assertEquals(1, society.getAttackingTiles().size());
+    society.calculateDefendingTiles(grid.index(2, 2));
+    assertEquals(grid.index(2, 3), society.getDefendingTiles().get(0));
+
+    // taking the other society's only tile leaves neither with a neighbour
+    society.claimCell(grid, grid.index(2, 3));
+    assertEquals(0, other.getTerritory().size());
+    assertTrue(other.getNeighbouringSocieties().isEmpty());
+    assertTrue(society.getNeighbouringSocieties().isEmpty());
+    assertFalse(society.canAttack());
+    assertEquals(5, society.getClaimableTerritory().size());
+  }
+
+  @Test
+  void singleGridTest() {
+    society.claimCell(new WorldGrid(3, 3), 4);
+    assertThrows(IllegalArgumentException.class, () -> society.claimCell(new WorldGrid(3, 3), 4));
+  }
+}
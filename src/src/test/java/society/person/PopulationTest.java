@@ -0,0 +1,73 @@
+package society.person;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class PopulationTest {
+  private static final float DELTA = 0.0001f;
+
+  @Test
+  void addTest() {
+    Population population = new Population(1);
+    population.add(new Person(10, 0.2f, 0.3f, 0.4f));
+    population.add(30, Person.getMaxHealth(), 0.6f, 0.7f, 0.8f);
+    assertEquals(2, population.size());
+    assertEquals(30, population.getAge(1));
+    assertEquals(0.3f, population.getAttractiveness(0), DELTA);
+    assertEquals(20, population.getAverageAge(), DELTA);
+    assertEquals(0.4f, population.getAverageAggressiveness(), DELTA);
+    assertEquals(0.6f, population.getAverageProductiveness(), DELTA);
+    assertEquals(new Person(30, 0.6f, 0.7f, 0.8f).fitnessScore(), population.fitnessScore(1));
+  }
+
+  @Test
+  void swapRemoveTest() {
+    Population population = new Population();
+    population.add(10, Person.getMaxHealth(), 0.1f, 0.1f, 0.1f);
+    population.add(20, Person.getMaxHealth(), 0.2f, 0.2f, 0.2f);
+    population.add(30, Person.getMaxHealth(), 0.3f, 0.3f, 0.3f);
+    population.swapRemove(0);
+    // the last person takes the place of the one removed
+    assertEquals(2, population.size());
+    assertEquals(30, population.getAge(0));
+    assertEquals(25, population.getAverageAge(), DELTA);
+    assertEquals(0.25f, population.getAverageAggressiveness(), DELTA);
+    population.swapRemove(1);
+    population.swapRemove(0);
+    assertTrue(population.isEmpty());
+    assertTrue(Float.isNaN(population.getAverageAge()));
+  }
+
+  @Test
+  void settersKeepAveragesTest() {
+    Population population = new Population();
+    population.add(10, Person.getMaxHealth(), 0.1f, 0.1f, 0.1f);
+    population.add(20, Person.getMaxHealth(), 0.3f, 0.1f, 0.3f);
+    population.setAge(0, 30);
+    population.setAggressiveness(0, 0.5f);
+    population.setProductiveness(1, 0.5f);
+    assertEquals(25, population.getAverageAge(), DELTA);
+    assertEquals(0.4f, population.getAverageAggressiveness(), DELTA);
+    assertEquals(0.3f, population.getAverageProductiveness(), DELTA);
+  }
+
+  @Test
+  void ageTest() {
+    Population population = new Population();
+    SplittableRandom random = new SplittableRandom(1);
+    for (int i = 0; i < 1000; i++) {
+      population.add(71, Person.getMaxHealth(), 0.5f, 0.5f, 0.5f);
+    }
+    // most people turning 80 die
+    population.age(random);
+    assertTrue(population.size() > 0 && population.size() < 1000);
+    for (int i = 0; i < population.size(); i++) {
+      assertEquals(80, population.getAge(i));
+    }
+    assertEquals(80, population.getAverageAge(), DELTA);
+    assertEquals(0.5f, population.getAverageAggressiveness(), DELTA);
+  }
+}